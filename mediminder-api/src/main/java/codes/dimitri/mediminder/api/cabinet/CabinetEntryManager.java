@@ -3,12 +3,16 @@ package codes.dimitri.mediminder.api.cabinet;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 public interface CabinetEntryManager {
@@ -27,6 +31,8 @@ public interface CabinetEntryManager {
 
     BigDecimal calculateTotalRemainingDosesByMedicationId(@NotNull UUID medicationId);
 
+    Map<UUID, BigDecimal> calculateTotalRemainingDosesByMedicationIds(@NotNull Collection<UUID> medicationIds);
+
     @Transactional
     void deleteAllByMedicationId(@NotNull UUID medicationId);
 
@@ -37,4 +43,6 @@ public interface CabinetEntryManager {
     void addDosesByMedicationId(@NotNull UUID medicationId, @NotNull @PositiveOrZero BigDecimal doses);
 
     Page<CabinetEntryDTO> findAllNonEmptyWithExpiryDateBefore(@NotNull LocalDate targetDate, @NotNull Pageable pageable);
+
+    Slice<CabinetEntryDTO> findAllNonEmptyWithExpiryDateBefore(@NotNull LocalDate targetDate, LocalDate afterExpiryDate, UUID afterId, @NotNull Limit limit);
 }
@@ -0,0 +1,6 @@
+package codes.dimitri.mediminder.api.cabinet;
+
+import java.util.UUID;
+
+public record MedicationStockChangedEvent(String userId, UUID medicationId) {
+}
\ No newline at end of file
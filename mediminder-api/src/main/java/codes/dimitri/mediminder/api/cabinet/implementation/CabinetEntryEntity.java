@@ -1,5 +1,6 @@
 package codes.dimitri.mediminder.api.cabinet.implementation;
 
+import codes.dimitri.mediminder.api.common.AssignedIdEntity;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -18,7 +19,7 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class CabinetEntryEntity {
+public class CabinetEntryEntity extends AssignedIdEntity<UUID> {
     @Id
     private UUID id;
     private String userId;
@@ -28,32 +29,10 @@ public class CabinetEntryEntity {
 
     public CabinetEntryEntity(String userId, UUID medicationId, BigDecimal remainingDoses, LocalDate expiryDate) {
         this.id = UUID.randomUUID();
+        markNew();
         this.userId = userId;
         this.medicationId = medicationId;
         this.remainingDoses = remainingDoses;
         this.expiryDate = expiryDate;
     }
-
-    public BigDecimal subtractDoses(BigDecimal dose) {
-        BigDecimal resultAfterSubtraction = this.remainingDoses.subtract(dose);
-        if (isNegative(resultAfterSubtraction)) {
-            this.remainingDoses = BigDecimal.ZERO;
-            return resultAfterSubtraction.negate();
-        } else {
-            this.remainingDoses = resultAfterSubtraction;
-            return BigDecimal.ZERO;
-        }
-    }
-
-    public void addDoses(BigDecimal doses) {
-        this.remainingDoses = this.remainingDoses.add(doses);
-    }
-
-    public boolean isEmpty() {
-        return remainingDoses.compareTo(BigDecimal.ZERO) <= 0;
-    }
-
-    private static boolean isNegative(BigDecimal doses) {
-        return doses.compareTo(BigDecimal.ZERO) < 0;
-    }
 }
@@ -1,5 +1,6 @@
 package codes.dimitri.mediminder.api.cabinet.implementation;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -17,19 +19,59 @@ public interface CabinetEntryEntityRepository extends JpaRepository<CabinetEntry
     Optional<CabinetEntryEntity> findByIdAndUserId(UUID id, String userId);
     @Query("select e from CabinetEntryEntity e where e.remainingDoses > 0 and e.expiryDate <= ?1")
     Page<CabinetEntryEntity> findAllWithRemainingDosesWithExpiryDateBefore(LocalDate expiryDate, Pageable pageable);
-
-    @Query("""
-        select sum(e.remainingDoses)
-        from CabinetEntryEntity e
-        where e.medicationId = ?1
-    """)
-    BigDecimal sumRemainingDosesByMedicationId(UUID medicationId);
+    @Query("select e from CabinetEntryEntity e where e.remainingDoses > 0 and e.expiryDate <= ?1 order by e.expiryDate, e.id")
+    List<CabinetEntryEntity> findAllWithRemainingDosesWithExpiryDateBefore(LocalDate expiryDate, Limit limit);
+    @Query("select e from CabinetEntryEntity e where e.remainingDoses > 0 and e.expiryDate <= ?1 and (e.expiryDate, e.id) > (?2, ?3) order by e.expiryDate, e.id")
+    List<CabinetEntryEntity> findAllWithRemainingDosesWithExpiryDateBeforeAfter(LocalDate expiryDate, LocalDate afterExpiryDate, UUID afterId, Limit limit);
 
     @Modifying
     void deleteAllByMedicationId(UUID medicationId);
 
-    @Query("select e from CabinetEntryEntity e where e.remainingDoses > 0 and e.medicationId = ?1")
-    Page<CabinetEntryEntity> findAllWithRemainingDosesByMedicationId(UUID medicationId, Pageable pageable);
+    @Query(value = """
+        with locked as (
+            select id, user_id, remaining_doses, expiry_date
+            from cabinet_entry
+            where medication_id = ?1 and remaining_doses > 0
+            order by expiry_date, id
+            for update
+        ), subtraction as (
+            select id, remaining_doses, coalesce(sum(remaining_doses) over (order by expiry_date, id rows between unbounded preceding and 1 preceding), 0) as subtracted_before
+            from locked
+        ), emptied as (
+            delete from cabinet_entry
+            where id in (select id from subtraction where subtracted_before + remaining_doses <= ?2)
+            returning user_id
+        ), reduced as (
+            update cabinet_entry e
+            set remaining_doses = e.remaining_doses - (?2 - s.subtracted_before)
+            from subtraction s
+            where e.id = s.id and s.subtracted_before < ?2 and s.subtracted_before + s.remaining_doses > ?2
+            returning e.user_id
+        ), stock as (
+            update medication_stock
+            set remaining_doses = remaining_doses - (select least(?2, coalesce(sum(remaining_doses), 0)) from locked)
+            where medication_id = ?1
+        )
+        select user_id from emptied
+        union
+        select user_id from reduced
+    """, nativeQuery = true)
+    List<String> subtractDosesInExpiryOrder(UUID medicationId, BigDecimal doses);
+
+    @Query(value = """
+        with added as (
+            update cabinet_entry
+            set remaining_doses = remaining_doses + ?2
+            where id = (select id from cabinet_entry where medication_id = ?1 order by expiry_date, id limit 1 for update)
+            returning user_id
+        ), stock as (
+            insert into medication_stock (medication_id, remaining_doses)
+            select ?1, ?2 from added
+            on conflict (medication_id) do update set remaining_doses = medication_stock.remaining_doses + excluded.remaining_doses
+        )
+        select user_id from added
+    """, nativeQuery = true)
+    Optional<String> addDosesToFirstExpiring(UUID medicationId, BigDecimal doses);
 
     @Query("select e from CabinetEntryEntity e where e.medicationId = ?1")
     Page<CabinetEntryEntity> findAllByMedicationId(UUID medicationId, Pageable pageable);
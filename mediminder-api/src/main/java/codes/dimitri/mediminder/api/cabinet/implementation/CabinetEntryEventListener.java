@@ -4,8 +4,9 @@ import codes.dimitri.mediminder.api.cabinet.CabinetEntryManager;
 import codes.dimitri.mediminder.api.medication.MedicationDeletedEvent;
 import codes.dimitri.mediminder.api.schedule.EventCompletedEvent;
 import codes.dimitri.mediminder.api.schedule.EventUncompletedEvent;
+import codes.dimitri.mediminder.api.schedule.EventsCompletedEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.event.EventListener;
+import org.springframework.modulith.events.ApplicationModuleListener;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -13,17 +14,22 @@ import org.springframework.stereotype.Component;
 class CabinetEntryEventListener {
     private final CabinetEntryManager manager;
 
-    @EventListener
+    @ApplicationModuleListener
     public void handleMedicationDeletedEvent(MedicationDeletedEvent event) {
         manager.deleteAllByMedicationId(event.id());
     }
 
-    @EventListener
+    @ApplicationModuleListener
     public void handleEventCompletedEvent(EventCompletedEvent event) {
         manager.subtractDosesByMedicationId(event.medicationId(), event.dose());
     }
 
-    @EventListener
+    @ApplicationModuleListener
+    public void handleEventsCompletedEvent(EventsCompletedEvent event) {
+        event.dosesByMedicationId().forEach(manager::subtractDosesByMedicationId);
+    }
+
+    @ApplicationModuleListener
     public void handleEventUncompletedEvent(EventUncompletedEvent event) {
         manager.addDosesByMedicationId(event.medicationId(), event.dose());
     }
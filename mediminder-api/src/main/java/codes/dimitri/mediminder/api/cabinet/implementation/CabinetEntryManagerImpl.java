@@ -1,9 +1,11 @@
 package codes.dimitri.mediminder.api.cabinet.implementation;
 
 import codes.dimitri.mediminder.api.cabinet.*;
+import codes.dimitri.mediminder.api.common.SliceUtilities;
 import codes.dimitri.mediminder.api.medication.MedicationDTO;
 import codes.dimitri.mediminder.api.medication.MedicationManager;
 import codes.dimitri.mediminder.api.medication.MedicationNotFoundException;
+import codes.dimitri.mediminder.api.medication.MedicationUtilities;
 import codes.dimitri.mediminder.api.user.CurrentUserNotFoundException;
 import codes.dimitri.mediminder.api.user.UserDTO;
 import codes.dimitri.mediminder.api.user.UserManager;
@@ -11,21 +13,20 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.util.Streamable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
-import java.util.UUID;
-import java.util.function.BinaryOperator;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Validated
 @Transactional(readOnly = true)
@@ -35,7 +36,9 @@ class CabinetEntryManagerImpl implements CabinetEntryManager {
     private final UserManager userManager;
     private final MedicationManager medicationManager;
     private final CabinetEntryEntityRepository repository;
+    private final MedicationStockEntityRepository stockRepository;
     private final CabinetEntryMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -49,13 +52,15 @@ class CabinetEntryManagerImpl implements CabinetEntryManager {
             request.remainingDoses(),
             request.expiryDate()
         );
-        return mapper.toDTO(repository.save(entity), medication);
+        CabinetEntryEntity savedEntity = repository.save(entity);
+        updateStock(savedEntity, savedEntity.getRemainingDoses());
+        return mapper.toDTO(savedEntity, medication);
     }
 
     @Override
     public Page<CabinetEntryDTO> findAllForCurrentUser(UUID medicationId, @NotNull Pageable pageable) {
-        return findAllEntities(medicationId, pageable)
-            .map(this::mapEntityToDTO);
+        Page<CabinetEntryEntity> entities = findAllEntities(medicationId, pageable);
+        return entities.map(createDTOMapper(entities.getContent()));
     }
 
     private Page<CabinetEntryEntity> findAllEntities(UUID medicationId, Pageable pageable) {
@@ -72,6 +77,11 @@ class CabinetEntryManagerImpl implements CabinetEntryManager {
         return mapper.toDTO(entity, medication);
     }
 
+    private Function<CabinetEntryEntity, CabinetEntryDTO> createDTOMapper(List<CabinetEntryEntity> entities) {
+        Map<UUID, MedicationDTO> medications = MedicationUtilities.findAllByUserIdAndId(medicationManager, entities, CabinetEntryEntity::getUserId, CabinetEntryEntity::getMedicationId);
+        return entity -> mapper.toDTO(entity, medications.get(entity.getMedicationId()));
+    }
+
     private MedicationDTO findMedicationOrEmtpy(UUID medicationId, String userId) {
         try {
             return medicationManager.findByIdAndUserId(medicationId, userId);
@@ -94,8 +104,10 @@ class CabinetEntryManagerImpl implements CabinetEntryManager {
         CabinetEntryEntity entity = findEntity(id, currentUser);
         MedicationDTO medication = findMedication(entity.getMedicationId());
         validateRemainingDoses(request.remainingDoses(), medication);
+        BigDecimal difference = request.remainingDoses().subtract(entity.getRemainingDoses());
         entity.setExpiryDate(request.expiryDate());
         entity.setRemainingDoses(request.remainingDoses());
+        updateStock(entity, difference);
         return mapper.toDTO(entity, medication);
     }
 
@@ -105,6 +117,13 @@ class CabinetEntryManagerImpl implements CabinetEntryManager {
         UserDTO currentUser = findCurrentUser();
         CabinetEntryEntity entity = findEntity(id, currentUser);
         repository.delete(entity);
+        updateStock(entity, entity.getRemainingDoses().negate());
+    }
+
+    private void updateStock(CabinetEntryEntity entity, BigDecimal difference) {
+        repository.flush();
+        stockRepository.addRemainingDoses(entity.getMedicationId(), difference);
+        eventPublisher.publishEvent(new MedicationStockChangedEvent(entity.getUserId(), entity.getMedicationId()));
     }
 
     private CabinetEntryEntity findEntity(UUID id, UserDTO currentUser) {
@@ -137,62 +156,57 @@ class CabinetEntryManagerImpl implements CabinetEntryManager {
 
     @Override
     public BigDecimal calculateTotalRemainingDosesByMedicationId(@NotNull UUID medicationId) {
-        BigDecimal result = repository.sumRemainingDosesByMedicationId(medicationId);
-        if (result == null) return BigDecimal.ZERO;
-        return result;
+        return stockRepository
+            .findById(medicationId)
+            .map(MedicationStockEntity::getRemainingDoses)
+            .orElse(BigDecimal.ZERO);
+    }
+
+    @Override
+    public Map<UUID, BigDecimal> calculateTotalRemainingDosesByMedicationIds(@NotNull Collection<UUID> medicationIds) {
+        if (medicationIds.isEmpty()) return Map.of();
+        return stockRepository
+            .findAllById(Set.copyOf(medicationIds))
+            .stream()
+            .collect(Collectors.toMap(MedicationStockEntity::getMedicationId, MedicationStockEntity::getRemainingDoses));
     }
 
     @Override
     @Transactional
     public void deleteAllByMedicationId(@NotNull UUID medicationId) {
         repository.deleteAllByMedicationId(medicationId);
+        stockRepository.deleteByMedicationId(medicationId);
     }
 
     @Override
     @Transactional(noRollbackFor = InvalidCabinetEntryException.class)
     public void subtractDosesByMedicationId(@NotNull UUID medicationId, @NotNull @PositiveOrZero BigDecimal doses) {
-        Page<CabinetEntryEntity> entries = findEntriesByMedicationIdSortedByExpiryDate(medicationId);
-        reduceDosesFromEntries(doses, entries);
-        deleteEmptyEntries(entries);
-    }
-
-    private Page<CabinetEntryEntity> findEntriesByMedicationIdSortedByExpiryDate(UUID medicationId) {
-        PageRequest pageRequest = PageRequest.of(0, 20, Sort.Direction.ASC, "expiryDate");
-        return repository.findAllWithRemainingDosesByMedicationId(medicationId, pageRequest);
-    }
-
-    private static BigDecimal reduceDosesFromEntries(BigDecimal doses, Streamable<CabinetEntryEntity> entries) {
-        return entries.stream().reduce(
-            doses,
-            (remainder, entry) -> entry.subtractDoses(remainder),
-            unsupportedOperator());
-    }
-
-    private void deleteEmptyEntries(Streamable<CabinetEntryEntity> entries) {
-        List<CabinetEntryEntity> emptyEntries = entries.stream().filter(CabinetEntryEntity::isEmpty).toList();
-        if (!emptyEntries.isEmpty()) repository.deleteAll(emptyEntries);
+        repository
+            .subtractDosesInExpiryOrder(medicationId, doses)
+            .forEach(userId -> eventPublisher.publishEvent(new MedicationStockChangedEvent(userId, medicationId)));
     }
 
     @Override
     @Transactional
     public void addDosesByMedicationId(@NotNull UUID medicationId, @NotNull @PositiveOrZero BigDecimal doses) {
-        findOldestEntryByMedicationId(medicationId).ifPresent(entity -> entity.addDoses(doses));
-    }
-
-    private Optional<CabinetEntryEntity> findOldestEntryByMedicationId(UUID medicationId) {
-        PageRequest pageRequest = PageRequest.of(0, 1, Sort.Direction.ASC, "expiryDate");
-        Page<CabinetEntryEntity> results = repository.findAllByMedicationId(medicationId, pageRequest);
-        return results.stream().findAny();
+        repository
+            .addDosesToFirstExpiring(medicationId, doses)
+            .ifPresent(userId -> eventPublisher.publishEvent(new MedicationStockChangedEvent(userId, medicationId)));
     }
 
-    private static <T> BinaryOperator<T> unsupportedOperator() {
-        return (arg1, arg2) -> {throw new UnsupportedOperationException();};
+    @Override
+    public Page<CabinetEntryDTO> findAllNonEmptyWithExpiryDateBefore(@NotNull LocalDate targetDate, @NotNull Pageable pageable) {
+        Page<CabinetEntryEntity> entities = repository.findAllWithRemainingDosesWithExpiryDateBefore(targetDate, pageable);
+        return entities.map(createDTOMapper(entities.getContent()));
     }
 
     @Override
-    public Page<CabinetEntryDTO> findAllNonEmptyWithExpiryDateBefore(@NotNull LocalDate targetDate, @NotNull Pageable pageable) {
-        return repository
-            .findAllWithRemainingDosesWithExpiryDateBefore(targetDate, pageable)
-            .map(this::mapEntityToDTO);
+    public Slice<CabinetEntryDTO> findAllNonEmptyWithExpiryDateBefore(@NotNull LocalDate targetDate, LocalDate afterExpiryDate, UUID afterId, @NotNull Limit limit) {
+        Limit lookahead = SliceUtilities.withLookahead(limit);
+        List<CabinetEntryEntity> entities = afterId == null ?
+            repository.findAllWithRemainingDosesWithExpiryDateBefore(targetDate, lookahead) :
+            repository.findAllWithRemainingDosesWithExpiryDateBeforeAfter(targetDate, afterExpiryDate, afterId, lookahead);
+        Slice<CabinetEntryEntity> slice = SliceUtilities.toSlice(entities, limit);
+        return slice.map(createDTOMapper(slice.getContent()));
     }
 }
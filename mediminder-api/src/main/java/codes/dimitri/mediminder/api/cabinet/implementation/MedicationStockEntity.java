@@ -0,0 +1,24 @@
+package codes.dimitri.mediminder.api.cabinet.implementation;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Entity
+@Table(name = "medication_stock")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+class MedicationStockEntity {
+    @Id
+    private UUID medicationId;
+    private BigDecimal remainingDoses;
+}
@@ -0,0 +1,54 @@
+package codes.dimitri.mediminder.api.cabinet.implementation;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+interface MedicationStockEntityRepository extends JpaRepository<MedicationStockEntity, UUID> {
+    @Modifying
+    @Query(value = """
+        insert into medication_stock (medication_id, remaining_doses)
+        values (?1, ?2)
+        on conflict (medication_id) do update set remaining_doses = medication_stock.remaining_doses + excluded.remaining_doses
+    """, nativeQuery = true)
+    void addRemainingDoses(UUID medicationId, BigDecimal doses);
+
+    @Modifying
+    @Query("delete from MedicationStockEntity s where s.medicationId = ?1")
+    void deleteByMedicationId(UUID medicationId);
+
+    @Query(value = """
+        select coalesce(s.medication_id, e.medication_id)
+        from medication_stock s
+        full join (
+            select medication_id, sum(remaining_doses) as remaining_doses
+            from cabinet_entry
+            group by medication_id
+        ) e on e.medication_id = s.medication_id
+        where coalesce(s.remaining_doses, 0) <> coalesce(e.remaining_doses, 0)
+    """, nativeQuery = true)
+    List<UUID> findAllOutOfSyncMedicationIds();
+
+    @Modifying
+    @Query(value = "insert into medication_stock (medication_id, remaining_doses) values (?1, 0) on conflict (medication_id) do nothing", nativeQuery = true)
+    void insertIfNotExists(UUID medicationId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from MedicationStockEntity s where s.medicationId = ?1")
+    Optional<MedicationStockEntity> findByIdForUpdate(UUID medicationId);
+
+    @Modifying
+    @Query(value = """
+        update medication_stock
+        set remaining_doses = (select coalesce(sum(remaining_doses), 0) from cabinet_entry where medication_id = ?1)
+        where medication_id = ?1
+    """, nativeQuery = true)
+    void recalculate(UUID medicationId);
+}
@@ -0,0 +1,40 @@
+package codes.dimitri.mediminder.api.cabinet.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+@Slf4j
+@Component
+class MedicationStockReconciler {
+    private final MedicationStockEntityRepository repository;
+    private final TransactionTemplate transactionTemplate;
+
+    public MedicationStockReconciler(MedicationStockEntityRepository repository, PlatformTransactionManager transactionManager) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${cabinet.stock.reconciliation-cron:0 15 3 * * *}")
+    public void reconcile() {
+        int count = reconcileAll();
+        if (count > 0) log.warn("Corrected the stock of {} medications", count);
+    }
+
+    int reconcileAll() {
+        List<UUID> medicationIds = repository.findAllOutOfSyncMedicationIds();
+        medicationIds.forEach(medicationId -> transactionTemplate.executeWithoutResult(status -> reconcile(medicationId)));
+        return medicationIds.size();
+    }
+
+    private void reconcile(UUID medicationId) {
+        repository.insertIfNotExists(medicationId);
+        repository.findByIdForUpdate(medicationId);
+        repository.recalculate(medicationId);
+    }
+}
@@ -0,0 +1,26 @@
+package codes.dimitri.mediminder.api.common;
+
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+@MappedSuperclass
+public abstract class AssignedIdEntity<ID> implements Persistable<ID> {
+    @Transient
+    private boolean isNew;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    protected void markNew() {
+        this.isNew = true;
+    }
+
+    @PrePersist
+    void markPersisted() {
+        this.isNew = false;
+    }
+}
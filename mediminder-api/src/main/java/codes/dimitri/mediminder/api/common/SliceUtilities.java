@@ -0,0 +1,20 @@
+package codes.dimitri.mediminder.api.common;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+public class SliceUtilities {
+    public static Limit withLookahead(Limit limit) {
+        return Limit.of(limit.max() + 1);
+    }
+
+    public static <T> Slice<T> toSlice(List<T> content, Limit limit) {
+        boolean hasNext = content.size() > limit.max();
+        List<T> sliceContent = hasNext ? content.subList(0, limit.max()) : content;
+        return new SliceImpl<>(sliceContent, PageRequest.ofSize(limit.max()), hasNext);
+    }
+}
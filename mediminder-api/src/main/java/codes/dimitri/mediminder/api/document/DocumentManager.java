@@ -2,8 +2,10 @@ package codes.dimitri.mediminder.api.document;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -21,4 +23,5 @@ public interface DocumentManager {
     @Transactional
     void deleteForCurrentUser(@NotNull UUID id);
     Page<DocumentDTO> findAllWithExpiryDateBefore(@NotNull LocalDate expiredOn, @NotNull Pageable pageable);
+    Slice<DocumentDTO> findAllWithExpiryDateBefore(@NotNull LocalDate expiredOn, LocalDate afterExpiryDate, UUID afterId, @NotNull Limit limit);
 }
@@ -1,5 +1,6 @@
 package codes.dimitri.mediminder.api.document.implementation;
 
+import codes.dimitri.mediminder.api.common.AssignedIdEntity;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
@@ -17,7 +18,7 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-class DocumentEntity {
+class DocumentEntity extends AssignedIdEntity<UUID> {
     @Id
     private UUID id;
     private String userId;
@@ -29,6 +30,7 @@ class DocumentEntity {
 
     public DocumentEntity(String userId, String filename, String contentType, LocalDate expiryDate, UUID relatedMedicationId, String description) {
         this.id = UUID.randomUUID();
+        markNew();
         this.userId = userId;
         this.filename = filename;
         this.contentType = contentType;
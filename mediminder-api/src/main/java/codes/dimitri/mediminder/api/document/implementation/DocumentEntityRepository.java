@@ -1,15 +1,21 @@
 package codes.dimitri.mediminder.api.document.implementation;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 interface DocumentEntityRepository extends JpaRepository<DocumentEntity, UUID>, JpaSpecificationExecutor<DocumentEntity> {
     Optional<DocumentEntity> findByIdAndUserId(UUID id, String userId);
     Page<DocumentEntity> findAllByExpiryDateLessThanEqual(LocalDate expiryDate, Pageable pageable);
+    List<DocumentEntity> findAllByExpiryDateLessThanEqualOrderByExpiryDateAscIdAsc(LocalDate expiryDate, Limit limit);
+    @Query("select d from DocumentEntity d where d.expiryDate <= ?1 and (d.expiryDate, d.id) > (?2, ?3) order by d.expiryDate, d.id")
+    List<DocumentEntity> findAllByExpiryDateLessThanEqualAfter(LocalDate expiryDate, LocalDate afterExpiryDate, UUID afterId, Limit limit);
 }
@@ -1,17 +1,21 @@
 package codes.dimitri.mediminder.api.document.implementation;
 
+import codes.dimitri.mediminder.api.common.SliceUtilities;
 import codes.dimitri.mediminder.api.document.*;
 import codes.dimitri.mediminder.api.medication.MedicationDTO;
 import codes.dimitri.mediminder.api.medication.MedicationManager;
 import codes.dimitri.mediminder.api.medication.MedicationNotFoundException;
+import codes.dimitri.mediminder.api.medication.MedicationUtilities;
 import codes.dimitri.mediminder.api.user.CurrentUserNotFoundException;
 import codes.dimitri.mediminder.api.user.UserDTO;
 import codes.dimitri.mediminder.api.user.UserManager;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,7 +23,10 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 @Validated
@@ -68,8 +75,8 @@ class DocumentManagerImpl implements DocumentManager {
 
     @Override
     public Page<DocumentDTO> findAllForCurrentUser(LocalDate expiredOn, UUID medicationId, @NotNull Pageable pageable) {
-        return findAllEntities(expiredOn, medicationId, pageable)
-            .map(entity -> mapper.toDTO(entity, findMedicationSafe(entity.getRelatedMedicationId(), entity.getUserId())));
+        Page<DocumentEntity> entities = findAllEntities(expiredOn, medicationId, pageable);
+        return entities.map(createDTOMapper(entities.getContent()));
     }
 
     @Override
@@ -100,9 +107,23 @@ class DocumentManagerImpl implements DocumentManager {
 
     @Override
     public Page<DocumentDTO> findAllWithExpiryDateBefore(LocalDate expiredOn, Pageable pageable) {
-        return repository
-            .findAllByExpiryDateLessThanEqual(expiredOn, pageable)
-            .map(entity -> mapper.toDTO(entity, findMedicationSafe(entity.getRelatedMedicationId(), entity.getUserId())));
+        Page<DocumentEntity> entities = repository.findAllByExpiryDateLessThanEqual(expiredOn, pageable);
+        return entities.map(createDTOMapper(entities.getContent()));
+    }
+
+    @Override
+    public Slice<DocumentDTO> findAllWithExpiryDateBefore(LocalDate expiredOn, LocalDate afterExpiryDate, UUID afterId, Limit limit) {
+        Limit lookahead = SliceUtilities.withLookahead(limit);
+        List<DocumentEntity> entities = afterId == null ?
+            repository.findAllByExpiryDateLessThanEqualOrderByExpiryDateAscIdAsc(expiredOn, lookahead) :
+            repository.findAllByExpiryDateLessThanEqualAfter(expiredOn, afterExpiryDate, afterId, lookahead);
+        Slice<DocumentEntity> slice = SliceUtilities.toSlice(entities, limit);
+        return slice.map(createDTOMapper(slice.getContent()));
+    }
+
+    private Function<DocumentEntity, DocumentDTO> createDTOMapper(List<DocumentEntity> entities) {
+        Map<UUID, MedicationDTO> medications = MedicationUtilities.findAllByUserIdAndId(medicationManager, entities, DocumentEntity::getUserId, DocumentEntity::getRelatedMedicationId);
+        return entity -> mapper.toDTO(entity, medications.get(entity.getRelatedMedicationId()));
     }
 
     private UserDTO findCurrentUser() {
@@ -6,6 +6,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 public interface MedicationManager {
@@ -18,6 +20,8 @@ public interface MedicationManager {
 
     MedicationDTO findByIdAndUserId(@NotNull UUID id, @NotNull String userId);
 
+    Map<UUID, MedicationDTO> findAllByIdsAndUserId(@NotNull Collection<UUID> ids, @NotNull String userId);
+
     @Transactional
     void deleteByIdForCurrentUser(@NotNull UUID id);
 
@@ -0,0 +1,21 @@
+package codes.dimitri.mediminder.api.medication;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class MedicationUtilities {
+    public static <T> Map<UUID, MedicationDTO> findAllByUserIdAndId(MedicationManager medicationManager, Collection<? extends T> items, Function<? super T, String> userIdMapper, Function<? super T, UUID> medicationIdMapper) {
+        Map<UUID, MedicationDTO> medications = new HashMap<>();
+        items
+            .stream()
+            .filter(item -> Objects.nonNull(medicationIdMapper.apply(item)))
+            .collect(Collectors.groupingBy(userIdMapper, Collectors.mapping(medicationIdMapper, Collectors.toSet())))
+            .forEach((userId, medicationIds) -> medications.putAll(medicationManager.findAllByIdsAndUserId(medicationIds, userId)));
+        return medications;
+    }
+}
@@ -1,5 +1,6 @@
 package codes.dimitri.mediminder.api.medication.implementation;
 
+import codes.dimitri.mediminder.api.common.AssignedIdEntity;
 import codes.dimitri.mediminder.api.medication.Color;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -18,7 +19,7 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-class MedicationEntity {
+class MedicationEntity extends AssignedIdEntity<UUID> {
     @Id
     private UUID id;
     private String userId;
@@ -39,6 +40,7 @@ class MedicationEntity {
 
     public MedicationEntity(String userId, String name, MedicationTypeEntity medicationType, AdministrationTypeEntity administrationType, DoseTypeEntity doseType, BigDecimal dosesPerPackage, Color color) {
         this.id = UUID.randomUUID();
+        markNew();
         this.userId = userId;
         this.name = name;
         this.medicationType = medicationType;
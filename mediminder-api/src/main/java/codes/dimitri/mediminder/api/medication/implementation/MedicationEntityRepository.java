@@ -3,7 +3,9 @@ package codes.dimitri.mediminder.api.medication.implementation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,4 +15,13 @@ interface MedicationEntityRepository extends JpaRepository<MedicationEntity, UUI
     Page<MedicationEntity> findAllByUserId(String userId, Pageable pageable);
     Page<MedicationEntity> findAllByUserIdAndNameContainingIgnoreCase(String userId, String search, Pageable pageable);
     List<MedicationEntity> findAllByUserId(String userId);
+
+    @Query("""
+        select m from MedicationEntity m
+        join fetch m.medicationType
+        join fetch m.administrationType
+        join fetch m.doseType
+        where m.id in ?1 and m.userId = ?2
+        """)
+    List<MedicationEntity> findAllByIdInAndUserId(Collection<UUID> ids, String userId);
 }
@@ -14,8 +14,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Validated
@@ -78,6 +79,16 @@ class MedicationManagerImpl implements MedicationManager {
             .orElseThrow(() -> new MedicationNotFoundException(id));
     }
 
+    @Override
+    public Map<UUID, MedicationDTO> findAllByIdsAndUserId(@NotNull Collection<UUID> ids, @NotNull String userId) {
+        if (ids.isEmpty()) return Map.of();
+        return medicationEntityRepository
+            .findAllByIdInAndUserId(Set.copyOf(ids), userId)
+            .stream()
+            .map(mapper::toDTO)
+            .collect(Collectors.toMap(MedicationDTO::id, Function.identity()));
+    }
+
     @Override
     @Transactional
     public void deleteByIdForCurrentUser(@NotNull UUID id) {
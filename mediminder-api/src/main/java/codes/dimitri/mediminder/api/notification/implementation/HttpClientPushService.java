@@ -0,0 +1,41 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import nl.martijndwars.webpush.AbstractPushService;
+import nl.martijndwars.webpush.Encoding;
+import nl.martijndwars.webpush.Notification;
+import org.jose4j.lang.JoseException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+public class HttpClientPushService extends AbstractPushService<HttpClientPushService> implements AutoCloseable {
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+
+    public HttpClientPushService(HttpClient httpClient, Duration requestTimeout, String publicKey, String privateKey) throws GeneralSecurityException {
+        super(publicKey, privateKey);
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+    }
+
+    public CompletableFuture<HttpResponse<Void>> sendAsync(Notification notification) throws GeneralSecurityException, IOException, JoseException {
+        nl.martijndwars.webpush.HttpRequest pushRequest = prepareRequest(notification, Encoding.AESGCM);
+        HttpRequest.Builder request = HttpRequest
+            .newBuilder(URI.create(pushRequest.getUrl()))
+            .timeout(requestTimeout)
+            .POST(pushRequest.getBody() == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(pushRequest.getBody()));
+        pushRequest.getHeaders().forEach(request::header);
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+}
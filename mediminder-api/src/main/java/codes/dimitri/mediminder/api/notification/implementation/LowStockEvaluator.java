@@ -0,0 +1,149 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import codes.dimitri.mediminder.api.cabinet.CabinetEntryManager;
+import codes.dimitri.mediminder.api.medication.MedicationDTO;
+import codes.dimitri.mediminder.api.medication.MedicationManager;
+import codes.dimitri.mediminder.api.medication.MedicationUtilities;
+import codes.dimitri.mediminder.api.notification.NotificationType;
+import codes.dimitri.mediminder.api.notification.implementation.batch.NotificationDeduplicatingItemWriter;
+import codes.dimitri.mediminder.api.schedule.ScheduleManager;
+import codes.dimitri.mediminder.api.schedule.SchedulePeriodDTO;
+import codes.dimitri.mediminder.api.user.UserManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Component
+public class LowStockEvaluator {
+    private static final Set<NotificationType> DOSE_TYPES = EnumSet.of(NotificationType.SCHEDULE_OUT_OF_DOSES, NotificationType.SCHEDULE_ALMOST_OUT_OF_DOSES);
+    private final Clock clock;
+    private final ScheduleManager scheduleManager;
+    private final MedicationManager medicationManager;
+    private final CabinetEntryManager cabinetEntryManager;
+    private final UserManager userManager;
+    private final NotificationEntityRepository repository;
+    private final NotificationStreamRegistry streamRegistry;
+    private final NotificationDeduplicatingItemWriter writer;
+    private final NotificationProperties properties;
+
+    public LowStockEvaluator(
+        Clock clock,
+        ScheduleManager scheduleManager,
+        MedicationManager medicationManager,
+        CabinetEntryManager cabinetEntryManager,
+        UserManager userManager,
+        NotificationEntityRepository repository,
+        NotificationStreamRegistry streamRegistry,
+        @Qualifier("deduplicatingNotificationWriter") NotificationDeduplicatingItemWriter writer,
+        NotificationProperties properties) {
+        this.clock = clock;
+        this.scheduleManager = scheduleManager;
+        this.medicationManager = medicationManager;
+        this.cabinetEntryManager = cabinetEntryManager;
+        this.userManager = userManager;
+        this.repository = repository;
+        this.streamRegistry = streamRegistry;
+        this.writer = writer;
+        this.properties = properties;
+    }
+
+    public void evaluate(String userId, UUID medicationId) {
+        LocalDate today = userManager.calculateTodayForUser(userId).toLocalDate();
+        evaluate(List.of(new UserScheduledMedication(userId, medicationId, today)), true);
+    }
+
+    public void evaluate(Collection<? extends UserScheduledMedication> items) {
+        evaluate(items, false);
+    }
+
+    private void evaluate(Collection<? extends UserScheduledMedication> items, boolean onlyIfRequired) {
+        if (items.isEmpty()) return;
+        Set<UUID> medicationIds = items.stream().map(UserScheduledMedication::medicationId).collect(Collectors.toSet());
+        Map<UUID, BigDecimal> remainingDoses = cabinetEntryManager.calculateTotalRemainingDosesByMedicationIds(medicationIds);
+        Map<LocalDate, Map<UUID, BigDecimal>> requiredDoses = calculateRequiredDoses(items);
+        Map<UUID, MedicationDTO> medications = MedicationUtilities.findAllByUserIdAndId(medicationManager, items, UserScheduledMedication::userId, UserScheduledMedication::medicationId);
+        Map<NotificationType, Map<String, Set<UUID>>> withdrawals = new EnumMap<>(NotificationType.class);
+        Chunk<NotificationEntity> notifications = new Chunk<>();
+        for (UserScheduledMedication item : items) {
+            BigDecimal remaining = remainingDoses.getOrDefault(item.medicationId(), BigDecimal.ZERO);
+            BigDecimal required = requiredDoses.get(item.today()).getOrDefault(item.medicationId(), BigDecimal.ZERO);
+            NotificationType type = onlyIfRequired && isOutOfDoses(required) ? null : determineType(remaining, required);
+            MedicationDTO medication = medications.get(item.medicationId());
+            NotificationEntity notification = type == null || medication == null ? null : createNotification(item, type, medication);
+            if (notification != null) notifications.add(notification);
+            DOSE_TYPES
+                .stream()
+                .filter(doseType -> notification == null || notification.getType() != doseType)
+                .forEach(doseType -> withdrawals
+                    .computeIfAbsent(doseType, key -> new HashMap<>())
+                    .computeIfAbsent(item.userId(), key -> new HashSet<>())
+                    .add(item.medicationId()));
+        }
+        withdrawals.forEach((type, initiatorIdsByUserId) -> initiatorIdsByUserId.forEach((userId, initiatorIds) -> withdraw(userId, type, initiatorIds)));
+        write(notifications);
+    }
+
+    private void withdraw(String userId, NotificationType type, Set<UUID> initiatorIds) {
+        if (streamRegistry.isConnected(userId)) {
+            List<UUID> ids = repository.findAllActiveIdsByUserIdTypeAndInitiatorIds(userId, type, initiatorIds);
+            streamRegistry.publishDeactivated(userId, ids);
+        }
+        repository.deactivateAllActiveByUserIdTypeAndInitiatorIds(userId, type, initiatorIds);
+    }
+
+    private void write(Chunk<NotificationEntity> notifications) {
+        try {
+            writer.write(notifications);
+        } catch (Exception ex) {
+            throw new IllegalStateException("Could not write out of dose notifications", ex);
+        }
+    }
+
+    private Map<LocalDate, Map<UUID, BigDecimal>> calculateRequiredDoses(Collection<? extends UserScheduledMedication> items) {
+        Map<LocalDate, Map<UUID, BigDecimal>> requiredDoses = new HashMap<>();
+        items
+            .stream()
+            .collect(Collectors.groupingBy(UserScheduledMedication::today, Collectors.mapping(UserScheduledMedication::medicationId, Collectors.toSet())))
+            .forEach((today, medicationIds) -> {
+                SchedulePeriodDTO period = new SchedulePeriodDTO(today, today.plus(properties.dose().warnPeriod()));
+                requiredDoses.put(today, scheduleManager.calculateRequiredDosesByMedicationIds(medicationIds, period));
+            });
+        return requiredDoses;
+    }
+
+    private static NotificationType determineType(BigDecimal remainingDoses, BigDecimal requiredDoses) {
+        if (isOutOfDoses(remainingDoses)) return NotificationType.SCHEDULE_OUT_OF_DOSES;
+        if (isOutOfDoses(remainingDoses.subtract(requiredDoses))) return NotificationType.SCHEDULE_ALMOST_OUT_OF_DOSES;
+        return null;
+    }
+
+    private static boolean isOutOfDoses(BigDecimal remainingDoses) {
+        return BigDecimal.ZERO.compareTo(remainingDoses) >= 0;
+    }
+
+    private NotificationEntity createNotification(UserScheduledMedication item, NotificationType type, MedicationDTO medication) {
+        return switch (type) {
+            case SCHEDULE_OUT_OF_DOSES -> new NotificationEntity(
+                item.userId(),
+                type,
+                item.medicationId(),
+                "Out of medication",
+                "You ran out of " + medication.name(),
+                Instant.now(clock).plus(properties.dose().lifetime()));
+            default -> new NotificationEntity(
+                item.userId(),
+                type,
+                item.medicationId(),
+                "Almost out of medication",
+                "You will soon run out of " + medication.name(),
+                Instant.now(clock).plus(properties.dose().lifetime()));
+        };
+    }
+}
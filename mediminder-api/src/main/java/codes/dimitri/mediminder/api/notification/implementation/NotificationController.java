@@ -1,7 +1,7 @@
 package codes.dimitri.mediminder.api.notification.implementation;
 
 import codes.dimitri.mediminder.api.notification.*;
-import codes.dimitri.mediminder.api.notification.implementation.batch.NotificationBatchTask;
+import codes.dimitri.mediminder.api.notification.implementation.batch.NotificationJobScheduler;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.RequiredArgsConstructor;
@@ -9,12 +9,13 @@ import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.ErrorResponse;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.net.URI;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
 
 import static codes.dimitri.mediminder.api.common.ValidationUtilities.getAnyConstraintViolation;
 
@@ -23,7 +24,8 @@ import static codes.dimitri.mediminder.api.common.ValidationUtilities.getAnyCons
 @RequiredArgsConstructor
 public class NotificationController {
     private final NotificationManager manager;
-    private final NotificationBatchTask task;
+    private final NotificationJobScheduler scheduler;
+    private final NotificationStreamRegistry streamRegistry;
     private final NotificationProperties properties;
 
     @GetMapping
@@ -31,6 +33,11 @@ public class NotificationController {
         return manager.findAll(pageable);
     }
 
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return streamRegistry.connectCurrentUser();
+    }
+
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("/{id}")
     public void delete(@PathVariable UUID id) {
@@ -56,9 +63,9 @@ public class NotificationController {
 
     @ResponseStatus(HttpStatus.ACCEPTED)
     @PostMapping("/batch/start")
-    public CompletableFuture<Void> launchJob(@RequestParam String apiKey) {
+    public void launchJob(@RequestParam String apiKey) {
         validateBatchApiKey(apiKey);
-        return CompletableFuture.runAsync(task);
+        scheduler.scheduleAll();
     }
 
     @ExceptionHandler(InvalidNotificationException.class)
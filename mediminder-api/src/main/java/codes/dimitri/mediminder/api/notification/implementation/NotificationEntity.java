@@ -1,5 +1,6 @@
 package codes.dimitri.mediminder.api.notification.implementation;
 
+import codes.dimitri.mediminder.api.common.AssignedIdEntity;
 import codes.dimitri.mediminder.api.notification.NotificationType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -20,7 +21,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
-public class NotificationEntity {
+public class NotificationEntity extends AssignedIdEntity<UUID> {
     @Id
     private UUID id;
     private String userId;
@@ -35,6 +36,7 @@ public class NotificationEntity {
 
     public NotificationEntity(String userId, NotificationType type, UUID initiatorId, String title, String message, Instant deleteAt) {
         this.id = UUID.randomUUID();
+        markNew();
         this.userId = userId;
         this.type = type;
         this.initiatorId = initiatorId;
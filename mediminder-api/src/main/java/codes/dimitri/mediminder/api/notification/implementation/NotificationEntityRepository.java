@@ -8,11 +8,20 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 public interface NotificationEntityRepository extends JpaRepository<NotificationEntity, UUID> {
-    boolean existsByUserIdAndTypeAndInitiatorId(String userId, NotificationType type, UUID initiatorId);
+    @Query("""
+    select new codes.dimitri.mediminder.api.notification.implementation.NotificationKey(n.userId, n.type, n.initiatorId)
+    from NotificationEntity n
+    where n.userId in ?1
+    and n.initiatorId in ?2
+    """)
+    Set<NotificationKey> findAllKeysByUserIdsAndInitiatorIds(Collection<String> userIds, Collection<UUID> initiatorIds);
     @Query("""
     select n from NotificationEntity n
     where n.active = true
@@ -22,11 +31,26 @@ public interface NotificationEntityRepository extends JpaRepository<Notification
     Optional<NotificationEntity> findByIdAndUserId(UUID id, String userId);
 
     @Modifying
+    @Query(value = """
+    delete from notification
+    where id in (
+        select id from notification
+        where delete_at <= ?1
+        order by delete_at
+        limit ?2
+        for update skip locked
+    )
+    """, nativeQuery = true)
+    int deleteExpiredBatch(Instant date, int batchSize);
+
     @Query("""
-    delete from NotificationEntity n
-    where n.deleteAt <= ?1
+    select n.id from NotificationEntity n
+    where n.active = true
+    and n.userId = ?1
+    and n.type = ?2
+    and n.initiatorId = ?3
     """)
-    void deleteAllByDeleteAtBefore(Instant date);
+    List<UUID> findAllActiveIdsByUserIdTypeAndInitiatorId(String userId, NotificationType type, UUID initiatorId);
 
     @Modifying
     @Query("""
@@ -38,4 +62,24 @@ public interface NotificationEntityRepository extends JpaRepository<Notification
     """)
     void deactivateAllByUserIdTypeAndInitiatorId(String userId, NotificationType type, UUID initiatorId);
 
+    @Query("""
+    select n.id from NotificationEntity n
+    where n.active = true
+    and n.userId = ?1
+    and n.type = ?2
+    and n.initiatorId in ?3
+    """)
+    List<UUID> findAllActiveIdsByUserIdTypeAndInitiatorIds(String userId, NotificationType type, Collection<UUID> initiatorIds);
+
+    @Modifying
+    @Query("""
+    update NotificationEntity n
+    set n.active = false
+    where n.active = true
+    and n.userId = ?1
+    and n.type = ?2
+    and n.initiatorId in ?3
+    """)
+    void deactivateAllActiveByUserIdTypeAndInitiatorIds(String userId, NotificationType type, Collection<UUID> initiatorIds);
+
 }
@@ -1,18 +1,21 @@
 package codes.dimitri.mediminder.api.notification.implementation;
 
+import codes.dimitri.mediminder.api.cabinet.MedicationStockChangedEvent;
 import codes.dimitri.mediminder.api.notification.NotificationManager;
 import codes.dimitri.mediminder.api.notification.NotificationType;
 import codes.dimitri.mediminder.api.schedule.EventCompletedEvent;
+import codes.dimitri.mediminder.api.schedule.EventsCompletedEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.event.EventListener;
+import org.springframework.modulith.events.ApplicationModuleListener;
 import org.springframework.stereotype.Component;
 
 @Component
 @RequiredArgsConstructor
 public class NotificationEventListener {
     private final NotificationManager notificationManager;
+    private final LowStockEvaluator lowStockEvaluator;
 
-    @EventListener
+    @ApplicationModuleListener
     public void handleIntakeCompletion(EventCompletedEvent event) {
         notificationManager.deleteAllByUserIdTypeAndInitiatorId(
             event.userId(),
@@ -20,4 +23,18 @@ public class NotificationEventListener {
             event.scheduleId()
         );
     }
+
+    @ApplicationModuleListener
+    public void handleIntakeCompletions(EventsCompletedEvent event) {
+        event.scheduleIds().forEach(scheduleId -> notificationManager.deleteAllByUserIdTypeAndInitiatorId(
+            event.userId(),
+            NotificationType.INTAKE_EVENT,
+            scheduleId
+        ));
+    }
+
+    @ApplicationModuleListener
+    public void handleMedicationStockChanged(MedicationStockChangedEvent event) {
+        lowStockEvaluator.evaluate(event.userId(), event.medicationId());
+    }
 }
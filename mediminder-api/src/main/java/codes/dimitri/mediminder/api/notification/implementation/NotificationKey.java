@@ -0,0 +1,11 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import codes.dimitri.mediminder.api.notification.NotificationType;
+
+import java.util.UUID;
+
+public record NotificationKey(String userId, NotificationType type, UUID initiatorId) {
+    public static NotificationKey of(NotificationEntity entity) {
+        return new NotificationKey(entity.getUserId(), entity.getType(), entity.getInitiatorId());
+    }
+}
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
@@ -25,6 +26,7 @@ class NotificationManagerImpl implements NotificationManager {
     private final SubscriptionEntityRepository subscriptionRepository;
     private final NotificationMapper mapper;
     private final NotificationProperties properties;
+    private final NotificationStreamRegistry streamRegistry;
 
     @Override
     @Transactional
@@ -73,6 +75,7 @@ class NotificationManagerImpl implements NotificationManager {
         UserDTO user = findCurrentUser();
         NotificationEntity entity = findEntity(id, user);
         entity.setActive(false);
+        streamRegistry.publishDeactivated(user.id(), List.of(id));
     }
 
     @Transactional
@@ -81,6 +84,10 @@ class NotificationManagerImpl implements NotificationManager {
         @NotNull String userId,
         @NotNull NotificationType type,
         @NotNull UUID initiatorId) {
+        if (streamRegistry.isConnected(userId)) {
+            List<UUID> ids = repository.findAllActiveIdsByUserIdTypeAndInitiatorId(userId, type, initiatorId);
+            streamRegistry.publishDeactivated(userId, ids);
+        }
         repository.deactivateAllByUserIdTypeAndInitiatorId(userId, type, initiatorId);
     }
 
@@ -15,6 +15,13 @@ public record NotificationProperties(
     @DefaultValue ExpiryProperties expiry,
     @DefaultValue DoseProperties dose,
     @DefaultValue IntakeProperties intake,
+    @DefaultValue PartitionProperties partition,
+    @DefaultValue SplitProperties split,
+    @DefaultValue PushProperties push,
+    @DefaultValue OutboxProperties outbox,
+    @DefaultValue SchedulerProperties scheduler,
+    @DefaultValue CleanupProperties cleanup,
+    @DefaultValue StreamProperties stream,
     String batchApiKey,
     String applicationIconUrl
     ) {
@@ -29,6 +36,40 @@ public record NotificationProperties(
 
     public record IntakeProperties(
         @DefaultValue("2h") Duration lifetime,
-        @DefaultValue("10m") Duration warnPeriod) {
+        @DefaultValue("10m") Duration warnPeriod,
+        @DefaultValue("true") boolean lightweightJobRepository) {
     }
+
+    public record PartitionProperties(
+        @DefaultValue("8") int gridSize,
+        @DefaultValue("8") int concurrencyLimit) { }
+
+    public record SplitProperties(
+        @DefaultValue("4") int concurrencyLimit) { }
+
+    public record PushProperties(
+        @DefaultValue("64") int maxInFlight,
+        @DefaultValue("5s") Duration connectTimeout,
+        @DefaultValue("10s") Duration requestTimeout) { }
+
+    public record OutboxProperties(
+        @DefaultValue("100") int batchSize,
+        @DefaultValue("8") int maxAttempts,
+        @DefaultValue("30s") Duration initialBackoff,
+        @DefaultValue("1h") Duration maxBackoff,
+        @DefaultValue("5m") Duration lease) { }
+
+    public record SchedulerProperties(
+        @DefaultValue("30m") Duration lease,
+        @DefaultValue("30s") Duration minimumLease,
+        @DefaultValue("10m") Duration leaseRenewalInterval,
+        @DefaultValue("2") int concurrencyLimit,
+        @DefaultValue("30d") Duration metadataRetention) { }
+
+    public record CleanupProperties(
+        @DefaultValue("1000") int batchSize) { }
+
+    public record StreamProperties(
+        @DefaultValue("30m") Duration timeout,
+        @DefaultValue("32") int bufferSize) { }
 }
@@ -0,0 +1,139 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import codes.dimitri.mediminder.api.notification.InvalidNotificationException;
+import codes.dimitri.mediminder.api.user.CurrentUserNotFoundException;
+import codes.dimitri.mediminder.api.user.UserManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class NotificationStreamRegistry implements AutoCloseable {
+    private final UserManager userManager;
+    private final NotificationMapper mapper;
+    private final NotificationProperties.StreamProperties properties;
+    private final Map<String, Set<NotificationStream>> streams = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("notification-stream-", 0).factory());
+
+    public NotificationStreamRegistry(UserManager userManager, NotificationMapper mapper, NotificationProperties properties) {
+        this.userManager = userManager;
+        this.mapper = mapper;
+        this.properties = properties.stream();
+    }
+
+    public SseEmitter connectCurrentUser() {
+        String userId = findCurrentUserId();
+        NotificationStream stream = new NotificationStream(userId, new SseEmitter(properties.timeout().toMillis()), new ArrayBlockingQueue<>(properties.bufferSize()), new AtomicBoolean());
+        stream.emitter().onCompletion(() -> remove(stream));
+        stream.emitter().onTimeout(() -> remove(stream));
+        stream.emitter().onError(ex -> remove(stream));
+        streams.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet()).add(stream);
+        return stream.emitter();
+    }
+
+    public void publishCreated(Collection<? extends NotificationEntity> notifications) {
+        List<? extends NotificationEntity> activeNotifications = notifications.stream().filter(NotificationEntity::isActive).toList();
+        afterCommit(() -> activeNotifications.forEach(notification -> publish(
+            notification.getUserId(),
+            SseEmitter.event().name("created").data(mapper.toDTO(notification)).build())));
+    }
+
+    public void publishDeactivated(String userId, Collection<UUID> ids) {
+        List<UUID> deactivatedIds = List.copyOf(ids);
+        afterCommit(() -> deactivatedIds.forEach(id -> publish(userId, SseEmitter.event().name("deactivated").data(id).build())));
+    }
+
+    @Scheduled(fixedDelayString = "${notification.stream.heartbeat-interval:30s}")
+    void sendHeartbeats() {
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        streams.values().forEach(userStreams -> userStreams.forEach(stream -> enqueue(stream, heartbeat)));
+    }
+
+    public boolean isConnected(String userId) {
+        return streams.containsKey(userId);
+    }
+
+    private void publish(String userId, Set<DataWithMediaType> event) {
+        streams.getOrDefault(userId, Set.of()).forEach(stream -> enqueue(stream, event));
+    }
+
+    private void enqueue(NotificationStream stream, Set<DataWithMediaType> event) {
+        if (!stream.buffer().offer(event)) {
+            log.debug("Notification stream of {} can't keep up, closing it", stream.userId());
+            remove(stream);
+            stream.emitter().complete();
+        } else if (stream.draining().compareAndSet(false, true)) {
+            executor.execute(() -> drain(stream));
+        }
+    }
+
+    private void drain(NotificationStream stream) {
+        try {
+            Set<DataWithMediaType> event;
+            while ((event = stream.buffer().poll()) != null) stream.emitter().send(event);
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Could not send to notification stream of {}, closing it", stream.userId(), ex);
+            remove(stream);
+            stream.buffer().clear();
+        } finally {
+            stream.draining().set(false);
+        }
+        if (!stream.buffer().isEmpty() && stream.draining().compareAndSet(false, true)) executor.execute(() -> drain(stream));
+    }
+
+    private void remove(NotificationStream stream) {
+        streams.computeIfPresent(stream.userId(), (userId, userStreams) -> {
+            userStreams.remove(stream);
+            return userStreams.isEmpty() ? null : userStreams;
+        });
+    }
+
+    private static void afterCommit(Runnable runnable) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    runnable.run();
+                }
+            });
+        } else {
+            runnable.run();
+        }
+    }
+
+    private String findCurrentUserId() {
+        try {
+            return userManager.findCurrentUser().id();
+        } catch (CurrentUserNotFoundException ex) {
+            throw new InvalidNotificationException("User is not authenticated", ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        streams.values().forEach(userStreams -> userStreams.forEach(stream -> stream.emitter().complete()));
+        streams.clear();
+        executor.close();
+    }
+
+    private record NotificationStream(String userId, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> buffer, AtomicBoolean draining) {
+    }
+}
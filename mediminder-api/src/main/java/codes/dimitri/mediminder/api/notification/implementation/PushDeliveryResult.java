@@ -0,0 +1,23 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import org.springframework.http.HttpStatus;
+
+import java.net.http.HttpResponse;
+
+public record PushDeliveryResult(int statusCode, Throwable error) {
+    static PushDeliveryResult of(HttpResponse<?> response) {
+        return new PushDeliveryResult(response.statusCode(), null);
+    }
+
+    static PushDeliveryResult failed(Throwable error) {
+        return new PushDeliveryResult(0, error);
+    }
+
+    public boolean isDelivered() {
+        return error == null && statusCode >= 200 && statusCode < 300;
+    }
+
+    public boolean isGone() {
+        return statusCode == HttpStatus.NOT_FOUND.value() || statusCode == HttpStatus.GONE.value();
+    }
+}
@@ -1,18 +1,27 @@
 package codes.dimitri.mediminder.api.notification.implementation;
 
-import nl.martijndwars.webpush.PushService;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.net.http.HttpClient;
 import java.security.GeneralSecurityException;
 import java.security.Security;
 
 @Configuration
 class PushNotificationConfiguration {
     @Bean
-    public PushService pushService(NotificationProperties properties) throws GeneralSecurityException {
+    public HttpClientPushService pushService(NotificationProperties properties) throws GeneralSecurityException {
         Security.addProvider(new BouncyCastleProvider());
-        return new PushService(properties.publicKey(), properties.privateKey());
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(properties.push().connectTimeout())
+            .build();
+        return new HttpClientPushService(httpClient, properties.push().requestTimeout(), properties.publicKey(), properties.privateKey());
+    }
+
+    @Bean
+    public PushNotificationDispatcher pushNotificationDispatcher(HttpClientPushService pushService, NotificationProperties properties) {
+        return new PushNotificationDispatcher(pushService, properties.push().maxInFlight());
     }
 }
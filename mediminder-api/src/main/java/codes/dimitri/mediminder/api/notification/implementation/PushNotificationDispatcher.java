@@ -0,0 +1,69 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.martijndwars.webpush.Notification;
+import org.jose4j.lang.JoseException;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+@Slf4j
+public class PushNotificationDispatcher implements AutoCloseable {
+    private final HttpClientPushService pushService;
+    private final Semaphore inFlight;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PushNotificationDispatcher(HttpClientPushService pushService, int maxInFlight) {
+        this.pushService = pushService;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    public CompletableFuture<List<PushDeliveryResult>> dispatch(List<Notification> notifications) {
+        List<CompletableFuture<PushDeliveryResult>> results = new ArrayList<>(notifications.size());
+        for (Notification notification : notifications) {
+            try {
+                inFlight.acquire();
+                results.add(send(notification).whenComplete((result, ex) -> inFlight.release()));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                results.add(CompletableFuture.completedFuture(PushDeliveryResult.failed(ex)));
+            }
+        }
+        return CompletableFuture
+            .allOf(results.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> results.stream().map(CompletableFuture::join).toList());
+    }
+
+    private CompletableFuture<PushDeliveryResult> send(Notification notification) {
+        return CompletableFuture
+            .supplyAsync(() -> sendAsync(notification), executor)
+            .thenCompose(Function.identity())
+            .thenApply(PushDeliveryResult::of)
+            .exceptionally(ex -> {
+                log.error("Could not deliver push notification to {}", notification.getEndpoint(), ex);
+                return PushDeliveryResult.failed(ex);
+            });
+    }
+
+    private CompletableFuture<HttpResponse<Void>> sendAsync(Notification notification) {
+        try {
+            return pushService.sendAsync(notification);
+        } catch (GeneralSecurityException | IOException | JoseException ex) {
+            throw new CompletionException(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
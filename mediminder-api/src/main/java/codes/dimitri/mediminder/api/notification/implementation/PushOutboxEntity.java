@@ -0,0 +1,43 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import codes.dimitri.mediminder.api.common.AssignedIdEntity;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "push_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PushOutboxEntity extends AssignedIdEntity<UUID> {
+    @Id
+    private UUID id;
+    private UUID notificationId;
+    private String userId;
+    private String payload;
+    private int attempts;
+    private Instant nextAttemptAt;
+
+    public PushOutboxEntity(UUID notificationId, String userId, String payload, Instant nextAttemptAt) {
+        this.id = UUID.randomUUID();
+        markNew();
+        this.notificationId = notificationId;
+        this.userId = userId;
+        this.payload = payload;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public void claim(Instant leaseUntil) {
+        this.attempts++;
+        this.nextAttemptAt = leaseUntil;
+    }
+}
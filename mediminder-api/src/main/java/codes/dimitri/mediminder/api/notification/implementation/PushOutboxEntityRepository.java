@@ -0,0 +1,28 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface PushOutboxEntityRepository extends JpaRepository<PushOutboxEntity, UUID> {
+    @Query(value = """
+    select * from push_outbox
+    where next_attempt_at <= ?1
+    order by next_attempt_at
+    limit ?2
+    for update skip locked
+    """, nativeQuery = true)
+    List<PushOutboxEntity> findAllDueForUpdate(Instant now, int limit);
+
+    @Modifying
+    @Query("""
+    delete from PushOutboxEntity o
+    where o.userId in ?1
+    """)
+    void deleteAllByUserIdIn(Collection<String> userIds);
+}
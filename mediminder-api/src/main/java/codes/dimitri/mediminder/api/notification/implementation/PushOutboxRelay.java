@@ -0,0 +1,198 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import nl.martijndwars.webpush.Notification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class PushOutboxRelay implements AutoCloseable {
+    private final PushOutboxEntityRepository repository;
+    private final SubscriptionEntityRepository subscriptionRepository;
+    private final PushNotificationDispatcher dispatcher;
+    private final NotificationProperties.OutboxProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(Thread.ofVirtual().name("push-outbox-", 0).factory());
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+    private final Counter deliveredCounter;
+    private final Counter goneCounter;
+    private final Counter retriedCounter;
+    private final Counter droppedCounter;
+    private final DistributionSummary attemptsSummary;
+
+    public PushOutboxRelay(
+        PushOutboxEntityRepository repository,
+        SubscriptionEntityRepository subscriptionRepository,
+        PushNotificationDispatcher dispatcher,
+        NotificationProperties properties,
+        PlatformTransactionManager transactionManager,
+        Clock clock,
+        MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.subscriptionRepository = subscriptionRepository;
+        this.dispatcher = dispatcher;
+        this.properties = properties.outbox();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.clock = clock;
+        this.deliveredCounter = createCounter(meterRegistry, "delivered");
+        this.goneCounter = createCounter(meterRegistry, "gone");
+        this.retriedCounter = createCounter(meterRegistry, "retried");
+        this.droppedCounter = createCounter(meterRegistry, "dropped");
+        this.attemptsSummary = DistributionSummary
+            .builder("notification.push.attempts")
+            .description("Number of attempts it took before a push notification left the outbox")
+            .register(meterRegistry);
+    }
+
+    public void requestDrain() {
+        drainRequested.set(true);
+        if (draining.compareAndSet(false, true)) executor.execute(this::drainWhileRequested);
+    }
+
+    @Scheduled(fixedDelayString = "${notification.outbox.poll-interval:1m}")
+    void poll() {
+        requestDrain();
+    }
+
+    private void drainWhileRequested() {
+        try {
+            while (drainRequested.getAndSet(false)) drain();
+        } catch (RuntimeException ex) {
+            log.error("Could not drain push outbox", ex);
+        } finally {
+            draining.set(false);
+        }
+        if (drainRequested.get()) requestDrain();
+    }
+
+    public void drain() {
+        ClaimedBatch batch;
+        do {
+            batch = transactionTemplate.execute(status -> claim());
+            if (batch == null) return;
+            if (!batch.deliveries().isEmpty()) deliver(batch.deliveries());
+        } while (batch.claimedCount() == properties.batchSize());
+    }
+
+    private void deliver(List<PushOutboxDelivery> deliveries) {
+        List<Notification> notifications = deliveries.stream().map(PushOutboxDelivery::notification).toList();
+        List<PushDeliveryResult> results = dispatcher.dispatch(notifications).join();
+        transactionTemplate.executeWithoutResult(status -> complete(deliveries, results));
+    }
+
+    private ClaimedBatch claim() {
+        Instant now = Instant.now(clock);
+        List<PushOutboxEntity> entities = repository.findAllDueForUpdate(now, properties.batchSize());
+        List<String> userIds = entities.stream().map(PushOutboxEntity::getUserId).distinct().toList();
+        Map<String, SubscriptionEntity> subscriptions = subscriptionRepository
+            .findAllById(userIds)
+            .stream()
+            .collect(Collectors.toMap(SubscriptionEntity::getUserId, Function.identity()));
+        List<PushOutboxDelivery> deliveries = new ArrayList<>(entities.size());
+        List<PushOutboxEntity> undeliverable = new ArrayList<>();
+        for (PushOutboxEntity entity : entities) {
+            SubscriptionEntity subscription = subscriptions.get(entity.getUserId());
+            if (subscription == null) {
+                undeliverable.add(entity);
+                continue;
+            }
+            try {
+                byte[] payload = entity.getPayload().getBytes(StandardCharsets.UTF_8);
+                Notification notification = new Notification(subscription.getEndpoint(), subscription.getKey(), subscription.getAuth(), payload);
+                entity.claim(now.plus(properties.lease()));
+                deliveries.add(new PushOutboxDelivery(entity.getId(), entity.getUserId(), entity.getAttempts(), notification));
+            } catch (GeneralSecurityException | RuntimeException ex) {
+                log.warn("Subscription of {} is invalid, dropping push notification {}", entity.getUserId(), entity.getNotificationId(), ex);
+                undeliverable.add(entity);
+            }
+        }
+        droppedCounter.increment(undeliverable.size());
+        repository.deleteAllInBatch(undeliverable);
+        return new ClaimedBatch(entities.size(), deliveries);
+    }
+
+    private void complete(List<PushOutboxDelivery> deliveries, List<PushDeliveryResult> results) {
+        List<UUID> finishedIds = new ArrayList<>();
+        List<String> goneUserIds = new ArrayList<>();
+        Map<UUID, Integer> retries = new HashMap<>();
+        for (int index = 0; index < deliveries.size(); index++) {
+            PushOutboxDelivery delivery = deliveries.get(index);
+            PushDeliveryResult result = results.get(index);
+            if (result.isDelivered()) {
+                deliveredCounter.increment();
+                attemptsSummary.record(delivery.attempts());
+                finishedIds.add(delivery.id());
+            } else if (result.isGone()) {
+                goneCounter.increment();
+                attemptsSummary.record(delivery.attempts());
+                finishedIds.add(delivery.id());
+                if (subscriptionRepository.deleteByUserIdAndEndpoint(delivery.userId(), delivery.notification().getEndpoint()) > 0) {
+                    log.info("Removed expired push subscription of {}", delivery.userId());
+                    goneUserIds.add(delivery.userId());
+                }
+            } else if (delivery.attempts() >= properties.maxAttempts()) {
+                log.warn("Could not deliver push notification to {} after {} attempts (status {})", delivery.userId(), delivery.attempts(), result.statusCode());
+                droppedCounter.increment();
+                attemptsSummary.record(delivery.attempts());
+                finishedIds.add(delivery.id());
+            } else {
+                retriedCounter.increment();
+                retries.put(delivery.id(), delivery.attempts());
+            }
+        }
+        repository.deleteAllByIdInBatch(finishedIds);
+        if (!goneUserIds.isEmpty()) repository.deleteAllByUserIdIn(goneUserIds);
+        Instant now = Instant.now(clock);
+        repository
+            .findAllById(retries.keySet())
+            .forEach(entity -> entity.setNextAttemptAt(now.plus(calculateBackoff(retries.get(entity.getId())))));
+    }
+
+    Duration calculateBackoff(int attempts) {
+        Duration backoff = properties.initialBackoff().multipliedBy(1L << Math.min(Math.max(attempts - 1, 0), 20));
+        return backoff.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : backoff;
+    }
+
+    private static Counter createCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter
+            .builder("notification.push.deliveries")
+            .description("Number of push notifications that were handled by the outbox")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private record PushOutboxDelivery(UUID id, String userId, int attempts, Notification notification) {
+    }
+
+    private record ClaimedBatch(int claimedCount, List<PushOutboxDelivery> deliveries) {
+    }
+}
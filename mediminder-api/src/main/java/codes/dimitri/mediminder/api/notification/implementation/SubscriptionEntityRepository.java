@@ -1,6 +1,15 @@
 package codes.dimitri.mediminder.api.notification.implementation;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 public interface SubscriptionEntityRepository extends JpaRepository<SubscriptionEntity, String> {
+    @Modifying
+    @Query("""
+    delete from SubscriptionEntity s
+    where s.userId = ?1
+    and s.endpoint = ?2
+    """)
+    int deleteByUserIdAndEndpoint(String userId, String endpoint);
 }
@@ -0,0 +1,7 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record UserScheduledMedication(String userId, UUID medicationId, LocalDate today) {
+}
\ No newline at end of file
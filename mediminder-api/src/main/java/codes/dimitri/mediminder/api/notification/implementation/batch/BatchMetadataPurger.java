@@ -0,0 +1,48 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.notification.implementation.NotificationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.simple.JdbcClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Slf4j
+@Component
+class BatchMetadataPurger {
+    private static final String OLD_EXECUTION_IDS = "select job_execution_id from batch_job_execution where end_time < :cutoff";
+    private final JdbcClient jdbcClient;
+    private final Duration retention;
+    private final Clock clock;
+
+    public BatchMetadataPurger(JdbcClient jdbcClient, NotificationProperties properties, Clock clock) {
+        this.jdbcClient = jdbcClient;
+        this.retention = properties.scheduler().metadataRetention();
+        this.clock = clock;
+    }
+
+    @Transactional
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(retention);
+        delete("""
+            delete from batch_step_execution_context
+            where step_execution_id in (select step_execution_id from batch_step_execution where job_execution_id in (%s))
+            """.formatted(OLD_EXECUTION_IDS), cutoff);
+        delete("delete from batch_step_execution where job_execution_id in (%s)".formatted(OLD_EXECUTION_IDS), cutoff);
+        delete("delete from batch_job_execution_context where job_execution_id in (%s)".formatted(OLD_EXECUTION_IDS), cutoff);
+        delete("delete from batch_job_execution_params where job_execution_id in (%s)".formatted(OLD_EXECUTION_IDS), cutoff);
+        int deletedCount = delete("delete from batch_job_execution where end_time < :cutoff", cutoff);
+        jdbcClient
+            .sql("delete from batch_job_instance i where not exists (select 1 from batch_job_execution e where e.job_instance_id = i.job_instance_id)")
+            .update();
+        log.info("Purged {} job executions that finished before {}", deletedCount, cutoff);
+        return deletedCount;
+    }
+
+    private int delete(String sql, LocalDateTime cutoff) {
+        return jdbcClient.sql(sql).param("cutoff", cutoff).update();
+    }
+}
@@ -3,42 +3,44 @@ package codes.dimitri.mediminder.api.notification.implementation.batch;
 import codes.dimitri.mediminder.api.document.DocumentDTO;
 import codes.dimitri.mediminder.api.document.DocumentManager;
 import codes.dimitri.mediminder.api.notification.implementation.NotificationProperties;
-import lombok.RequiredArgsConstructor;
-import org.springframework.batch.core.StepExecution;
-import org.springframework.batch.core.annotation.BeforeStep;
-import org.springframework.batch.item.database.AbstractPagingItemReader;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
+import java.io.Serializable;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
-class DocumentWithNearExpiryDateReader extends AbstractPagingItemReader<DocumentDTO> {
+@StepScope
+class DocumentWithNearExpiryDateReader extends KeysetItemReader<DocumentDTO, DocumentWithNearExpiryDateReader.Key> {
     private final DocumentManager documentManager;
-    private final NotificationProperties properties;
-    private LocalDate warnDate;
+    private final LocalDate warnDate;
+
+    public DocumentWithNearExpiryDateReader(
+        DocumentManager documentManager,
+        NotificationProperties properties,
+        @Value("#{jobParameters['date']}") LocalDateTime date) {
+        super(null);
+        this.documentManager = documentManager;
+        this.warnDate = date.toLocalDate().plus(properties.expiry().warnPeriod());
+        setPageSize(properties.chunkSize());
+    }
+
+    @Override
+    protected Slice<DocumentDTO> readSlice(Key afterKey, int size) {
+        if (afterKey == null) return documentManager.findAllWithExpiryDateBefore(warnDate, null, null, Limit.of(size));
+        return documentManager.findAllWithExpiryDateBefore(warnDate, afterKey.expiryDate(), afterKey.id(), Limit.of(size));
+    }
 
     @Override
-    protected void doReadPage() {
-        if (results == null) results = new CopyOnWriteArrayList<>();
-        else results.clear();
-        var pageRequest = PageRequest.of(getPage(), getPageSize());
-        Page<DocumentDTO> page = documentManager.findAllWithExpiryDateBefore(warnDate, pageRequest);
-        results.addAll(page.getContent());
+    protected Key extractKey(DocumentDTO item) {
+        return new Key(item.expiryDate(), item.id());
     }
 
-    @BeforeStep
-    void initialize(StepExecution stepExecution) {
-        LocalDateTime date = stepExecution
-            .getJobExecution()
-            .getJobParameters()
-            .getLocalDateTime("date");
-        Objects.requireNonNull(date);
-        warnDate = date.toLocalDate().plus(properties.expiry().warnPeriod());
+    record Key(LocalDate expiryDate, UUID id) implements Serializable {
     }
 }
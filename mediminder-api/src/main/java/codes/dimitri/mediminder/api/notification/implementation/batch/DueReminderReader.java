@@ -0,0 +1,42 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.notification.implementation.NotificationProperties;
+import codes.dimitri.mediminder.api.schedule.ScheduleManager;
+import codes.dimitri.mediminder.api.schedule.ScheduleReminderDTO;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+
+@Component
+@StepScope
+class DueReminderReader extends KeysetItemReader<ScheduleReminderDTO, DueReminderReader.Key> {
+    private final ScheduleManager scheduleManager;
+    private final Instant until;
+
+    public DueReminderReader(ScheduleManager scheduleManager, NotificationProperties properties, Clock clock) {
+        super(null);
+        this.scheduleManager = scheduleManager;
+        this.until = Instant.now(clock).plus(properties.intake().warnPeriod());
+        setPageSize(properties.chunkSize());
+    }
+
+    @Override
+    protected Slice<ScheduleReminderDTO> readSlice(Key afterKey, int size) {
+        if (afterKey == null) return scheduleManager.findAllDueReminders(until, null, null, Limit.of(size));
+        return scheduleManager.findAllDueReminders(until, afterKey.reminderAt(), afterKey.scheduleId(), Limit.of(size));
+    }
+
+    @Override
+    protected Key extractKey(ScheduleReminderDTO item) {
+        return new Key(item.reminderAt(), item.scheduleId());
+    }
+
+    record Key(Instant reminderAt, UUID scheduleId) implements Serializable {
+    }
+}
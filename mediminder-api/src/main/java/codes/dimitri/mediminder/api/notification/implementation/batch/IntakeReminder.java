@@ -0,0 +1,7 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.notification.implementation.NotificationEntity;
+import codes.dimitri.mediminder.api.schedule.ScheduleReminderDTO;
+
+record IntakeReminder(ScheduleReminderDTO reminder, NotificationEntity notification) {
+}
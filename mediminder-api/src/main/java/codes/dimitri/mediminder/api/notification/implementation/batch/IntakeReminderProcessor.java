@@ -0,0 +1,37 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.notification.NotificationType;
+import codes.dimitri.mediminder.api.notification.implementation.NotificationEntity;
+import codes.dimitri.mediminder.api.notification.implementation.NotificationProperties;
+import codes.dimitri.mediminder.api.schedule.ScheduleReminderDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+
+@Component
+@RequiredArgsConstructor
+class IntakeReminderProcessor implements ItemProcessor<ScheduleReminderDTO, IntakeReminder> {
+    private final NotificationProperties properties;
+    private final Clock clock;
+
+    @Override
+    public IntakeReminder process(ScheduleReminderDTO item) {
+        Instant now = Instant.now(clock);
+        if (item.reminderAt().isBefore(now.minus(properties.intake().warnPeriod()))) return new IntakeReminder(item, null);
+        return new IntakeReminder(item, createIntakeNotification(item, now));
+    }
+
+    private NotificationEntity createIntakeNotification(ScheduleReminderDTO item, Instant now) {
+        return new NotificationEntity(
+            item.userId(),
+            NotificationType.INTAKE_EVENT,
+            item.scheduleId(),
+            "Time to take your medicine",
+            "You have to take '" + item.medication().name() + "' at " + item.time(),
+            now.plus(properties.intake().lifetime())
+        );
+    }
+}
@@ -0,0 +1,25 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.notification.implementation.NotificationEntity;
+import codes.dimitri.mediminder.api.schedule.ScheduleManager;
+import codes.dimitri.mediminder.api.schedule.ScheduleReminderDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import java.util.List;
+import java.util.Objects;
+
+@RequiredArgsConstructor
+class IntakeReminderWriter implements ItemWriter<IntakeReminder> {
+    private final ItemWriter<NotificationEntity> writer;
+    private final ScheduleManager scheduleManager;
+
+    @Override
+    public void write(Chunk<? extends IntakeReminder> chunk) throws Exception {
+        List<NotificationEntity> notifications = chunk.getItems().stream().map(IntakeReminder::notification).filter(Objects::nonNull).toList();
+        if (!notifications.isEmpty()) writer.write(new Chunk<>(notifications));
+        List<ScheduleReminderDTO> reminders = chunk.getItems().stream().map(IntakeReminder::reminder).toList();
+        scheduleManager.advanceReminders(reminders);
+    }
+}
@@ -0,0 +1,36 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+abstract class KeyRangePartitioner<K extends Serializable> implements Partitioner {
+    static final String AFTER_KEY = "afterKey";
+    static final String UNTIL_KEY = "untilKey";
+
+    protected abstract List<K> findLastKeys(int gridSize);
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        List<K> lastKeys = findLastKeys(gridSize);
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+        K afterKey = null;
+        for (K untilKey : lastKeys.subList(0, Math.max(0, lastKeys.size() - 1))) {
+            partitions.put("partition" + partitions.size(), createContext(afterKey, untilKey));
+            afterKey = untilKey;
+        }
+        partitions.put("partition" + partitions.size(), createContext(afterKey, null));
+        return partitions;
+    }
+
+    private ExecutionContext createContext(K afterKey, K untilKey) {
+        ExecutionContext context = new ExecutionContext();
+        if (afterKey != null) context.put(AFTER_KEY, afterKey);
+        if (untilKey != null) context.put(UNTIL_KEY, untilKey);
+        return context;
+    }
+}
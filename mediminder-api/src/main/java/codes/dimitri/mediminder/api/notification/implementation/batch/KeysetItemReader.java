@@ -0,0 +1,74 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.ClassUtils;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+abstract class KeysetItemReader<T, K extends Serializable> extends AbstractItemCountingItemStreamItemReader<T> {
+    private static final String LAST_KEY = "last.key";
+    private final Deque<T> results = new ArrayDeque<>();
+    private final K initialKey;
+    private K lastKey;
+    private boolean hasNextSlice;
+    private int pageSize = 10;
+
+    protected KeysetItemReader(K initialKey) {
+        this.initialKey = initialKey;
+        setName(ClassUtils.getShortName(getClass()));
+    }
+
+    protected abstract Slice<T> readSlice(K afterKey, int size);
+
+    protected abstract K extractKey(T item);
+
+    public void setPageSize(int pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    protected void doOpen() {
+        results.clear();
+        lastKey = initialKey;
+        hasNextSlice = true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        String key = getExecutionContextKey(LAST_KEY);
+        if (executionContext.containsKey(key)) lastKey = (K) executionContext.get(key);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        if (isSaveState() && lastKey != null) executionContext.put(getExecutionContextKey(LAST_KEY), lastKey);
+    }
+
+    @Override
+    protected T doRead() {
+        if (results.isEmpty() && hasNextSlice) {
+            Slice<T> slice = readSlice(lastKey, pageSize);
+            results.addAll(slice.getContent());
+            hasNextSlice = slice.hasNext();
+        }
+        T item = results.poll();
+        if (item != null) lastKey = extractKey(item);
+        return item;
+    }
+
+    @Override
+    protected void jumpToItem(int itemIndex) {
+    }
+
+    @Override
+    protected void doClose() {
+        results.clear();
+    }
+}
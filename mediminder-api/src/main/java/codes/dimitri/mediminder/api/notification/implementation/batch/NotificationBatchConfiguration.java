@@ -2,116 +2,140 @@ package codes.dimitri.mediminder.api.notification.implementation.batch;
 
 import codes.dimitri.mediminder.api.cabinet.CabinetEntryDTO;
 import codes.dimitri.mediminder.api.document.DocumentDTO;
+import codes.dimitri.mediminder.api.notification.implementation.LowStockEvaluator;
 import codes.dimitri.mediminder.api.notification.implementation.NotificationEntity;
+import codes.dimitri.mediminder.api.notification.implementation.NotificationEntityRepository;
 import codes.dimitri.mediminder.api.notification.implementation.NotificationProperties;
-import codes.dimitri.mediminder.api.schedule.UserScheduledMedicationDTO;
-import codes.dimitri.mediminder.api.user.UserDTO;
-import lombok.RequiredArgsConstructor;
+import codes.dimitri.mediminder.api.notification.implementation.UserScheduledMedication;
+import codes.dimitri.mediminder.api.schedule.ScheduleManager;
+import codes.dimitri.mediminder.api.schedule.ScheduleReminderDTO;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.FlowBuilder;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.job.flow.support.SimpleFlow;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.ResourcelessJobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.support.CompositeItemProcessor;
 import org.springframework.batch.item.support.CompositeItemWriter;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
-import java.util.List;
-
 @Configuration
-@RequiredArgsConstructor
 class NotificationBatchConfiguration {
     private final JobRepository jobRepository;
+    private final JobRepository intakeJobRepository;
     private final NotificationProperties properties;
     private final PlatformTransactionManager transactionManager;
+    private final TaskExecutor partitionTaskExecutor;
+    private final TaskExecutor splitTaskExecutor;
+
+    public NotificationBatchConfiguration(JobRepository jobRepository, NotificationProperties properties, PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.intakeJobRepository = properties.intake().lightweightJobRepository() ? new ResourcelessJobRepository() : jobRepository;
+        this.properties = properties;
+        this.transactionManager = transactionManager;
+        this.partitionTaskExecutor = createTaskExecutor("notification-partition-", properties.partition().concurrencyLimit());
+        this.splitTaskExecutor = createTaskExecutor("notification-split-", properties.split().concurrencyLimit());
+    }
 
     @Bean
     public Job notificationJob(
         @Qualifier("notificationCleanupStep") Step notificationCleanupStep,
         @Qualifier("outOfDoseStep") Step outOfDoseStep,
         @Qualifier("expiryStep") Step expiryStep,
-        @Qualifier("documentExpiryStep") Step documentExpiryStep,
-        @Qualifier("intakeStep") Step intakeStep) {
+        @Qualifier("documentExpiryStep") Step documentExpiryStep) {
+        Flow notificationFlow = new FlowBuilder<SimpleFlow>("notificationFlow")
+            .split(splitTaskExecutor)
+            .add(
+                createFlow(outOfDoseStep),
+                createFlow(expiryStep),
+                createFlow(documentExpiryStep))
+            .build();
         return new JobBuilder("notificationJob", jobRepository)
-            .start(notificationCleanupStep)
-            .next(outOfDoseStep)
-            .next(expiryStep)
-            .next(documentExpiryStep)
-            .next(intakeStep)
+            .flow(notificationCleanupStep)
+            .next(notificationFlow)
+            .end()
             .build();
     }
 
     @Bean
-    public Step notificationCleanupStep(NotificationCleanupTasklet tasklet) {
-        return new StepBuilder("notificationCleanupStep", jobRepository)
-            .tasklet(tasklet, transactionManager)
+    public Job intakeJob(
+        @Qualifier("intakeCleanupStep") Step intakeCleanupStep,
+        @Qualifier("intakeStep") Step intakeStep) {
+        return new JobBuilder("intakeJob", intakeJobRepository)
+            .start(intakeCleanupStep)
+            .next(intakeStep)
             .build();
     }
 
-    @Bean
-    public CompositeItemProcessor<UserScheduledMedicationDTO, NotificationEntity> compositeOutOfDoseProcessor(
-        UserScheduledMedicationNotificationProcessor processor,
-        NotificationExistenceProcessor existenceProcessor
-    ) {
-        return new CompositeItemProcessor<>(processor, existenceProcessor);
-    }
-
-    @Bean
-    public CompositeItemProcessor<CabinetEntryDTO, NotificationEntity> compositeExpiryProcessor(
-        CabinetEntryExpiryNotificationProcessor processor,
-        NotificationExistenceProcessor existenceProcessor
-    ) {
-        return new CompositeItemProcessor<>(processor, existenceProcessor);
+    @Bean(defaultCandidate = false)
+    public JobLauncher intakeJobLauncher() throws Exception {
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(intakeJobRepository);
+        jobLauncher.afterPropertiesSet();
+        return jobLauncher;
     }
 
     @Bean
-    public CompositeItemProcessor<DocumentDTO, NotificationEntity> compositeDocumentExpiryProcessor(
-        DocumentExpiryNotificationProcessor processor,
-        NotificationExistenceProcessor existenceProcessor
-    ) {
-        return new CompositeItemProcessor<>(processor, existenceProcessor);
+    public Step notificationCleanupStep(NotificationCleanupTasklet tasklet) {
+        return new StepBuilder("notificationCleanupStep", jobRepository)
+            .tasklet(tasklet, transactionManager)
+            .build();
     }
 
     @Bean
-    public CompositeItemProcessor<UserDTO, List<NotificationEntity>> compositeIntakeProcessor(
-        UserIncompleteIntakeEventProcessor processor,
-        NotificationExistenceProcessor existenceProcessor
-    ) {
-        return new CompositeItemProcessor<>(processor, new FlatteningItemProcessor<>(existenceProcessor));
+    public Step intakeCleanupStep(NotificationCleanupTasklet tasklet) {
+        return new StepBuilder("intakeCleanupStep", intakeJobRepository)
+            .tasklet(tasklet, transactionManager)
+            .build();
     }
 
     @Bean
     public CompositeItemWriter<NotificationEntity> compositeNotificationWriter(
         NotificationItemWriter persistenceWriter,
-        PushNotificationWriter pushNotificationWriter
+        PushOutboxItemWriter pushOutboxWriter
     ) {
-        return new CompositeItemWriter<>(persistenceWriter, pushNotificationWriter);
+        return new CompositeItemWriter<>(persistenceWriter, pushOutboxWriter);
     }
 
     @Bean
-    public ItemWriter<List<NotificationEntity>> flatteningCompositeNotificationWriter(
+    public NotificationDeduplicatingItemWriter deduplicatingNotificationWriter(
+        NotificationEntityRepository repository,
         @Qualifier("compositeNotificationWriter") CompositeItemWriter<NotificationEntity> writer
     ) {
-        return new FlatteningItemWriter<>(writer);
+        return new NotificationDeduplicatingItemWriter(repository, writer);
     }
 
     @Bean
     public Step outOfDoseStep(
-        UserScheduledMedicationReader reader,
-        @Qualifier("compositeOutOfDoseProcessor") CompositeItemProcessor<UserScheduledMedicationDTO, NotificationEntity> compositeOutOfDoseProcessor,
-        CabinetEntryExpiryNotificationProcessor cabinetEntryExpiryNotificationProcessor,
-        @Qualifier("compositeNotificationWriter") CompositeItemWriter<NotificationEntity> writer
+        UserScheduledMedicationPartitioner partitioner,
+        @Qualifier("outOfDoseWorkerStep") Step outOfDoseWorkerStep
     ) {
         return new StepBuilder("outOfDoseStep", jobRepository)
-            .<UserScheduledMedicationDTO, NotificationEntity>chunk(properties.chunkSize(), transactionManager)
+            .partitioner("outOfDoseWorkerStep", partitioner)
+            .step(outOfDoseWorkerStep)
+            .gridSize(properties.partition().gridSize())
+            .taskExecutor(partitionTaskExecutor)
+            .build();
+    }
+
+    @Bean
+    public Step outOfDoseWorkerStep(
+        UserScheduledMedicationReader reader,
+        LowStockEvaluator lowStockEvaluator
+    ) {
+        return new StepBuilder("outOfDoseWorkerStep", jobRepository)
+            .<UserScheduledMedication, UserScheduledMedication>chunk(properties.chunkSize(), transactionManager)
             .reader(reader)
-            .processor(compositeOutOfDoseProcessor)
-            .listener(cabinetEntryExpiryNotificationProcessor)
-            .writer(writer)
+            .writer(chunk -> lowStockEvaluator.evaluate(chunk.getItems()))
             .build();
     }
 
@@ -119,13 +143,12 @@ class NotificationBatchConfiguration {
     public Step expiryStep(
         CabinetEntryWithNearExpiryDateReader reader,
         CabinetEntryExpiryNotificationProcessor cabinetEntryExpiryNotificationProcessor,
-        @Qualifier("compositeExpiryProcessor") CompositeItemProcessor<CabinetEntryDTO, NotificationEntity> compositeExpiryProcessor,
-        @Qualifier("compositeNotificationWriter") CompositeItemWriter<NotificationEntity> writer
+        @Qualifier("deduplicatingNotificationWriter") NotificationDeduplicatingItemWriter writer
     ) {
         return new StepBuilder("expiryStep", jobRepository)
             .<CabinetEntryDTO, NotificationEntity>chunk(properties.chunkSize(), transactionManager)
             .reader(reader)
-            .processor(compositeExpiryProcessor)
+            .processor(cabinetEntryExpiryNotificationProcessor)
             .writer(writer)
             .listener(cabinetEntryExpiryNotificationProcessor)
             .build();
@@ -135,13 +158,12 @@ class NotificationBatchConfiguration {
     public Step documentExpiryStep(
         DocumentWithNearExpiryDateReader reader,
         DocumentExpiryNotificationProcessor documentExpiryNotificationProcessor,
-        @Qualifier("compositeDocumentExpiryProcessor") CompositeItemProcessor<DocumentDTO, NotificationEntity> compositeDocumentExpiryProcessor,
-        @Qualifier("compositeNotificationWriter") CompositeItemWriter<NotificationEntity> writer
+        @Qualifier("deduplicatingNotificationWriter") NotificationDeduplicatingItemWriter writer
     ) {
         return new StepBuilder("documentExpiryStep", jobRepository)
             .<DocumentDTO, NotificationEntity>chunk(properties.chunkSize(), transactionManager)
             .reader(reader)
-            .processor(compositeDocumentExpiryProcessor)
+            .processor(documentExpiryNotificationProcessor)
             .writer(writer)
             .listener(documentExpiryNotificationProcessor)
             .build();
@@ -149,15 +171,29 @@ class NotificationBatchConfiguration {
 
     @Bean
     public Step intakeStep(
-        UserReader reader,
-        @Qualifier("compositeIntakeProcessor") CompositeItemProcessor<UserDTO, List<NotificationEntity>> compositeIntakeProcessor,
-        @Qualifier("flatteningCompositeNotificationWriter") ItemWriter<List<NotificationEntity>> writer
+        DueReminderReader reader,
+        IntakeReminderProcessor processor,
+        @Qualifier("deduplicatingNotificationWriter") NotificationDeduplicatingItemWriter writer,
+        ScheduleManager scheduleManager
     ) {
-        return new StepBuilder("intakeStep", jobRepository)
-            .<UserDTO, List<NotificationEntity>>chunk(properties.chunkSize(), transactionManager)
+        return new StepBuilder("intakeStep", intakeJobRepository)
+            .<ScheduleReminderDTO, IntakeReminder>chunk(properties.chunkSize(), transactionManager)
             .reader(reader)
-            .processor(compositeIntakeProcessor)
-            .writer(writer)
+            .processor(processor)
+            .writer(new IntakeReminderWriter(writer, scheduleManager))
             .build();
     }
+
+    private static Flow createFlow(Step step) {
+        return new FlowBuilder<SimpleFlow>(step.getName() + "Flow")
+            .start(step)
+            .build();
+    }
+
+    private static TaskExecutor createTaskExecutor(String threadNamePrefix, int concurrencyLimit) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrencyLimit);
+        return executor;
+    }
 }
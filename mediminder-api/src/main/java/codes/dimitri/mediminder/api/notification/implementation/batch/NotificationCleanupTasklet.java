@@ -1,10 +1,12 @@
 package codes.dimitri.mediminder.api.notification.implementation.batch;
 
 import codes.dimitri.mediminder.api.notification.implementation.NotificationEntityRepository;
+import codes.dimitri.mediminder.api.notification.implementation.NotificationProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.stereotype.Component;
 
@@ -14,14 +16,21 @@ import java.time.Instant;
 @Component
 @RequiredArgsConstructor
 class NotificationCleanupTasklet implements Tasklet {
+    static final String CUTOFF_KEY = "cutoff";
+    static final String DELETED_COUNT_KEY = "deletedCount";
     private final NotificationEntityRepository repository;
+    private final NotificationProperties properties;
     private final Clock clock;
 
-
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
-        Instant today = Instant.now(clock);
-        repository.deleteAllByDeleteAtBefore(today);
-        return RepeatStatus.FINISHED;
+        ExecutionContext context = contribution.getStepExecution().getExecutionContext();
+        if (!context.containsKey(CUTOFF_KEY)) context.putLong(CUTOFF_KEY, Instant.now(clock).toEpochMilli());
+        Instant cutoff = Instant.ofEpochMilli(context.getLong(CUTOFF_KEY));
+        int batchSize = properties.cleanup().batchSize();
+        int deletedCount = repository.deleteExpiredBatch(cutoff, batchSize);
+        contribution.incrementWriteCount(deletedCount);
+        context.putLong(DELETED_COUNT_KEY, context.getLong(DELETED_COUNT_KEY, 0) + deletedCount);
+        return RepeatStatus.continueIf(deletedCount == batchSize);
     }
 }
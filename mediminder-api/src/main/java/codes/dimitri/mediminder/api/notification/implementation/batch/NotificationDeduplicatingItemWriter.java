@@ -0,0 +1,36 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.notification.implementation.NotificationEntity;
+import codes.dimitri.mediminder.api.notification.implementation.NotificationEntityRepository;
+import codes.dimitri.mediminder.api.notification.implementation.NotificationKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class NotificationDeduplicatingItemWriter implements ItemWriter<NotificationEntity> {
+    private final NotificationEntityRepository repository;
+    private final ItemWriter<NotificationEntity> writer;
+
+    @Override
+    public void write(Chunk<? extends NotificationEntity> chunk) throws Exception {
+        if (chunk.isEmpty()) return;
+        Set<NotificationKey> existingKeys = new HashSet<>(findExistingKeys(chunk));
+        Chunk<NotificationEntity> newNotifications = new Chunk<>();
+        for (NotificationEntity notification : chunk) {
+            if (existingKeys.add(NotificationKey.of(notification))) newNotifications.add(notification);
+        }
+        if (!newNotifications.isEmpty()) writer.write(newNotifications);
+    }
+
+    private Set<NotificationKey> findExistingKeys(Chunk<? extends NotificationEntity> chunk) {
+        Set<String> userIds = chunk.getItems().stream().map(NotificationEntity::getUserId).collect(Collectors.toSet());
+        Set<UUID> initiatorIds = chunk.getItems().stream().map(NotificationEntity::getInitiatorId).collect(Collectors.toSet());
+        return repository.findAllKeysByUserIdsAndInitiatorIds(userIds, initiatorIds);
+    }
+}
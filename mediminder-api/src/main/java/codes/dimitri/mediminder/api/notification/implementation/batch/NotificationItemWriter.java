@@ -2,12 +2,23 @@ package codes.dimitri.mediminder.api.notification.implementation.batch;
 
 import codes.dimitri.mediminder.api.notification.implementation.NotificationEntity;
 import codes.dimitri.mediminder.api.notification.implementation.NotificationEntityRepository;
+import codes.dimitri.mediminder.api.notification.implementation.NotificationStreamRegistry;
+import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.data.RepositoryItemWriter;
 import org.springframework.stereotype.Component;
 
 @Component
 public class NotificationItemWriter extends RepositoryItemWriter<NotificationEntity> {
-    public NotificationItemWriter(NotificationEntityRepository repository) {
+    private final NotificationStreamRegistry streamRegistry;
+
+    public NotificationItemWriter(NotificationEntityRepository repository, NotificationStreamRegistry streamRegistry) {
         this.setRepository(repository);
+        this.streamRegistry = streamRegistry;
+    }
+
+    @Override
+    public void write(Chunk<? extends NotificationEntity> chunk) throws Exception {
+        super.write(chunk);
+        streamRegistry.publishCreated(chunk.getItems());
     }
 }
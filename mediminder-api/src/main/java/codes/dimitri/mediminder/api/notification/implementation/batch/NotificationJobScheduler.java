@@ -0,0 +1,129 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.notification.implementation.NotificationProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRestartException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.SimpleAsyncTaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.ScheduledFuture;
+
+@Slf4j
+@Component
+public class NotificationJobScheduler implements AutoCloseable {
+    private final Clock clock;
+    private final Job intakeJob;
+    private final Job notificationJob;
+    private final JobLauncher jobLauncher;
+    private final JobLauncher intakeJobLauncher;
+    private final BatchMetadataPurger metadataPurger;
+    private final SchedulerLock lock;
+    private final SimpleAsyncTaskExecutor executor;
+    private final SimpleAsyncTaskScheduler renewalScheduler;
+    private final Duration leaseRenewalInterval;
+
+    public NotificationJobScheduler(
+        Clock clock,
+        @Qualifier("intakeJob") Job intakeJob,
+        @Qualifier("notificationJob") Job notificationJob,
+        JobLauncher jobLauncher,
+        @Qualifier("intakeJobLauncher") JobLauncher intakeJobLauncher,
+        BatchMetadataPurger metadataPurger,
+        SchedulerLock lock,
+        NotificationProperties properties) {
+        this.clock = clock;
+        this.intakeJob = intakeJob;
+        this.notificationJob = notificationJob;
+        this.jobLauncher = jobLauncher;
+        this.intakeJobLauncher = intakeJobLauncher;
+        this.metadataPurger = metadataPurger;
+        this.lock = lock;
+        this.executor = new SimpleAsyncTaskExecutor("notification-job-");
+        this.executor.setVirtualThreads(true);
+        this.executor.setConcurrencyLimit(properties.scheduler().concurrencyLimit());
+        this.renewalScheduler = new SimpleAsyncTaskScheduler();
+        this.renewalScheduler.setThreadNamePrefix("notification-lock-");
+        this.renewalScheduler.setVirtualThreads(true);
+        this.renewalScheduler.setClock(clock);
+        this.leaseRenewalInterval = properties.scheduler().leaseRenewalInterval();
+    }
+
+    @Scheduled(cron = "${notification.scheduler.intake-cron:0 * * * * *}")
+    public void scheduleIntakeJob() {
+        executor.execute(() -> runExclusively(intakeJob, intakeJobLauncher));
+    }
+
+    @Scheduled(cron = "${notification.scheduler.notification-cron:0 0 0 * * *}")
+    public void scheduleNotificationJob() {
+        executor.execute(() -> runExclusively(notificationJob, jobLauncher));
+    }
+
+    @Scheduled(cron = "${notification.scheduler.metadata-purge-cron:0 30 0 * * *}")
+    public void scheduleMetadataPurge() {
+        executor.execute(() -> runExclusively("metadataPurge", metadataPurger::purge));
+    }
+
+    public void scheduleAll() {
+        scheduleIntakeJob();
+        scheduleNotificationJob();
+    }
+
+    void runExclusively(Job job, JobLauncher jobLauncher) {
+        runExclusively(job.getName(), () -> run(job, jobLauncher));
+    }
+
+    void runExclusively(String name, Runnable task) {
+        Instant lockedAt = Instant.now(clock);
+        if (!lock.tryAcquire(name, lockedAt)) {
+            log.debug("Skipping {}, it's locked by another instance", name);
+            return;
+        }
+        ScheduledFuture<?> renewal = renewalScheduler.scheduleAtFixedRate(() -> renew(name), lockedAt.plus(leaseRenewalInterval), leaseRenewalInterval);
+        try {
+            task.run();
+        } catch (RuntimeException ex) {
+            log.error("Task {} failed", name, ex);
+        } finally {
+            renewal.cancel(false);
+            lock.release(name, lockedAt);
+        }
+    }
+
+    private void renew(String name) {
+        if (!lock.renew(name)) log.warn("Could not renew the lock of {}, it's no longer held by this instance", name);
+    }
+
+    private void run(Job job, JobLauncher jobLauncher) {
+        JobParameters parameters = new JobParametersBuilder()
+            .addLocalDateTime("date", LocalDateTime.now(clock))
+            .toJobParameters();
+        try {
+            jobLauncher.run(job, parameters);
+        } catch (JobExecutionAlreadyRunningException | JobParametersInvalidException |
+                 JobInstanceAlreadyCompleteException | JobRestartException ex) {
+            log.error("Could not run job", ex);
+        } catch (RuntimeException ex) {
+            log.error("Job {} failed", job.getName(), ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+        renewalScheduler.close();
+    }
+}
@@ -0,0 +1,92 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.notification.implementation.NotificationEntity;
+import codes.dimitri.mediminder.api.notification.implementation.NotificationProperties;
+import codes.dimitri.mediminder.api.notification.implementation.PushOutboxEntity;
+import codes.dimitri.mediminder.api.notification.implementation.PushOutboxEntityRepository;
+import codes.dimitri.mediminder.api.notification.implementation.PushOutboxRelay;
+import codes.dimitri.mediminder.api.notification.implementation.SubscriptionEntity;
+import codes.dimitri.mediminder.api.notification.implementation.SubscriptionEntityRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PushOutboxItemWriter implements ItemWriter<NotificationEntity> {
+    private final NotificationProperties properties;
+    private final PushOutboxEntityRepository repository;
+    private final SubscriptionEntityRepository subscriptionRepository;
+    private final PushOutboxRelay relay;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Override
+    public void write(Chunk<? extends NotificationEntity> chunk) {
+        List<PushOutboxEntity> entities = createOutboxEntities(chunk.getItems());
+        if (entities.isEmpty()) return;
+        repository.saveAll(entities);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    relay.requestDrain();
+                }
+            });
+        } else {
+            relay.requestDrain();
+        }
+    }
+
+    private List<PushOutboxEntity> createOutboxEntities(List<? extends NotificationEntity> notifications) {
+        List<String> userIds = notifications.stream().map(NotificationEntity::getUserId).distinct().toList();
+        Set<String> subscribedUserIds = subscriptionRepository
+            .findAllById(userIds)
+            .stream()
+            .map(SubscriptionEntity::getUserId)
+            .collect(Collectors.toSet());
+        Instant now = Instant.now(clock);
+        List<PushOutboxEntity> entities = new ArrayList<>(notifications.size());
+        for (NotificationEntity notification : notifications) {
+            if (!subscribedUserIds.contains(notification.getUserId())) continue;
+            try {
+                String payload = objectMapper.writeValueAsString(mapToNotificationPayload(notification));
+                entities.add(new PushOutboxEntity(notification.getId(), notification.getUserId(), payload, now));
+            } catch (JsonProcessingException ex) {
+                log.error("Could not prepare push notification for {}", notification.getId(), ex);
+            }
+        }
+        return entities;
+    }
+
+    private PushNotificationPayloadWrapper mapToNotificationPayload(NotificationEntity entity) {
+        return switch (entity.getType()) {
+            case INTAKE_EVENT -> PushNotificationPayload.completable(
+                entity.getTitle(),
+                entity.getMessage(),
+                properties.applicationIconUrl(),
+                entity.getId(),
+                "Take"
+            );
+            default -> PushNotificationPayload.simple(
+                entity.getTitle(),
+                entity.getMessage(),
+                properties.applicationIconUrl()
+            );
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.notification.implementation.NotificationProperties;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.UUID;
+
+@Component
+class SchedulerLock {
+    private final SchedulerLockEntityRepository repository;
+    private final NotificationProperties.SchedulerProperties properties;
+    private final Clock clock;
+    private final String owner = ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+
+    public SchedulerLock(SchedulerLockEntityRepository repository, NotificationProperties properties, Clock clock) {
+        this.repository = repository;
+        this.properties = properties.scheduler();
+        this.clock = clock;
+    }
+
+    public boolean tryAcquire(String name, Instant lockedAt) {
+        return repository.acquire(name, lockedAt.plus(properties.lease()), lockedAt, owner) > 0;
+    }
+
+    public boolean renew(String name) {
+        Instant now = Instant.now(clock);
+        return repository.renew(name, now.plus(properties.lease()), now, owner) > 0;
+    }
+
+    public void release(String name, Instant lockedAt) {
+        Instant minimumLockedUntil = lockedAt.plus(properties.minimumLease());
+        Instant now = Instant.now(clock);
+        repository.release(name, now.isAfter(minimumLockedUntil) ? now : minimumLockedUntil, owner);
+    }
+}
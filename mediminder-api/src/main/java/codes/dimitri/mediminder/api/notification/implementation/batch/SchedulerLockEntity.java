@@ -0,0 +1,25 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "scheduler_lock")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+class SchedulerLockEntity {
+    @Id
+    private String name;
+    private Instant lockedUntil;
+    private Instant lockedAt;
+    private String lockedBy;
+}
@@ -0,0 +1,39 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+interface SchedulerLockEntityRepository extends JpaRepository<SchedulerLockEntity, String> {
+    @Modifying
+    @Transactional
+    @Query(value = """
+    insert into scheduler_lock (name, locked_until, locked_at, locked_by)
+    values (?1, ?2, ?3, ?4)
+    on conflict (name) do update
+    set locked_until = excluded.locked_until, locked_at = excluded.locked_at, locked_by = excluded.locked_by
+    where scheduler_lock.locked_until <= excluded.locked_at
+    """, nativeQuery = true)
+    int acquire(String name, Instant lockedUntil, Instant lockedAt, String lockedBy);
+
+    @Modifying
+    @Transactional
+    @Query("""
+    update SchedulerLockEntity l
+    set l.lockedUntil = ?2
+    where l.name = ?1 and l.lockedBy = ?3
+    """)
+    int release(String name, Instant lockedUntil, String lockedBy);
+
+    @Modifying
+    @Transactional
+    @Query("""
+    update SchedulerLockEntity l
+    set l.lockedUntil = ?2
+    where l.name = ?1 and l.lockedBy = ?4 and l.lockedUntil > ?3
+    """)
+    int renew(String name, Instant lockedUntil, Instant now, String lockedBy);
+}
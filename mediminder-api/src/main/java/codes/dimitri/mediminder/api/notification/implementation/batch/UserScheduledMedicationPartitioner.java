@@ -0,0 +1,31 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.schedule.ScheduleManager;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Component
+@StepScope
+class UserScheduledMedicationPartitioner extends KeyRangePartitioner<UserScheduledMedicationReader.Key> {
+    private final ScheduleManager scheduleManager;
+    private final LocalDate today;
+
+    public UserScheduledMedicationPartitioner(ScheduleManager scheduleManager, @Value("#{jobParameters['date']}") LocalDateTime date) {
+        this.scheduleManager = scheduleManager;
+        this.today = date.toLocalDate();
+    }
+
+    @Override
+    protected List<UserScheduledMedicationReader.Key> findLastKeys(int gridSize) {
+        return scheduleManager
+            .findAllUserScheduledMedicationBoundariesOnDate(today, gridSize)
+            .stream()
+            .map(UserScheduledMedicationReader.Key::of)
+            .toList();
+    }
+}
@@ -1,42 +1,79 @@
 package codes.dimitri.mediminder.api.notification.implementation.batch;
 
+import codes.dimitri.mediminder.api.notification.implementation.NotificationProperties;
+import codes.dimitri.mediminder.api.notification.implementation.UserScheduledMedication;
 import codes.dimitri.mediminder.api.schedule.ScheduleManager;
 import codes.dimitri.mediminder.api.schedule.UserScheduledMedicationDTO;
-import lombok.RequiredArgsConstructor;
-import org.springframework.batch.core.StepExecution;
-import org.springframework.batch.core.annotation.BeforeStep;
-import org.springframework.batch.item.database.AbstractPagingItemReader;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import codes.dimitri.mediminder.api.user.UserManager;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Component;
 
+import java.io.Serializable;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Objects;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
-class UserScheduledMedicationReader extends AbstractPagingItemReader<UserScheduledMedicationDTO> {
+@StepScope
+class UserScheduledMedicationReader extends KeysetItemReader<UserScheduledMedication, UserScheduledMedicationReader.Key> {
     private final ScheduleManager scheduleManager;
-    private LocalDate today;
+    private final UserManager userManager;
+    private final Clock clock;
+    private final LocalDate today;
+    private final Key untilKey;
+
+    public UserScheduledMedicationReader(
+        ScheduleManager scheduleManager,
+        UserManager userManager,
+        Clock clock,
+        NotificationProperties properties,
+        @Value("#{jobParameters['date']}") LocalDateTime date,
+        @Value("#{stepExecutionContext['afterKey']}") Key afterKey,
+        @Value("#{stepExecutionContext['untilKey']}") Key untilKey) {
+        super(afterKey);
+        this.scheduleManager = scheduleManager;
+        this.userManager = userManager;
+        this.clock = clock;
+        this.today = date.toLocalDate();
+        this.untilKey = untilKey;
+        setPageSize(properties.chunkSize());
+    }
 
     @Override
-    protected void doReadPage() {
-        if (results == null) results = new CopyOnWriteArrayList<>();
-        else results.clear();
-        var pageRequest = PageRequest.of(getPage(), getPageSize());
-        Page<UserScheduledMedicationDTO> page = scheduleManager.findAllUserScheduledMedicationOnDate(today, pageRequest);
-        results.addAll(page.getContent());
+    protected Slice<UserScheduledMedication> readSlice(Key afterKey, int size) {
+        Slice<UserScheduledMedicationDTO> slice = scheduleManager.findAllUserScheduledMedicationOnDate(
+            today,
+            afterKey == null ? null : afterKey.userId(),
+            afterKey == null ? null : afterKey.medicationId(),
+            untilKey == null ? null : untilKey.userId(),
+            untilKey == null ? null : untilKey.medicationId(),
+            Limit.of(size));
+        Set<String> userIds = slice.stream().map(UserScheduledMedicationDTO::userId).collect(Collectors.toSet());
+        Map<String, ZoneId> timezones = userManager.findTimezonesForUsers(userIds);
+        Map<ZoneId, LocalDate> todayPerTimezone = new HashMap<>();
+        return slice.map(item -> new UserScheduledMedication(
+            item.userId(),
+            item.medicationId(),
+            todayPerTimezone.computeIfAbsent(timezones.get(item.userId()), timezone -> LocalDate.now(clock.withZone(timezone)))));
     }
 
-    @BeforeStep
-    void initialize(StepExecution stepExecution) {
-        LocalDateTime date = stepExecution
-            .getJobExecution()
-            .getJobParameters()
-            .getLocalDateTime("date");
-        Objects.requireNonNull(date);
-        this.today = date.toLocalDate();
+    @Override
+    protected Key extractKey(UserScheduledMedication item) {
+        return new Key(item.userId(), item.medicationId());
+    }
+
+    record Key(String userId, UUID medicationId) implements Serializable {
+        static Key of(UserScheduledMedicationDTO item) {
+            return new Key(item.userId(), item.medicationId());
+        }
     }
 }
@@ -1,6 +1,7 @@
 package codes.dimitri.mediminder.api.planner.implementation;
 
 import codes.dimitri.mediminder.api.cabinet.CabinetEntryManager;
+import codes.dimitri.mediminder.api.medication.MedicationDTO;
 import codes.dimitri.mediminder.api.medication.MedicationManager;
 import codes.dimitri.mediminder.api.planner.InvalidPlannerException;
 import codes.dimitri.mediminder.api.planner.MedicationPlannerDTO;
@@ -20,6 +21,9 @@ import org.springframework.validation.annotation.Validated;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Service
 @Validated
@@ -36,13 +40,14 @@ class PlannerManagerImpl implements PlannerManager {
         UserDTO user = findCurrentUser();
         LocalDate today = userManager.calculateTodayForUser(user.id()).toLocalDate();
         SchedulePeriodDTO period = new SchedulePeriodDTO(today, targetDate);
-        return medicationManager
-            .findAllForCurrentUser(null, pageable)
-            .map(medication -> {
-                BigDecimal availableDoses = cabinetEntryManager.calculateTotalRemainingDosesByMedicationId(medication.id());
-                BigDecimal requiredDoses = scheduleManager.calculateRequiredDoses(medication.id(), period);
-                return new MedicationPlannerDTO(medication, availableDoses, requiredDoses);
-            });
+        Page<MedicationDTO> medications = medicationManager.findAllForCurrentUser(null, pageable);
+        List<UUID> medicationIds = medications.map(MedicationDTO::id).toList();
+        Map<UUID, BigDecimal> availableDoses = cabinetEntryManager.calculateTotalRemainingDosesByMedicationIds(medicationIds);
+        Map<UUID, BigDecimal> requiredDoses = scheduleManager.calculateRequiredDosesByMedicationIds(medicationIds, period);
+        return medications.map(medication -> new MedicationPlannerDTO(
+            medication,
+            availableDoses.getOrDefault(medication.id(), BigDecimal.ZERO),
+            requiredDoses.getOrDefault(medication.id(), BigDecimal.ZERO)));
     }
 
     private UserDTO findCurrentUser() {
@@ -0,0 +1,14 @@
+package codes.dimitri.mediminder.api.schedule;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record CompleteEventRequestDTO(
+    @NotNull(message = "Schedule is required")
+    UUID scheduleId,
+    @NotNull(message = "Target date is required")
+    LocalDate targetDate
+) {
+}
@@ -0,0 +1,9 @@
+package codes.dimitri.mediminder.api.schedule;
+
+import java.util.List;
+
+public record CompleteEventsResultDTO(
+    List<EventDTO> completed,
+    List<EventConflictDTO> conflicts
+) {
+}
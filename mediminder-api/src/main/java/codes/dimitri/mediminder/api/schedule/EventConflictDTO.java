@@ -0,0 +1,11 @@
+package codes.dimitri.mediminder.api.schedule;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record EventConflictDTO(
+    UUID scheduleId,
+    LocalDate targetDate,
+    String reason
+) {
+}
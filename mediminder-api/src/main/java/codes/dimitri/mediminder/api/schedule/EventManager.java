@@ -1,6 +1,8 @@
 package codes.dimitri.mediminder.api.schedule;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
@@ -12,9 +14,14 @@ public interface EventManager {
 
     List<EventDTO> findAll(@NotNull LocalDate targetDate, @NotNull String userId);
 
+    List<EventDTO> findAllInRange(@NotNull LocalDate from, @NotNull LocalDate untilInclusive);
+
     @Transactional
     EventDTO complete(@NotNull UUID scheduleId, @NotNull LocalDate targetDate);
 
+    @Transactional
+    CompleteEventsResultDTO completeAll(@NotNull @Size(max = 500, message = "Cannot complete more than {max} events at once") List<@NotNull @Valid CompleteEventRequestDTO> requests);
+
     @Transactional
     void uncomplete(@NotNull UUID eventId);
 }
@@ -0,0 +1,12 @@
+package codes.dimitri.mediminder.api.schedule;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+public record EventsCompletedEvent(
+    String userId,
+    Set<UUID> scheduleIds,
+    Map<UUID, BigDecimal> dosesByMedicationId) {
+}
@@ -2,12 +2,20 @@ package codes.dimitri.mediminder.api.schedule;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface ScheduleManager {
@@ -29,7 +37,21 @@ public interface ScheduleManager {
 
     BigDecimal calculateRequiredDoses(@NotNull UUID medicationId, @NotNull @Valid SchedulePeriodDTO period);
 
+    Map<UUID, BigDecimal> calculateRequiredDosesByMedicationIds(@NotNull Collection<UUID> medicationIds, @NotNull @Valid SchedulePeriodDTO period);
+
     ScheduleDTO findByIdForCurrentUser(@NotNull UUID id);
 
     Page<UserScheduledMedicationDTO> findAllUserScheduledMedicationOnDate(@NotNull LocalDate targetDate, @NotNull Pageable pageable);
+
+    Slice<UserScheduledMedicationDTO> findAllUserScheduledMedicationOnDate(@NotNull LocalDate targetDate, String afterUserId, UUID afterMedicationId, String untilUserId, UUID untilMedicationId, @NotNull Limit limit);
+
+    List<UserScheduledMedicationDTO> findAllUserScheduledMedicationBoundariesOnDate(@NotNull LocalDate targetDate, @Positive int count);
+
+    Slice<ScheduleReminderDTO> findAllDueReminders(@NotNull Instant until, Instant afterReminderAt, UUID afterScheduleId, @NotNull Limit limit);
+
+    @Transactional
+    void advanceReminders(@NotNull Collection<ScheduleReminderDTO> reminders);
+
+    @Transactional
+    void recalculateRemindersForUser(@NotNull String userId, @NotNull ZoneId timezone);
 }
@@ -0,0 +1,16 @@
+package codes.dimitri.mediminder.api.schedule;
+
+import codes.dimitri.mediminder.api.medication.MedicationDTO;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.util.UUID;
+
+public record ScheduleReminderDTO(
+    UUID scheduleId,
+    String userId,
+    MedicationDTO medication,
+    LocalTime time,
+    Instant reminderAt
+) {
+}
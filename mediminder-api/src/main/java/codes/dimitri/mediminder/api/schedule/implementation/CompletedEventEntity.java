@@ -1,5 +1,6 @@
 package codes.dimitri.mediminder.api.schedule.implementation;
 
+import codes.dimitri.mediminder.api.common.AssignedIdEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -16,7 +17,7 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-class CompletedEventEntity {
+class CompletedEventEntity extends AssignedIdEntity<UUID> {
     @Id
     private UUID id;
     private String userId;
@@ -26,14 +27,4 @@ class CompletedEventEntity {
     private LocalDateTime targetDate;
     private LocalDateTime completedDate;
     private BigDecimal dose;
-
-    public CompletedEventEntity(String userId, ScheduleEntity schedule, LocalDateTime targetDate, LocalDateTime completedDate, BigDecimal dose) {
-        this.id = UUID.randomUUID();
-        this.userId = userId;
-        this.schedule = schedule;
-        this.targetDate = targetDate;
-        this.completedDate = completedDate;
-        this.dose = dose;
-        this.schedule.getCompletedEvents().add(this);
-    }
 }
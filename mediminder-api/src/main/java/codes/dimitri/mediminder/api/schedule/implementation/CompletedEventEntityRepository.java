@@ -4,13 +4,15 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 interface CompletedEventEntityRepository extends JpaRepository<CompletedEventEntity, UUID> {
-    @Query("select e from CompletedEventEntity e where e.userId = ?1 and e.targetDate >= ?2 and e.targetDate < ?3")
+    @Query("select e from CompletedEventEntity e join fetch e.schedule where e.userId = ?1 and e.targetDate >= ?2 and e.targetDate < ?3")
     List<CompletedEventEntity> findByUserIdAndTargetDate(String userId, LocalDateTime targetDateStart, LocalDateTime targetDateEnd);
     Optional<CompletedEventEntity> findByIdAndUserId(UUID id, String userId);
-    boolean existsByScheduleIdAndTargetDate(UUID scheduleId, LocalDateTime targetDate);
+    List<CompletedEventEntity> findAllByScheduleIdInAndTargetDateIn(Collection<UUID> scheduleIds, Collection<LocalDateTime> targetDates);
+    List<CompletedEventEntity> findAllByScheduleIdInAndTargetDateGreaterThanEqual(Collection<UUID> scheduleIds, LocalDateTime targetDate);
 }
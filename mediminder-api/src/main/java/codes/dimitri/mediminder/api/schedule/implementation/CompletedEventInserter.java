@@ -0,0 +1,50 @@
+package codes.dimitri.mediminder.api.schedule.implementation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+class CompletedEventInserter {
+    private static final String INSERT = """
+        insert into completed_event (id, user_id, schedule_id, target_date, completed_date, dose)
+        values (?, ?, ?, ?, ?, ?)
+        on conflict (schedule_id, target_date) do nothing
+        """;
+    private final JdbcTemplate jdbcTemplate;
+
+    public boolean insertIfNotCompleted(CompletedEventEntity entity) {
+        return jdbcTemplate.update(INSERT, statement -> setValues(statement, entity)) > 0;
+    }
+
+    public Set<UUID> insertAllIfNotCompleted(List<CompletedEventEntity> entities) {
+        if (entities.isEmpty()) return Set.of();
+        int[] rowCounts = Arrays
+            .stream(jdbcTemplate.batchUpdate(INSERT, entities, entities.size(), CompletedEventInserter::setValues))
+            .flatMapToInt(Arrays::stream)
+            .toArray();
+        Set<UUID> insertedIds = new HashSet<>();
+        for (int index = 0; index < entities.size(); index++) {
+            if (rowCounts[index] != 0) insertedIds.add(entities.get(index).getId());
+        }
+        return insertedIds;
+    }
+
+    private static void setValues(PreparedStatement statement, CompletedEventEntity entity) throws SQLException {
+        statement.setObject(1, entity.getId());
+        statement.setString(2, entity.getUserId());
+        statement.setObject(3, entity.getSchedule().getId());
+        statement.setObject(4, entity.getTargetDate());
+        statement.setObject(5, entity.getCompletedDate());
+        statement.setBigDecimal(6, entity.getDose());
+    }
+}
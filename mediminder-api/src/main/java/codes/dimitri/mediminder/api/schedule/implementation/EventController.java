@@ -25,12 +25,22 @@ class EventController {
         return manager.findAll(targetDate);
     };
 
+    @GetMapping("/api/event")
+    public List<EventDTO> findAllInRange(@RequestParam LocalDate from, @RequestParam LocalDate to) {
+        return manager.findAllInRange(from, to);
+    }
+
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping("/api/schedule/{scheduleId}/event/{targetDate}")
     public EventDTO complete(@PathVariable UUID scheduleId, @PathVariable LocalDate targetDate) {
         return manager.complete(scheduleId, targetDate);
     }
 
+    @PostMapping("/api/event/batch")
+    public CompleteEventsResultDTO completeAll(@RequestBody List<CompleteEventRequestDTO> request) {
+        return manager.completeAll(request);
+    }
+
     @ResponseStatus(HttpStatus.NO_CONTENT)
     @DeleteMapping("/api/event/{eventId}")
     public void delete(@PathVariable UUID eventId) {
@@ -7,7 +7,9 @@ import codes.dimitri.mediminder.api.schedule.*;
 import codes.dimitri.mediminder.api.user.CurrentUserNotFoundException;
 import codes.dimitri.mediminder.api.user.UserDTO;
 import codes.dimitri.mediminder.api.user.UserManager;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
@@ -15,11 +17,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.Collection;
-import java.util.List;
-import java.util.UUID;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.util.Comparator.comparing;
@@ -29,12 +33,16 @@ import static java.util.Comparator.comparing;
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 class EventManagerImpl implements EventManager {
+    private static final int MAX_RANGE_IN_DAYS = 366;
+    private static final String ALREADY_COMPLETED = "Event is already completed";
     private final MedicationManager medicationManager;
     private final UserManager userManager;
     private final CompletedEventEntityRepository repository;
     private final ScheduleEntityRepository scheduleRepository;
     private final EventMapper mapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final ScheduleReminderCalculator reminderCalculator;
+    private final CompletedEventInserter inserter;
 
     @Override
     public List<EventDTO> findAll(@NotNull LocalDate targetDate) {
@@ -44,10 +52,23 @@ class EventManagerImpl implements EventManager {
 
     @Override
     public List<EventDTO> findAll(LocalDate targetDate, String userId) {
-        List<EventDTO> completedEvents = findAllCompletedEventDTOs(targetDate, userId);
-        List<UUID> completedScheduleIds = findCompletedScheduleIds(completedEvents);
-        List<EventDTO> uncompletedEvents = findAllUncompletedEventDTOs(targetDate, userId, completedScheduleIds);
-        return combineAndSortEvents(completedEvents, uncompletedEvents);
+        return findAllInRange(targetDate, targetDate, userId);
+    }
+
+    @Override
+    public List<EventDTO> findAllInRange(@NotNull LocalDate from, @NotNull LocalDate untilInclusive) {
+        validateRange(from, untilInclusive);
+        UserDTO user = findCurrentUser();
+        return findAllInRange(from, untilInclusive, user.id());
+    }
+
+    private List<EventDTO> findAllInRange(LocalDate from, LocalDate untilInclusive, String userId) {
+        List<CompletedEventEntity> completedEvents = findAllCompletedEvents(from, untilInclusive, userId);
+        List<ScheduleEntity> schedules = findAllSchedules(from, untilInclusive, userId);
+        Map<UUID, MedicationDTO> medications = findMedications(findMedicationIds(completedEvents, schedules), userId);
+        List<EventDTO> completedEventDTOs = mapCompletedEvents(completedEvents, medications);
+        List<EventDTO> uncompletedEventDTOs = mapUncompletedEvents(schedules, from, untilInclusive, findCompletedOccurrences(completedEvents), medications);
+        return combineAndSortEvents(completedEventDTOs, uncompletedEventDTOs);
     }
 
     @Override
@@ -57,18 +78,98 @@ class EventManagerImpl implements EventManager {
         LocalDateTime today = userManager.calculateTodayForUser(user.id());
         ScheduleEntity schedule = findScheduleEntity(scheduleId, user);
         MedicationDTO medication = findMedicationOrThrowException(schedule.getMedicationId());
-        LocalDateTime targetDateTime = LocalDateTime.of(targetDate, schedule.getTime());
         if (!schedule.isHappeningAt(targetDate)) throw new EventNotFoundException(scheduleId, targetDate);
-        validateNotYetCompleted(scheduleId, targetDateTime);
-        CompletedEventEntity entity = new CompletedEventEntity(
+        CompletedEventEntity entity = createCompletedEvent(schedule, targetDate, user, today);
+        if (!inserter.insertIfNotCompleted(entity)) throw new InvalidEventException(ALREADY_COMPLETED);
+        publishCompletionEvent(entity);
+        reminderCalculator.recalculate(schedule, user.timezone(), today.toLocalDate());
+        return mapper.toDTOFromCompletedEvent(entity, medication);
+    }
+
+    @Override
+    @Transactional
+    public CompleteEventsResultDTO completeAll(@NotNull @Size(max = 500, message = "Cannot complete more than {max} events at once") List<@NotNull @Valid CompleteEventRequestDTO> requests) {
+        UserDTO user = findCurrentUser();
+        LocalDateTime today = userManager.calculateTodayForUser(user.id());
+        Map<UUID, ScheduleEntity> schedules = findScheduleEntities(requests, user);
+        Map<UUID, MedicationDTO> medications = findMedications(findMedicationIds(schedules.values()), user.id());
+        Set<Occurrence> completedOccurrences = findCompletedOccurrences(requests, schedules);
+        List<EventCompletion> completions = requests
+            .stream()
+            .map(request -> findConflict(request, schedules, medications, completedOccurrences)
+                .map(reason -> new EventCompletion(request, null, reason))
+                .orElseGet(() -> new EventCompletion(request, createCompletedEvent(schedules.get(request.scheduleId()), request.targetDate(), user, today), null)))
+            .toList();
+        List<CompletedEventEntity> entities = completions.stream().map(EventCompletion::entity).filter(Objects::nonNull).toList();
+        Set<UUID> insertedIds = inserter.insertAllIfNotCompleted(entities);
+        List<CompletedEventEntity> insertedEntities = entities.stream().filter(entity -> insertedIds.contains(entity.getId())).toList();
+        List<EventConflictDTO> conflicts = completions
+            .stream()
+            .filter(completion -> !completion.isInserted(insertedIds))
+            .map(completion -> new EventConflictDTO(completion.request().scheduleId(), completion.request().targetDate(), completion.conflictReason()))
+            .toList();
+        reminderCalculator.recalculate(findSchedules(insertedEntities), user.timezone(), today.toLocalDate());
+        publishCompletionEvent(insertedEntities, user);
+        List<EventDTO> completed = insertedEntities
+            .stream()
+            .map(entity -> mapper.toDTOFromCompletedEvent(entity, medications.get(entity.getSchedule().getMedicationId())))
+            .toList();
+        return new CompleteEventsResultDTO(completed, conflicts);
+    }
+
+    private Map<UUID, ScheduleEntity> findScheduleEntities(List<CompleteEventRequestDTO> requests, UserDTO user) {
+        Set<UUID> ids = requests.stream().map(CompleteEventRequestDTO::scheduleId).collect(Collectors.toSet());
+        return scheduleRepository
+            .findAllByIdInAndUserId(ids, user.id())
+            .stream()
+            .collect(Collectors.toMap(ScheduleEntity::getId, Function.identity()));
+    }
+
+    private static Set<UUID> findMedicationIds(Collection<ScheduleEntity> schedules) {
+        return schedules.stream().map(ScheduleEntity::getMedicationId).collect(Collectors.toSet());
+    }
+
+    private Set<Occurrence> findCompletedOccurrences(List<CompleteEventRequestDTO> requests, Map<UUID, ScheduleEntity> schedules) {
+        Set<LocalDateTime> targetDates = requests
+            .stream()
+            .filter(request -> schedules.containsKey(request.scheduleId()))
+            .map(request -> LocalDateTime.of(request.targetDate(), schedules.get(request.scheduleId()).getTime()))
+            .collect(Collectors.toSet());
+        if (targetDates.isEmpty()) return new HashSet<>();
+        return new HashSet<>(findCompletedOccurrences(repository.findAllByScheduleIdInAndTargetDateIn(schedules.keySet(), targetDates)));
+    }
+
+    private static Optional<String> findConflict(CompleteEventRequestDTO request, Map<UUID, ScheduleEntity> schedules, Map<UUID, MedicationDTO> medications, Set<Occurrence> completedOccurrences) {
+        ScheduleEntity schedule = schedules.get(request.scheduleId());
+        if (schedule == null) return Optional.of(new ScheduleNotFoundException(request.scheduleId()).getMessage());
+        if (!medications.containsKey(schedule.getMedicationId())) return Optional.of("Medication is not found");
+        if (!schedule.isHappeningAt(request.targetDate())) return Optional.of(new EventNotFoundException(request.scheduleId(), request.targetDate()).getMessage());
+        if (!completedOccurrences.add(new Occurrence(schedule.getId(), request.targetDate()))) return Optional.of(ALREADY_COMPLETED);
+        return Optional.empty();
+    }
+
+    private static CompletedEventEntity createCompletedEvent(ScheduleEntity schedule, LocalDate targetDate, UserDTO user, LocalDateTime today) {
+        return new CompletedEventEntity(
+            UUID.randomUUID(),
             user.id(),
             schedule,
-            targetDateTime,
+            LocalDateTime.of(targetDate, schedule.getTime()),
             today,
             schedule.getDose()
         );
-        publishCompletionEvent(entity);
-        return mapper.toDTOFromCompletedEvent(repository.save(entity), medication);
+    }
+
+    private static Set<ScheduleEntity> findSchedules(List<CompletedEventEntity> entities) {
+        return entities.stream().map(CompletedEventEntity::getSchedule).collect(Collectors.toSet());
+    }
+
+    private void publishCompletionEvent(List<CompletedEventEntity> entities, UserDTO user) {
+        if (entities.isEmpty()) return;
+        Set<UUID> scheduleIds = entities.stream().map(entity -> entity.getSchedule().getId()).collect(Collectors.toSet());
+        Map<UUID, BigDecimal> dosesByMedicationId = entities.stream().collect(Collectors.groupingBy(
+            entity -> entity.getSchedule().getMedicationId(),
+            Collectors.reducing(BigDecimal.ZERO, CompletedEventEntity::getDose, BigDecimal::add)));
+        eventPublisher.publishEvent(new EventsCompletedEvent(user.id(), scheduleIds, dosesByMedicationId));
     }
 
     private void publishCompletionEvent(CompletedEventEntity entity) {
@@ -82,6 +183,8 @@ class EventManagerImpl implements EventManager {
         UserDTO currentUser = findCurrentUser();
         CompletedEventEntity entity = findCompletedEvent(eventId, currentUser);
         repository.delete(entity);
+        LocalDateTime today = userManager.calculateTodayForUser(currentUser.id());
+        reminderCalculator.recalculate(entity.getSchedule(), currentUser.timezone(), today.toLocalDate());
         publishUncompletionEvent(entity);
     }
 
@@ -98,16 +201,50 @@ class EventManagerImpl implements EventManager {
         }
     }
 
-    private List<EventDTO> findAllCompletedEventDTOs(LocalDate date, String userId) {
-        LocalDateTime start = date.atStartOfDay();
-        LocalDateTime end = date.plusDays(1).atStartOfDay();
-        return repository
-            .findByUserIdAndTargetDate(userId, start, end)
+    private List<CompletedEventEntity> findAllCompletedEvents(LocalDate from, LocalDate untilInclusive, String userId) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = untilInclusive.plusDays(1).atStartOfDay();
+        return repository.findByUserIdAndTargetDate(userId, start, end);
+    }
+
+    private List<ScheduleEntity> findAllSchedules(LocalDate from, LocalDate untilInclusive, String userId) {
+        Specification<ScheduleEntity> query = Specification.allOf(
+            ScheduleSpecifications.userId(userId),
+            ScheduleSpecifications.overlapping(from, untilInclusive)
+        );
+        return scheduleRepository.findAll(query);
+    }
+
+    private static Set<UUID> findMedicationIds(List<CompletedEventEntity> completedEvents, List<ScheduleEntity> schedules) {
+        return Stream
+            .concat(
+                completedEvents.stream().map(event -> event.getSchedule().getMedicationId()),
+                schedules.stream().map(ScheduleEntity::getMedicationId))
+            .collect(Collectors.toSet());
+    }
+
+    private static Set<Occurrence> findCompletedOccurrences(List<CompletedEventEntity> completedEvents) {
+        return completedEvents
             .stream()
-            .map(event -> {
-                MedicationDTO medication = findMedication(event.getSchedule().getMedicationId(), userId);
-                return mapper.toDTOFromCompletedEvent(event, medication);
-            })
+            .map(event -> new Occurrence(event.getSchedule().getId(), event.getTargetDate().toLocalDate()))
+            .collect(Collectors.toSet());
+    }
+
+    private List<EventDTO> mapCompletedEvents(List<CompletedEventEntity> completedEvents, Map<UUID, MedicationDTO> medications) {
+        return completedEvents
+            .stream()
+            .map(event -> mapper.toDTOFromCompletedEvent(event, medications.get(event.getSchedule().getMedicationId())))
+            .toList();
+    }
+
+    private List<EventDTO> mapUncompletedEvents(List<ScheduleEntity> schedules, LocalDate from, LocalDate untilInclusive, Set<Occurrence> completedOccurrences, Map<UUID, MedicationDTO> medications) {
+        return schedules
+            .stream()
+            .flatMap(schedule -> schedule
+                .calculateOccurrencesInPeriod(from, untilInclusive)
+                .stream()
+                .filter(date -> !completedOccurrences.contains(new Occurrence(schedule.getId(), date)))
+                .map(date -> mapper.toDTOFromUncompletedSchedule(schedule, LocalDateTime.of(date, schedule.getTime()), medications.get(schedule.getMedicationId()))))
             .toList();
     }
 
@@ -125,38 +262,14 @@ class EventManagerImpl implements EventManager {
     }
 
 
-    private List<EventDTO> findAllUncompletedEventDTOs(LocalDate date, String userId, Collection<UUID> completedScheduleIds) {
-        Specification<ScheduleEntity> query = Specification.allOf(
-            ScheduleSpecifications.userId(userId),
-            ScheduleSpecifications.onlyActive(true, date)
-        );
-        List<ScheduleEntity> schedules = scheduleRepository.findAll(query);
-        return schedules.stream()
-            .filter(schedule -> !completedScheduleIds.contains(schedule.getId()))
-            .filter(entity -> entity.isHappeningAt(date))
-            .map(entity -> {
-                MedicationDTO medication = findMedication(entity.getMedicationId(), userId);
-                return mapper.toDTOFromUncompletedSchedule(entity, LocalDateTime.of(date, entity.getTime()), medication);
-            })
-            .toList();
-    }
-
-    private List<UUID> findCompletedScheduleIds(List<EventDTO> completedEvents) {
-        return completedEvents.stream().map(EventDTO::scheduleId).distinct().toList();
-    }
-
     private ScheduleEntity findScheduleEntity(UUID id, UserDTO currentUser) {
         return scheduleRepository
             .findByIdAndUserId(id, currentUser.id())
             .orElseThrow(() -> new ScheduleNotFoundException(id));
     }
 
-    private MedicationDTO findMedication(UUID medicationId, String userId) {
-        try {
-            return medicationManager.findByIdAndUserId(medicationId, userId);
-        } catch (MedicationNotFoundException ex) {
-            return null;
-        }
+    private Map<UUID, MedicationDTO> findMedications(Collection<UUID> medicationIds, String userId) {
+        return medicationManager.findAllByIdsAndUserId(medicationIds, userId);
     }
 
     private MedicationDTO findMedicationOrThrowException(UUID medicationid) {
@@ -167,9 +280,25 @@ class EventManagerImpl implements EventManager {
         }
     }
 
-    private void validateNotYetCompleted(UUID scheduleId, LocalDateTime targetDate) {
-        if (repository.existsByScheduleIdAndTargetDate(scheduleId, targetDate)) {
-            throw new InvalidEventException("Event is already completed");
+    private static void validateRange(LocalDate from, LocalDate untilInclusive) {
+        if (from.isAfter(untilInclusive)) {
+            throw new InvalidEventException("The start of the range cannot be after the end");
+        }
+        if (ChronoUnit.DAYS.between(from, untilInclusive) >= MAX_RANGE_IN_DAYS) {
+            throw new InvalidEventException("The range cannot contain more than " + MAX_RANGE_IN_DAYS + " days");
+        }
+    }
+
+    private record Occurrence(UUID scheduleId, LocalDate date) {
+    }
+
+    private record EventCompletion(CompleteEventRequestDTO request, CompletedEventEntity entity, String reason) {
+        boolean isInserted(Set<UUID> insertedIds) {
+            return entity != null && insertedIds.contains(entity.getId());
+        }
+
+        String conflictReason() {
+            return entity == null ? reason : ALREADY_COMPLETED;
         }
     }
 }
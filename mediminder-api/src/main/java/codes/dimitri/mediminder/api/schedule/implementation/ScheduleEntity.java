@@ -1,5 +1,6 @@
 package codes.dimitri.mediminder.api.schedule.implementation;
 
+import codes.dimitri.mediminder.api.common.AssignedIdEntity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -7,13 +8,17 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Period;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Entity
 @Table(name = "schedule")
@@ -21,7 +26,7 @@ import java.util.UUID;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-public class ScheduleEntity {
+public class ScheduleEntity extends AssignedIdEntity<UUID> {
     @Id
     private UUID id;
     private String userId;
@@ -34,13 +39,15 @@ public class ScheduleEntity {
     private BigDecimal dose;
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "schedule")
     private List<CompletedEventEntity> completedEvents;
+    private Instant nextReminderAt;
 
     public ScheduleEntity(String userId, UUID medicationId, SchedulePeriodEntity period, Period interval, LocalTime time, String description, BigDecimal dose) {
         this(UUID.randomUUID(), userId, medicationId, period, interval, time, description, dose);
+        markNew();
     }
 
     public ScheduleEntity(UUID id, String userId, UUID medicationId, SchedulePeriodEntity period, Period interval, LocalTime time, String description, BigDecimal dose) {
-        this(id, userId, medicationId, period, interval, time, description, dose, new ArrayList<>());
+        this(id, userId, medicationId, period, interval, time, description, dose, new ArrayList<>(), null);
     }
 
     public boolean isHappeningAt(LocalDate date) {
@@ -50,6 +57,28 @@ public class ScheduleEntity {
         return daysSinceStart % intervalDays == 0;
     }
 
+    public List<LocalDate> calculateOccurrencesInPeriod(LocalDate start, LocalDate endInclusive) {
+        int intervalDays = interval.getDays();
+        LocalDate actualEnd = period.getEndingAtInclusive() == null || period.getEndingAtInclusive().isAfter(endInclusive) ? endInclusive : period.getEndingAtInclusive();
+        LocalDate actualStart = start.isAfter(period.getStartingAt()) ?  start : period.getStartingAt();
+        long daysSinceStart = ChronoUnit.DAYS.between(period.getStartingAt(), actualStart);
+        LocalDate firstOccurrence = actualStart.plusDays(Math.floorMod(-daysSinceStart, intervalDays));
+        return Stream
+            .iterate(firstOccurrence, date -> !date.isAfter(actualEnd), date -> date.plusDays(intervalDays))
+            .toList();
+    }
+
+    public Optional<LocalDate> calculateNextOccurrence(LocalDate from, Set<LocalDate> excludedDates) {
+        int intervalDays = interval.getDays();
+        LocalDate actualStart = from.isAfter(period.getStartingAt()) ? from : period.getStartingAt();
+        long daysSinceStart = ChronoUnit.DAYS.between(period.getStartingAt(), actualStart);
+        return Stream
+            .iterate(actualStart.plusDays(Math.floorMod(-daysSinceStart, intervalDays)), date -> date.plusDays(intervalDays))
+            .takeWhile(date -> period.getEndingAtInclusive() == null || !date.isAfter(period.getEndingAtInclusive()))
+            .filter(date -> !excludedDates.contains(date))
+            .findFirst();
+    }
+
     public BigDecimal calculateTakenDosesInPeriod(LocalDate start, LocalDate endInclusive) {
         int intervalDays = interval.getDays();
         LocalDate actualEnd = period.getEndingAtInclusive() == null || period.getEndingAtInclusive().isAfter(endInclusive) ? endInclusive : period.getEndingAtInclusive();
@@ -2,6 +2,7 @@ package codes.dimitri.mediminder.api.schedule.implementation;
 
 import codes.dimitri.mediminder.api.medication.MedicationDTO;
 import codes.dimitri.mediminder.api.schedule.ScheduleDTO;
+import codes.dimitri.mediminder.api.schedule.ScheduleReminderDTO;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -9,4 +10,8 @@ import org.mapstruct.Mapping;
 interface ScheduleEntityMapper {
     @Mapping(source = "entity.id", target = "id")
     ScheduleDTO toDTO(ScheduleEntity entity, MedicationDTO medication);
+
+    @Mapping(source = "entity.id", target = "scheduleId")
+    @Mapping(source = "entity.nextReminderAt", target = "reminderAt")
+    ScheduleReminderDTO toReminderDTO(ScheduleEntity entity, MedicationDTO medication);
 }
@@ -1,6 +1,7 @@
 package codes.dimitri.mediminder.api.schedule.implementation;
 
 import codes.dimitri.mediminder.api.schedule.UserScheduledMedicationDTO;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,7 +9,9 @@ import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -16,14 +19,77 @@ import java.util.UUID;
 interface ScheduleEntityRepository extends JpaRepository<ScheduleEntity, UUID>, JpaSpecificationExecutor<ScheduleEntity> {
     Optional<ScheduleEntity> findByIdAndUserId(UUID id, String userId);
 
+    List<ScheduleEntity> findAllByIdInAndUserId(Collection<UUID> ids, String userId);
+
     @Query("""
         select distinct new codes.dimitri.mediminder.api.schedule.UserScheduledMedicationDTO(s.userId, s.medicationId)
         from ScheduleEntity s
         where s.period.startingAt <= ?1
         and (s.period.endingAtInclusive is null or s.period.endingAtInclusive >= ?1)
+        order by s.userId, s.medicationId
     """)
     Page<UserScheduledMedicationDTO> findAllWithUserScheduledMedicationOnDate(LocalDate date, Pageable pageable);
 
+    @Query("""
+        select distinct new codes.dimitri.mediminder.api.schedule.UserScheduledMedicationDTO(s.userId, s.medicationId)
+        from ScheduleEntity s
+        where s.period.startingAt <= ?1
+        and (s.period.endingAtInclusive is null or s.period.endingAtInclusive >= ?1)
+        order by s.userId, s.medicationId
+    """)
+    List<UserScheduledMedicationDTO> findAllWithUserScheduledMedicationOnDate(LocalDate date, Limit limit);
+
+    @Query("""
+        select distinct new codes.dimitri.mediminder.api.schedule.UserScheduledMedicationDTO(s.userId, s.medicationId)
+        from ScheduleEntity s
+        where s.period.startingAt <= ?1
+        and (s.period.endingAtInclusive is null or s.period.endingAtInclusive >= ?1)
+        and (s.userId, s.medicationId) > (?2, ?3)
+        order by s.userId, s.medicationId
+    """)
+    List<UserScheduledMedicationDTO> findAllWithUserScheduledMedicationOnDateAfter(LocalDate date, String userId, UUID medicationId, Limit limit);
+
+    @Query("""
+        select distinct new codes.dimitri.mediminder.api.schedule.UserScheduledMedicationDTO(s.userId, s.medicationId)
+        from ScheduleEntity s
+        where s.period.startingAt <= ?1
+        and (s.period.endingAtInclusive is null or s.period.endingAtInclusive >= ?1)
+        and (s.userId, s.medicationId) <= (?2, ?3)
+        order by s.userId, s.medicationId
+    """)
+    List<UserScheduledMedicationDTO> findAllWithUserScheduledMedicationOnDateUntil(LocalDate date, String untilUserId, UUID untilMedicationId, Limit limit);
+
+    @Query("""
+        select distinct new codes.dimitri.mediminder.api.schedule.UserScheduledMedicationDTO(s.userId, s.medicationId)
+        from ScheduleEntity s
+        where s.period.startingAt <= ?1
+        and (s.period.endingAtInclusive is null or s.period.endingAtInclusive >= ?1)
+        and (s.userId, s.medicationId) > (?2, ?3)
+        and (s.userId, s.medicationId) <= (?4, ?5)
+        order by s.userId, s.medicationId
+    """)
+    List<UserScheduledMedicationDTO> findAllWithUserScheduledMedicationOnDateBetween(LocalDate date, String afterUserId, UUID afterMedicationId, String untilUserId, UUID untilMedicationId, Limit limit);
+
+    @Query(value = """
+        select user_id as "userId", medication_id as "medicationId"
+        from (
+            select user_id, medication_id, tile,
+                row_number() over (partition by tile order by user_id desc, medication_id desc) as position
+            from (
+                select user_id, medication_id, ntile(?2) over (order by user_id, medication_id) as tile
+                from (
+                    select distinct user_id, medication_id
+                    from schedule
+                    where starting_at <= ?1
+                    and (ending_at_inclusive is null or ending_at_inclusive >= ?1)
+                ) items
+            ) tiles
+        ) ranges
+        where position = 1
+        order by tile
+    """, nativeQuery = true)
+    List<UserScheduledMedicationBoundary> findAllUserScheduledMedicationBoundariesOnDate(LocalDate date, int count);
+
     @Query("""
     select s from ScheduleEntity s
     where s.period.startingAt <= ?2
@@ -32,6 +98,14 @@ interface ScheduleEntityRepository extends JpaRepository<ScheduleEntity, UUID>,
     """)
     List<ScheduleEntity> findAllByMedicationIdAndDateInPeriodGroup(LocalDate from, LocalDate until, UUID medicationId);
 
+    @Query("""
+    select s from ScheduleEntity s
+    where s.period.startingAt <= ?2
+    and (s.period.endingAtInclusive is null or s.period.endingAtInclusive >= ?1)
+    and s.medicationId in ?3
+    """)
+    List<ScheduleEntity> findAllByMedicationIdsAndDateInPeriodGroup(LocalDate from, LocalDate until, Collection<UUID> medicationIds);
+
     @Modifying
     void deleteAllByMedicationId(UUID medicationId);
 
@@ -41,4 +115,21 @@ interface ScheduleEntityRepository extends JpaRepository<ScheduleEntity, UUID>,
     and (s.period.endingAtInclusive is null or s.period.endingAtInclusive >= ?1)
     """)
     Page<ScheduleEntity> findAllByOverlappingPeriod(LocalDate from, LocalDate untilInclusive, Pageable pageable);
+
+    @Query("""
+    select s from ScheduleEntity s
+    where s.nextReminderAt <= ?1
+    order by s.nextReminderAt, s.id
+    """)
+    List<ScheduleEntity> findAllWithNextReminderUntil(Instant until, Limit limit);
+
+    @Query("""
+    select s from ScheduleEntity s
+    where s.nextReminderAt <= ?1
+    and (s.nextReminderAt, s.id) > (?2, ?3)
+    order by s.nextReminderAt, s.id
+    """)
+    List<ScheduleEntity> findAllWithNextReminderUntilAfter(Instant until, Instant afterReminderAt, UUID afterId, Limit limit);
+
+    List<ScheduleEntity> findAllByUserId(String userId);
 }
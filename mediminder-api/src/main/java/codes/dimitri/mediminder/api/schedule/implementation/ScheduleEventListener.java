@@ -2,8 +2,9 @@ package codes.dimitri.mediminder.api.schedule.implementation;
 
 import codes.dimitri.mediminder.api.medication.MedicationDeletedEvent;
 import codes.dimitri.mediminder.api.schedule.ScheduleManager;
+import codes.dimitri.mediminder.api.user.UserTimezoneChangedEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.event.EventListener;
+import org.springframework.modulith.events.ApplicationModuleListener;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -11,8 +12,13 @@ import org.springframework.stereotype.Component;
 class ScheduleEventListener {
     private final ScheduleManager manager;
 
-    @EventListener
+    @ApplicationModuleListener
     public void handleMedicationDeletedEvent(MedicationDeletedEvent event) {
         manager.deleteAllByMedicationId(event.id());
     }
+
+    @ApplicationModuleListener
+    public void handleUserTimezoneChangedEvent(UserTimezoneChangedEvent event) {
+        manager.recalculateRemindersForUser(event.id(), event.timezone());
+    }
 }
@@ -1,27 +1,35 @@
 package codes.dimitri.mediminder.api.schedule.implementation;
 
+import codes.dimitri.mediminder.api.common.SliceUtilities;
 import codes.dimitri.mediminder.api.medication.MedicationDTO;
 import codes.dimitri.mediminder.api.medication.MedicationManager;
 import codes.dimitri.mediminder.api.medication.MedicationNotFoundException;
+import codes.dimitri.mediminder.api.medication.MedicationUtilities;
 import codes.dimitri.mediminder.api.schedule.*;
 import codes.dimitri.mediminder.api.user.CurrentUserNotFoundException;
 import codes.dimitri.mediminder.api.user.UserDTO;
 import codes.dimitri.mediminder.api.user.UserManager;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.UUID;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Service
 @Validated
@@ -32,11 +40,12 @@ class ScheduleManagerImpl implements ScheduleManager {
     private final MedicationManager medicationManager;
     private final UserManager userManager;
     private final ScheduleEntityMapper mapper;
+    private final ScheduleReminderCalculator reminderCalculator;
+    private final Clock clock;
 
     @Override
     public Page<ScheduleDTO> findAllForCurrentUser(UUID medicationId, boolean onlyActive, @NotNull Pageable pageable) {
-        return findAllScheduleEntities(medicationId, onlyActive, pageable)
-            .map(this::mapEntityToDTO);
+        return mapEntitiesToDTOs(findAllScheduleEntities(medicationId, onlyActive, pageable));
     }
 
     private Page<ScheduleEntity> findAllScheduleEntities(UUID medicationId, boolean onlyActive, Pageable pageable) {
@@ -65,6 +74,7 @@ class ScheduleManagerImpl implements ScheduleManager {
             request.description(),
             request.dose()
         );
+        recalculateReminder(entity, user);
         return mapper.toDTO(repository.save(entity), medication);
     }
 
@@ -80,6 +90,7 @@ class ScheduleManagerImpl implements ScheduleManager {
         entity.setPeriod(period);
         entity.setTime(request.time());
         entity.setDose(request.dose());
+        recalculateReminder(entity, user);
         return mapper.toDTO(entity, medication);
     }
 
@@ -103,6 +114,28 @@ class ScheduleManagerImpl implements ScheduleManager {
             .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
+    @Override
+    public Map<UUID, BigDecimal> calculateRequiredDosesByMedicationIds(@NotNull Collection<UUID> medicationIds, @NotNull @Valid SchedulePeriodDTO period) {
+        if (medicationIds.isEmpty()) return Map.of();
+        List<ScheduleEntity> schedules = repository.findAllByMedicationIdsAndDateInPeriodGroup(
+            period.startingAt(),
+            period.endingAtInclusive(),
+            Set.copyOf(medicationIds));
+        return schedules
+            .stream()
+            .collect(Collectors.groupingBy(
+                ScheduleEntity::getMedicationId,
+                Collectors.reducing(
+                    BigDecimal.ZERO,
+                    entity -> entity.calculateTakenDosesInPeriod(period.startingAt(), period.endingAtInclusive()),
+                    BigDecimal::add)));
+    }
+
+    private void recalculateReminder(ScheduleEntity entity, UserDTO user) {
+        LocalDateTime today = userManager.calculateTodayForUser(user.id());
+        reminderCalculator.recalculate(entity, user.timezone(), today.toLocalDate());
+    }
+
     private UserDTO findCurrentUser() {
         try {
             return userManager.findCurrentUser();
@@ -144,10 +177,87 @@ class ScheduleManagerImpl implements ScheduleManager {
     }
 
     @Override
-    public Page<ScheduleDTO> findAllWithinPeriod(@Valid @NotNull SchedulePeriodDTO period, @NotNull Pageable pageable) {
+    public Slice<UserScheduledMedicationDTO> findAllUserScheduledMedicationOnDate(@NotNull LocalDate targetDate, String afterUserId, UUID afterMedicationId, String untilUserId, UUID untilMedicationId, @NotNull Limit limit) {
+        Limit lookahead = SliceUtilities.withLookahead(limit);
+        List<UserScheduledMedicationDTO> results;
+        if (afterUserId == null && untilUserId == null) {
+            results = repository.findAllWithUserScheduledMedicationOnDate(targetDate, lookahead);
+        } else if (untilUserId == null) {
+            results = repository.findAllWithUserScheduledMedicationOnDateAfter(targetDate, afterUserId, afterMedicationId, lookahead);
+        } else if (afterUserId == null) {
+            results = repository.findAllWithUserScheduledMedicationOnDateUntil(targetDate, untilUserId, untilMedicationId, lookahead);
+        } else {
+            results = repository.findAllWithUserScheduledMedicationOnDateBetween(targetDate, afterUserId, afterMedicationId, untilUserId, untilMedicationId, lookahead);
+        }
+        return SliceUtilities.toSlice(results, limit);
+    }
+
+    @Override
+    public List<UserScheduledMedicationDTO> findAllUserScheduledMedicationBoundariesOnDate(@NotNull LocalDate targetDate, @Positive int count) {
         return repository
-            .findAllByOverlappingPeriod(period.startingAt(), period.endingAtInclusive(), pageable)
-            .map(this::mapEntityToDTO);
+            .findAllUserScheduledMedicationBoundariesOnDate(targetDate, count)
+            .stream()
+            .map(boundary -> new UserScheduledMedicationDTO(boundary.getUserId(), boundary.getMedicationId()))
+            .toList();
+    }
+
+    @Override
+    public Slice<ScheduleReminderDTO> findAllDueReminders(@NotNull Instant until, Instant afterReminderAt, UUID afterScheduleId, @NotNull Limit limit) {
+        Limit lookahead = SliceUtilities.withLookahead(limit);
+        List<ScheduleEntity> entities = afterReminderAt == null ?
+            repository.findAllWithNextReminderUntil(until, lookahead) :
+            repository.findAllWithNextReminderUntilAfter(until, afterReminderAt, afterScheduleId, lookahead);
+        Map<UUID, MedicationDTO> medications = findMedications(entities);
+        List<ScheduleReminderDTO> results = entities
+            .stream()
+            .map(entity -> mapper.toReminderDTO(entity, medications.get(entity.getMedicationId())))
+            .toList();
+        return SliceUtilities.toSlice(results, limit);
+    }
+
+    @Override
+    @Transactional
+    public void advanceReminders(@NotNull Collection<ScheduleReminderDTO> reminders) {
+        Map<UUID, Instant> reminderAts = reminders
+            .stream()
+            .collect(Collectors.toMap(ScheduleReminderDTO::scheduleId, ScheduleReminderDTO::reminderAt, (first, second) -> first));
+        List<ScheduleEntity> entities = repository
+            .findAllById(reminderAts.keySet())
+            .stream()
+            .filter(entity -> Objects.equals(entity.getNextReminderAt(), reminderAts.get(entity.getId())))
+            .toList();
+        if (entities.isEmpty()) return;
+        Set<String> userIds = entities.stream().map(ScheduleEntity::getUserId).collect(Collectors.toSet());
+        Map<String, ZoneId> timezones = userManager.findTimezonesForUsers(userIds);
+        entities
+            .stream()
+            .collect(Collectors.groupingBy(entity -> timezones.get(entity.getUserId())))
+            .forEach((timezone, timezoneEntities) -> {
+                Map<ScheduleEntity, LocalDate> startDates = new HashMap<>();
+                timezoneEntities.forEach(entity -> startDates.put(entity, LocalDate.ofInstant(entity.getNextReminderAt(), timezone).plusDays(1)));
+                reminderCalculator.recalculate(startDates, timezone);
+            });
+    }
+
+    @Override
+    @Transactional
+    public void recalculateRemindersForUser(@NotNull String userId, @NotNull ZoneId timezone) {
+        LocalDate today = LocalDate.now(clock.withZone(timezone));
+        reminderCalculator.recalculate(repository.findAllByUserId(userId), timezone, today);
+    }
+
+    @Override
+    public Page<ScheduleDTO> findAllWithinPeriod(@Valid @NotNull SchedulePeriodDTO period, @NotNull Pageable pageable) {
+        return mapEntitiesToDTOs(repository.findAllByOverlappingPeriod(period.startingAt(), period.endingAtInclusive(), pageable));
+    }
+
+    private Page<ScheduleDTO> mapEntitiesToDTOs(Page<ScheduleEntity> entities) {
+        Map<UUID, MedicationDTO> medications = findMedications(entities.getContent());
+        return entities.map(entity -> mapper.toDTO(entity, medications.get(entity.getMedicationId())));
+    }
+
+    private Map<UUID, MedicationDTO> findMedications(List<ScheduleEntity> entities) {
+        return MedicationUtilities.findAllByUserIdAndId(medicationManager, entities, ScheduleEntity::getUserId, ScheduleEntity::getMedicationId);
     }
 
     private ScheduleDTO mapEntityToDTO(ScheduleEntity entity) {
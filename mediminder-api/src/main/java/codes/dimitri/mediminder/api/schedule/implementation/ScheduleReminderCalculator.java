@@ -0,0 +1,46 @@
+package codes.dimitri.mediminder.api.schedule.implementation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+class ScheduleReminderCalculator {
+    private final CompletedEventEntityRepository completedEventRepository;
+
+    public void recalculate(ScheduleEntity schedule, ZoneId timezone, LocalDate from) {
+        recalculate(Map.of(schedule, from), timezone);
+    }
+
+    public void recalculate(Collection<ScheduleEntity> schedules, ZoneId timezone, LocalDate from) {
+        Map<ScheduleEntity, LocalDate> startDates = new HashMap<>();
+        schedules.forEach(schedule -> startDates.put(schedule, from));
+        recalculate(startDates, timezone);
+    }
+
+    public void recalculate(Map<ScheduleEntity, LocalDate> startDates, ZoneId timezone) {
+        if (startDates.isEmpty()) return;
+        Map<UUID, Set<LocalDate>> completedDates = findCompletedDates(startDates);
+        startDates.forEach((schedule, from) -> schedule.setNextReminderAt(schedule
+            .calculateNextOccurrence(from, completedDates.getOrDefault(schedule.getId(), Set.of()))
+            .map(date -> LocalDateTime.of(date, schedule.getTime()).atZone(timezone).toInstant())
+            .orElse(null)));
+    }
+
+    private Map<UUID, Set<LocalDate>> findCompletedDates(Map<ScheduleEntity, LocalDate> startDates) {
+        Set<UUID> scheduleIds = startDates.keySet().stream().map(ScheduleEntity::getId).collect(Collectors.toSet());
+        LocalDate from = Collections.min(startDates.values());
+        return completedEventRepository
+            .findAllByScheduleIdInAndTargetDateGreaterThanEqual(scheduleIds, from.atStartOfDay())
+            .stream()
+            .collect(Collectors.groupingBy(
+                event -> event.getSchedule().getId(),
+                Collectors.mapping(event -> event.getTargetDate().toLocalDate(), Collectors.toSet())));
+    }
+}
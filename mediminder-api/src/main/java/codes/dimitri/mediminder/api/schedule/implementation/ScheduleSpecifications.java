@@ -28,4 +28,14 @@ final class ScheduleSpecifications {
             )
         );
     }
+
+    public static Specification<ScheduleEntity> overlapping(LocalDate from, LocalDate untilInclusive) {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.and(
+            criteriaBuilder.lessThanOrEqualTo(root.get("period").get("startingAt"), untilInclusive),
+            criteriaBuilder.or(
+                criteriaBuilder.greaterThanOrEqualTo(root.get("period").get("endingAtInclusive"), from),
+                criteriaBuilder.isNull(root.get("period").get("endingAtInclusive"))
+            )
+        );
+    }
 }
@@ -0,0 +1,9 @@
+package codes.dimitri.mediminder.api.schedule.implementation;
+
+import java.util.UUID;
+
+interface UserScheduledMedicationBoundary {
+    String getUserId();
+
+    UUID getMedicationId();
+}
@@ -2,23 +2,32 @@ package codes.dimitri.mediminder.api.user;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Collection;
+import java.util.Map;
 
 public interface UserManager {
-    @Transactional
     UserDTO findCurrentUser();
 
     Page<UserDTO> findAll(Pageable pageable);
 
+    Slice<UserDTO> findAll(String afterId, @NotNull Limit limit);
+
     Collection<String> findAvailableTimezones(String search);
 
     LocalDateTime calculateTodayForUser(@NotNull String id);
 
+    ZoneId findTimezoneForUser(@NotNull String id);
+
+    Map<String, ZoneId> findTimezonesForUsers(@NotNull Collection<String> ids);
+
     @Transactional
     UserDTO update(@Valid @NotNull UpdateUserRequestDTO request);
 
@@ -0,0 +1,6 @@
+package codes.dimitri.mediminder.api.user;
+
+import java.time.ZoneId;
+
+public record UserTimezoneChangedEvent(String id, ZoneId timezone) {
+}
@@ -0,0 +1,41 @@
+package codes.dimitri.mediminder.api.user.implementation;
+
+import codes.dimitri.mediminder.api.user.UserDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Clock;
+import java.util.function.Function;
+
+@Component
+class CurrentUserCache extends ExpiringCache<UserDTO> {
+    private static final String ATTRIBUTE_NAME = CurrentUserCache.class.getName() + ".user";
+
+    public CurrentUserCache(UserProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        super(
+            "currentUsers",
+            properties.currentUserCache().maximumSize(),
+            properties.currentUserCache().timeToLive(),
+            clock,
+            meterRegistry);
+    }
+
+    @Override
+    public UserDTO get(String userId, Function<String, UserDTO> loader) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) return super.get(userId, loader);
+        if (attributes.getAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST) instanceof UserDTO user && user.id().equals(userId)) return user;
+        UserDTO user = super.get(userId, loader);
+        attributes.setAttribute(ATTRIBUTE_NAME, user, RequestAttributes.SCOPE_REQUEST);
+        return user;
+    }
+
+    @Override
+    public void evict(String userId) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) attributes.removeAttribute(ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+        super.evict(userId);
+    }
+}
@@ -0,0 +1,23 @@
+package codes.dimitri.mediminder.api.user.implementation;
+
+import codes.dimitri.mediminder.api.user.UserManager;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+class CurrentUserProvisioningFilter extends OncePerRequestFilter {
+    private final UserManager userManager;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (request.getUserPrincipal() instanceof JwtAuthenticationToken) userManager.findCurrentUser();
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,116 @@
+package codes.dimitri.mediminder.api.user.implementation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.function.Function;
+
+class ExpiringCache<V> {
+    private final Duration timeToLive;
+    private final Clock clock;
+    private final Map<String, CachedValue<V>> entries;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter evictionCounter;
+
+    protected ExpiringCache(String name, int maximumSize, Duration timeToLive, Clock clock, MeterRegistry meterRegistry) {
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedValue<V>> eldest) {
+                boolean full = size() > maximumSize;
+                if (full) evictionCounter.increment();
+                return full;
+            }
+        };
+        this.hitCounter = createGetsCounter(meterRegistry, name, "hit");
+        this.missCounter = createGetsCounter(meterRegistry, name, "miss");
+        this.evictionCounter = Counter
+            .builder("cache.evictions")
+            .description("The number of times the cache was full and an entry was removed")
+            .tag("cache", name)
+            .register(meterRegistry);
+        Gauge
+            .builder("cache.size", this, ExpiringCache::size)
+            .description("The number of entries in the cache")
+            .tag("cache", name)
+            .register(meterRegistry);
+    }
+
+    public V get(String userId, Function<String, V> loader) {
+        return getAll(List.of(userId), ids -> Map.of(userId, loader.apply(userId))).get(userId);
+    }
+
+    public Map<String, V> getAll(Collection<String> userIds, Function<Set<String>, Map<String, V>> loader) {
+        Map<String, V> results = new HashMap<>();
+        Set<String> missingIds = new HashSet<>();
+        Instant now = Instant.now(clock);
+        synchronized (entries) {
+            for (String userId : userIds) {
+                CachedValue<V> entry = entries.get(userId);
+                if (entry != null && entry.expiresAt().isAfter(now)) results.put(userId, entry.value());
+                else missingIds.add(userId);
+            }
+        }
+        hitCounter.increment(results.size());
+        missCounter.increment(missingIds.size());
+        if (missingIds.isEmpty()) return results;
+        Map<String, V> loaded = loader.apply(missingIds);
+        Instant expiresAt = now.plus(timeToLive);
+        synchronized (entries) {
+            loaded.forEach((userId, value) -> entries.put(userId, new CachedValue<>(value, expiresAt)));
+        }
+        results.putAll(loaded);
+        return results;
+    }
+
+    public void evict(String userId) {
+        remove(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    remove(userId);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private void remove(String userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    private int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private static Counter createGetsCounter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter
+            .builder("cache.gets")
+            .description("The number of times the cache was asked for the value of a user")
+            .tag("cache", name)
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private record CachedValue<V>(V value, Instant expiresAt) {
+    }
+}
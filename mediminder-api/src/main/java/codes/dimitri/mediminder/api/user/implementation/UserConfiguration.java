@@ -0,0 +1,13 @@
+package codes.dimitri.mediminder.api.user.implementation;
+
+import codes.dimitri.mediminder.api.user.UserManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+class UserConfiguration {
+    @Bean
+    public CurrentUserProvisioningFilter currentUserProvisioningFilter(UserManager userManager) {
+        return new CurrentUserProvisioningFilter(userManager);
+    }
+}
@@ -1,6 +1,17 @@
 package codes.dimitri.mediminder.api.user.implementation;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface UserEntityRepository extends JpaRepository<UserEntity, String> {
+    List<UserEntity> findAllByOrderByIdAsc(Limit limit);
+    List<UserEntity> findAllByIdGreaterThanOrderByIdAsc(String id, Limit limit);
+
+    @Modifying
+    @Query(value = "insert into \"user\" (id) values (?1) on conflict (id) do nothing", nativeQuery = true)
+    int insertIfNotExists(String id);
 }
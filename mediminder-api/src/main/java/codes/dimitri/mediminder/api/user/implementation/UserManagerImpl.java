@@ -1,12 +1,15 @@
 package codes.dimitri.mediminder.api.user.implementation;
 
+import codes.dimitri.mediminder.api.common.SliceUtilities;
 import codes.dimitri.mediminder.api.user.*;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -20,8 +23,13 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Validated
@@ -32,13 +40,15 @@ class UserManagerImpl implements UserManager {
     private final UserEntityRepository repository;
     private final UserEntityMapper mapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final UserTimezoneCache timezoneCache;
+    private final CurrentUserCache currentUserCache;
     private final Clock clock;
 
     @Override
     @Transactional
     public UserDTO findCurrentUser() {
-        UserEntity entity = findOrCreateCurrentUserEntity();
-        return mapper.toDTO(entity);
+        String userId = findCurrentUserId().orElseThrow(CurrentUserNotFoundException::new);
+        return currentUserCache.get(userId, this::findOrProvision);
     }
 
     @Override
@@ -46,6 +56,15 @@ class UserManagerImpl implements UserManager {
         return repository.findAll(pageable).map(mapper::toDTO);
     }
 
+    @Override
+    public Slice<UserDTO> findAll(String afterId, @NotNull Limit limit) {
+        Limit lookahead = SliceUtilities.withLookahead(limit);
+        List<UserEntity> entities = afterId == null ?
+            repository.findAllByOrderByIdAsc(lookahead) :
+            repository.findAllByIdGreaterThanOrderByIdAsc(afterId, lookahead);
+        return SliceUtilities.toSlice(entities, limit).map(mapper::toDTO);
+    }
+
     private UserEntity findOrCreateCurrentUserEntity() {
         return findCurrentUserId()
             .map(this::findOrCreate)
@@ -62,6 +81,17 @@ class UserManagerImpl implements UserManager {
         return repository.save(new UserEntity(id));
     }
 
+    private UserDTO findOrProvision(String userId) {
+        return repository
+            .findById(userId)
+            .or(() -> {
+                repository.insertIfNotExists(userId);
+                return repository.findById(userId);
+            })
+            .map(mapper::toDTO)
+            .orElseThrow(CurrentUserNotFoundException::new);
+    }
+
     private Optional<String> findCurrentUserId() {
         return Optional
             .ofNullable(SecurityContextHolder.getContext())
@@ -98,7 +128,32 @@ class UserManagerImpl implements UserManager {
         return Instant.now(clock).atZone(timezone).toLocalDateTime();
     }
 
+    @Override
+    public ZoneId findTimezoneForUser(@NotNull String id) {
+        return findUserTimezoneOrDummy(id);
+    }
+
+    @Override
+    public Map<String, ZoneId> findTimezonesForUsers(@NotNull Collection<String> ids) {
+        return timezoneCache.getAll(ids, this::findUserTimezonesOrDummy);
+    }
+
+    private Map<String, ZoneId> findUserTimezonesOrDummy(Set<String> ids) {
+        Map<String, ZoneId> timezones = new HashMap<>();
+        ids.forEach(id -> timezones.put(id, DEFAULT_TIMEZONE));
+        repository
+            .findAllById(ids)
+            .stream()
+            .filter(entity -> entity.getTimezone() != null)
+            .forEach(entity -> timezones.put(entity.getId(), entity.getTimezone()));
+        return timezones;
+    }
+
     private ZoneId findUserTimezoneOrDummy(String id) {
+        return timezoneCache.get(id, this::findUncachedUserTimezoneOrDummy);
+    }
+
+    private ZoneId findUncachedUserTimezoneOrDummy(String id) {
         return repository
             .findById(id)
             .map(UserEntity::getTimezone)
@@ -109,8 +164,14 @@ class UserManagerImpl implements UserManager {
     @Transactional
     public UserDTO update(@Valid @NotNull UpdateUserRequestDTO request) {
         UserEntity entity = findOrCreateCurrentUserEntity();
+        boolean timezoneChanged = !Objects.equals(request.timezone(), entity.getTimezone());
         entity.setName(request.name());
         entity.setTimezone(request.timezone());
+        currentUserCache.evict(entity.getId());
+        if (timezoneChanged) {
+            timezoneCache.evict(entity.getId());
+            eventPublisher.publishEvent(new UserTimezoneChangedEvent(entity.getId(), entity.getTimezone()));
+        }
         return mapper.toDTO(entity);
     }
 
@@ -119,6 +180,8 @@ class UserManagerImpl implements UserManager {
     public void deleteCurrentUser() {
         String userId = findCurrentUserId().orElseThrow(CurrentUserNotFoundException::new);
         repository.deleteById(userId);
+        timezoneCache.evict(userId);
+        currentUserCache.evict(userId);
         eventPublisher.publishEvent(new UserDeletedEvent(userId));
         SecurityContextHolder.clearContext();
     }
@@ -3,10 +3,21 @@ package codes.dimitri.mediminder.api.user.implementation;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "user")
 public record UserProperties(
     String verificationUrl,
     String passwordResetUrl,
-    @DefaultValue("noreply@mediminder.org") String noreplyAddress
+    @DefaultValue("noreply@mediminder.org") String noreplyAddress,
+    @DefaultValue TimezoneCacheProperties timezoneCache,
+    @DefaultValue CurrentUserCacheProperties currentUserCache
 ) {
+    public record TimezoneCacheProperties(
+        @DefaultValue("10000") int maximumSize,
+        @DefaultValue("5m") Duration timeToLive) { }
+
+    public record CurrentUserCacheProperties(
+        @DefaultValue("10000") int maximumSize,
+        @DefaultValue("30s") Duration timeToLive) { }
 }
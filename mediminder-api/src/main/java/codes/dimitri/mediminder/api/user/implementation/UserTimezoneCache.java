@@ -0,0 +1,19 @@
+package codes.dimitri.mediminder.api.user.implementation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+@Component
+class UserTimezoneCache extends ExpiringCache<ZoneId> {
+    public UserTimezoneCache(UserProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        super(
+            "userTimezones",
+            properties.timezoneCache().maximumSize(),
+            properties.timezoneCache().timeToLive(),
+            clock,
+            meterRegistry);
+    }
+}
@@ -0,0 +1,11 @@
+create table event_publication
+(
+    id               uuid                     not null primary key,
+    listener_id      text                     not null,
+    event_type       text                     not null,
+    serialized_event text                     not null,
+    publication_date timestamp with time zone not null,
+    completion_date  timestamp with time zone
+);
+
+create index ix_event_publication_completion_date on event_publication (completion_date);
\ No newline at end of file
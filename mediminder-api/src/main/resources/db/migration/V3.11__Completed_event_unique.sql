@@ -0,0 +1,9 @@
+delete from completed_event e
+using completed_event duplicate
+where e.schedule_id = duplicate.schedule_id
+and e.target_date = duplicate.target_date
+and (e.completed_date, e.id) > (duplicate.completed_date, duplicate.id);
+
+drop index ix_completed_event_schedule_id_target_date;
+
+alter table completed_event add constraint uq_completed_event_schedule_id_target_date unique (schedule_id, target_date);
\ No newline at end of file
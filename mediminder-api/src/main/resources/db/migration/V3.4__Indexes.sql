@@ -0,0 +1,18 @@
+create index ix_medication_user_id_name on medication (user_id, name);
+
+create index ix_cabinet_entry_user_id_medication_id on cabinet_entry (user_id, medication_id);
+create index ix_cabinet_entry_medication_id_expiry_date on cabinet_entry (medication_id, expiry_date);
+create index ix_cabinet_entry_expiry_date_remaining on cabinet_entry (expiry_date) where remaining_doses > 0;
+
+create index ix_schedule_user_id_medication_id on schedule (user_id, medication_id);
+create index ix_schedule_medication_id_starting_at on schedule (medication_id, starting_at);
+create index ix_schedule_starting_at_ending_at_inclusive on schedule (starting_at, ending_at_inclusive);
+
+create index ix_completed_event_user_id_target_date on completed_event (user_id, target_date);
+create index ix_completed_event_schedule_id_target_date on completed_event (schedule_id, target_date);
+
+create index ix_notification_user_id_type_initiator_id on notification (user_id, type, initiator_id);
+create index ix_notification_delete_at on notification (delete_at);
+
+create index ix_document_user_id_related_medication_id on document (user_id, related_medication_id);
+create index ix_document_expiry_date on document (expiry_date);
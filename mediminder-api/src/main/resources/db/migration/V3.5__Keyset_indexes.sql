@@ -0,0 +1,5 @@
+drop index ix_cabinet_entry_expiry_date_remaining;
+create index ix_cabinet_entry_expiry_date_id_remaining on cabinet_entry (expiry_date, id) where remaining_doses > 0;
+
+drop index ix_document_expiry_date;
+create index ix_document_expiry_date_id on document (expiry_date, id);
\ No newline at end of file
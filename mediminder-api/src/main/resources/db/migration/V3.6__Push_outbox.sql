@@ -0,0 +1,12 @@
+create table push_outbox
+(
+    id              uuid        not null primary key,
+    notification_id uuid        not null,
+    user_id         varchar(64) not null,
+    payload         text        not null,
+    attempts        int         not null default 0,
+    next_attempt_at timestamp   not null
+);
+
+create index ix_push_outbox_next_attempt_at on push_outbox (next_attempt_at);
+create index ix_push_outbox_user_id on push_outbox (user_id);
\ No newline at end of file
@@ -0,0 +1,7 @@
+alter table schedule add column next_reminder_at timestamp;
+
+-- Existing schedules are picked up as overdue by the next run, which moves them to their actual next reminder
+update schedule set next_reminder_at = (current_timestamp at time zone 'UTC') - interval '1 day'
+where ending_at_inclusive is null or ending_at_inclusive >= current_date;
+
+create index ix_schedule_next_reminder_at_id on schedule (next_reminder_at, id) where next_reminder_at is not null;
\ No newline at end of file
@@ -0,0 +1,7 @@
+create table scheduler_lock
+(
+    name         varchar(64)  not null primary key,
+    locked_until timestamp    not null,
+    locked_at    timestamp    not null,
+    locked_by    varchar(255) not null
+);
\ No newline at end of file
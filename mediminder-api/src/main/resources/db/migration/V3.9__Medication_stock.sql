@@ -0,0 +1,8 @@
+create table medication_stock
+(
+    medication_id   uuid    not null primary key,
+    remaining_doses decimal not null
+);
+
+insert into medication_stock (medication_id, remaining_doses)
+select medication_id, sum(remaining_doses) from cabinet_entry group by medication_id;
\ No newline at end of file
@@ -4,18 +4,21 @@ import codes.dimitri.mediminder.api.medication.MedicationDeletedEvent;
 import codes.dimitri.mediminder.api.medication.MedicationManager;
 import codes.dimitri.mediminder.api.schedule.EventCompletedEvent;
 import codes.dimitri.mediminder.api.schedule.EventUncompletedEvent;
+import codes.dimitri.mediminder.api.schedule.EventsCompletedEvent;
 import codes.dimitri.mediminder.api.user.UserManager;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.modulith.test.Scenario;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.jdbc.Sql;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,12 +29,9 @@ import static org.assertj.core.api.Assertions.assertThat;
     "spring.datasource.hikari.maximum-pool-size=2",
     "spring.datasource.hikari.minimum-idle=2"
 })
-@Transactional
 @Sql("classpath:test-data/cabinet-entries.sql")
 @Sql(value = "classpath:test-data/cleanup-cabinet-entries.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
 class CabinetEntryEventListenerTest {
-    @Autowired
-    private CabinetEntryEventListener listener;
     @Autowired
     private CabinetEntryEntityRepository repository;
     @MockitoBean
@@ -42,23 +42,24 @@ class CabinetEntryEventListenerTest {
     @Nested
     class handleMedicationDeletedEvent {
         @Test
-        void deletesEntries() {
+        void deletesEntries(Scenario scenario) {
             assertThat(repository.count()).isEqualTo(5);
             var event = new MedicationDeletedEvent(UUID.fromString("bdeb432c-c1d7-4482-ae55-19c2750b7796"));
-            listener.handleMedicationDeletedEvent(event);
-            assertThat(repository.findAll())
-                .hasSize(3)
-                .extracting(CabinetEntryEntity::getId)
-                .doesNotContain(
-                    UUID.fromString("76bef166-1628-42ed-bf7f-609551586a2f"),
-                    UUID.fromString("b993e814-394b-438c-b42e-4b97fa4d8739"));
+            scenario
+                .publish(event)
+                .andWaitForStateChange(repository::findAll, entries -> entries.size() == 3)
+                .andVerify(entries -> assertThat(entries)
+                    .extracting(CabinetEntryEntity::getId)
+                    .doesNotContain(
+                        UUID.fromString("76bef166-1628-42ed-bf7f-609551586a2f"),
+                        UUID.fromString("b993e814-394b-438c-b42e-4b97fa4d8739")));
         }
     }
 
     @Nested
     class handleEventCompletedEvent {
         @Test
-        void subtractsDoses() {
+        void subtractsDoses(Scenario scenario) {
             var event = new EventCompletedEvent(
                 UUID.randomUUID(),
                 "auth|eaf1d029d07245548734",
@@ -68,19 +69,38 @@ class CabinetEntryEventListenerTest {
                 LocalDateTime.of(2025, 3, 10, 10, 2, 0),
                 BigDecimal.ONE
             );
-            listener.handleEventCompletedEvent(event);
-            assertThat(repository
-                .findById(UUID.fromString("b993e814-394b-438c-b42e-4b97fa4d8739"))
-                .orElseThrow())
-                .extracting(CabinetEntryEntity::getRemainingDoses)
-                .isEqualTo(new BigDecimal("9"));
+            scenario
+                .publish(event)
+                .andWaitForStateChange(() -> findRemainingDoses(UUID.fromString("b993e814-394b-438c-b42e-4b97fa4d8739")), doses -> doses.compareTo(BigDecimal.TEN) != 0)
+                .andVerify(doses -> assertThat(doses).isEqualTo(new BigDecimal("9")));
+        }
+    }
+
+    @Nested
+    class handleEventsCompletedEvent {
+        @Test
+        void subtractsDosesPerMedication(Scenario scenario) {
+            var event = new EventsCompletedEvent(
+                "auth|eaf1d029d07245548734",
+                Set.of(UUID.randomUUID()),
+                Map.of(
+                    UUID.fromString("bdeb432c-c1d7-4482-ae55-19c2750b7796"), new BigDecimal("3"),
+                    UUID.fromString("65729ae5-a7b9-40a0-8299-ba26a6f05745"), new BigDecimal("5"))
+            );
+            scenario
+                .publish(event)
+                .andWaitForStateChange(() -> findRemainingDoses(UUID.fromString("b993e814-394b-438c-b42e-4b97fa4d8739")), doses -> doses.compareTo(BigDecimal.TEN) != 0)
+                .andVerify(doses -> {
+                    assertThat(doses).isEqualTo(new BigDecimal("7"));
+                    assertThat(findRemainingDoses(UUID.fromString("dc99854f-8417-47af-81a5-15f22a3bd64c"))).isEqualTo(new BigDecimal("15"));
+                });
         }
     }
 
     @Nested
     class handleEventUncompleted {
         @Test
-        void addsDoses() {
+        void addsDoses(Scenario scenario) {
             var event = new EventUncompletedEvent(
                 UUID.randomUUID(),
                 "auth|eaf1d029d07245548734",
@@ -90,12 +110,17 @@ class CabinetEntryEventListenerTest {
                 LocalDateTime.of(2025, 3, 10, 10, 2, 0),
                 BigDecimal.ONE
             );
-            listener.handleEventUncompletedEvent(event);
-            assertThat(repository
-                .findById(UUID.fromString("b993e814-394b-438c-b42e-4b97fa4d8739"))
-                .orElseThrow())
-                .extracting(CabinetEntryEntity::getRemainingDoses)
-                .isEqualTo(new BigDecimal("11"));
+            scenario
+                .publish(event)
+                .andWaitForStateChange(() -> findRemainingDoses(UUID.fromString("b993e814-394b-438c-b42e-4b97fa4d8739")), doses -> doses.compareTo(BigDecimal.TEN) != 0)
+                .andVerify(doses -> assertThat(doses).isEqualTo(new BigDecimal("11")));
         }
     }
+
+    private BigDecimal findRemainingDoses(UUID id) {
+        return repository
+            .findById(id)
+            .map(CabinetEntryEntity::getRemainingDoses)
+            .orElseThrow();
+    }
 }
\ No newline at end of file
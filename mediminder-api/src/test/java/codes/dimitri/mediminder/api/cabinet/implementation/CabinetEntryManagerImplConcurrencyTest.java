@@ -0,0 +1,57 @@
+package codes.dimitri.mediminder.api.cabinet.implementation;
+
+import codes.dimitri.mediminder.api.cabinet.CabinetEntryManager;
+import codes.dimitri.mediminder.api.medication.MedicationManager;
+import codes.dimitri.mediminder.api.user.UserManager;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static codes.dimitri.mediminder.api.shared.ConcurrencyUtilities.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+@ApplicationModuleTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:tc:postgresql:latest:///mediminder",
+    "spring.datasource.hikari.maximum-pool-size=8",
+    "spring.datasource.hikari.minimum-idle=2"
+})
+@Sql("classpath:test-data/cabinet-entries.sql")
+@Sql(value = "classpath:test-data/cleanup-cabinet-entries.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class CabinetEntryManagerImplConcurrencyTest {
+    private static final UUID MEDICATION_ID = UUID.fromString("65729ae5-a7b9-40a0-8299-ba26a6f05745");
+    @Autowired
+    private CabinetEntryManager manager;
+    @Autowired
+    private CabinetEntryEntityRepository repository;
+    @MockitoBean
+    private UserManager userManager;
+    @MockitoBean
+    private MedicationManager medicationManager;
+
+    @Nested
+    class subtractDosesByMedicationId {
+        @Test
+        void doesNotLoseConcurrentSubtractions() {
+            runConcurrently(50, () -> manager.subtractDosesByMedicationId(MEDICATION_ID, BigDecimal.ONE));
+            assertThat(repository.findAllByMedicationId(MEDICATION_ID, PageRequest.of(0, 10)))
+                .extracting(CabinetEntryEntity::getId, CabinetEntryEntity::getRemainingDoses)
+                .containsOnly(tuple(UUID.fromString("1571fd59-d40d-4db1-8739-8830bc67516f"), new BigDecimal("10")));
+        }
+
+        @Test
+        void doesNotSubtractMoreThanAvailable() {
+            runConcurrently(20, () -> manager.subtractDosesByMedicationId(MEDICATION_ID, new BigDecimal("5")));
+            assertThat(repository.findAllByMedicationId(MEDICATION_ID, PageRequest.of(0, 10))).isEmpty();
+        }
+    }
+}
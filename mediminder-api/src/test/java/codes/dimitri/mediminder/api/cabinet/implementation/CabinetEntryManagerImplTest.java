@@ -11,17 +11,24 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.modulith.test.ApplicationModuleTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -37,6 +44,7 @@ import static org.mockito.Mockito.when;
     "spring.datasource.hikari.minimum-idle=2"
 })
 @Transactional
+@RecordApplicationEvents
 @Sql("classpath:test-data/cabinet-entries.sql")
 @Sql(value = "classpath:test-data/cleanup-cabinet-entries.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
 class CabinetEntryManagerImplTest {
@@ -48,6 +56,8 @@ class CabinetEntryManagerImplTest {
     private UserManager userManager;
     @MockitoBean
     private MedicationManager medicationManager;
+    @Autowired
+    private ApplicationEvents events;
 
     @Nested
     class createForCurrentUser {
@@ -120,6 +130,60 @@ class CabinetEntryManagerImplTest {
                 ));
         }
 
+        @Test
+        void publishesStockChangedEvent() {
+            var medication = new MedicationDTO(
+                UUID.randomUUID(),
+                "Dafalgan 1g",
+                new MedicationTypeDTO("TABLET", "Tablet"),
+                new AdministrationTypeDTO("ORAL", "Oral"),
+                new DoseTypeDTO("TABLET", "tablet(s)"),
+                new BigDecimal("50"),
+                Color.RED
+            );
+            var user = new UserDTO(
+                "auth|ff9d85fcc3c505949092c",
+                "Harry Potter",
+                ZoneId.of("Europe/Brussels")
+            );
+            var request = new CreateCabinetEntryRequestDTO(
+                medication.id(),
+                new BigDecimal("30"),
+                LocalDate.of(2025, 10, 1)
+            );
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(medicationManager.findByIdForCurrentUser(medication.id())).thenReturn(medication);
+            manager.createForCurrentUser(request);
+            assertThat(events.stream(MedicationStockChangedEvent.class)).containsExactly(new MedicationStockChangedEvent(user.id(), medication.id()));
+        }
+
+        @Test
+        void updatesStock() {
+            var medication = new MedicationDTO(
+                UUID.randomUUID(),
+                "Dafalgan 1g",
+                new MedicationTypeDTO("TABLET", "Tablet"),
+                new AdministrationTypeDTO("ORAL", "Oral"),
+                new DoseTypeDTO("TABLET", "tablet(s)"),
+                new BigDecimal("50"),
+                Color.RED
+            );
+            var user = new UserDTO(
+                "auth|ff9d85fcc3c505949092c",
+                "Harry Potter",
+                ZoneId.of("Europe/Brussels")
+            );
+            var request = new CreateCabinetEntryRequestDTO(
+                medication.id(),
+                new BigDecimal("30"),
+                LocalDate.of(2025, 10, 1)
+            );
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(medicationManager.findByIdForCurrentUser(medication.id())).thenReturn(medication);
+            manager.createForCurrentUser(request);
+            assertThat(manager.calculateTotalRemainingDosesByMedicationId(medication.id())).isEqualByComparingTo("30");
+        }
+
         @Test
         void failsIfRemainingDosesMoreThanDosesMedication() {
             var medication = new MedicationDTO(
@@ -264,7 +328,7 @@ class CabinetEntryManagerImplTest {
                 Color.RED
             );
             var pageRequest = PageRequest.of(0, 10);
-            when(medicationManager.findByIdAndUserId(medication.id(), user.id())).thenReturn(medication);
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of(medication.id(), medication));
             when(userManager.findCurrentUser()).thenReturn(user);
             Page<CabinetEntryDTO> results = manager.findAllForCurrentUser(null, pageRequest);
             assertThat(results).containsExactly(
@@ -276,7 +340,7 @@ class CabinetEntryManagerImplTest {
                     LocalDate.of(2024, 6, 30)
                 )
             );
-            verify(medicationManager).findByIdAndUserId(medication.id(), user.id());
+            verify(medicationManager).findAllByIdsAndUserId(Set.of(medication.id()), user.id());
         }
 
         @Test
@@ -296,7 +360,7 @@ class CabinetEntryManagerImplTest {
                 Color.RED
             );
             var pageRequest = PageRequest.of(0, 10);
-            when(medicationManager.findByIdAndUserId(medication.id(), user.id())).thenReturn(medication);
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of(medication.id(), medication));
             when(userManager.findCurrentUser()).thenReturn(user);
             Page<CabinetEntryDTO> results = manager.findAllForCurrentUser(medication.id(), pageRequest);
             assertThat(results).containsExactly(
@@ -308,7 +372,7 @@ class CabinetEntryManagerImplTest {
                     LocalDate.of(2024, 6, 30)
                 )
             );
-            verify(medicationManager).findByIdAndUserId(medication.id(), user.id());
+            verify(medicationManager).findAllByIdsAndUserId(Set.of(medication.id()), user.id());
         }
 
         @Test
@@ -547,6 +611,33 @@ class CabinetEntryManagerImplTest {
                 ));
         }
 
+        @Test
+        void updatesStock() {
+            var request = new UpdateCabinetEntryRequestDTO(
+                new BigDecimal("10"),
+                LocalDate.of(2025, 6, 30)
+            );
+            var user = new UserDTO(
+                "auth|ed9e7a22ebe14627929d",
+                "Harry Potter",
+                ZoneId.of("Europe/Brussels")
+            );
+            var medication = new MedicationDTO(
+                UUID.fromString("ec544543-9aff-4172-989d-ebd5d08a0dea"),
+                "Dafalgan 1g",
+                new MedicationTypeDTO("TABLET", "Tablet"),
+                new AdministrationTypeDTO("ORAL", "Oral"),
+                new DoseTypeDTO("TABLET", "tablet(s)"),
+                new BigDecimal("100"),
+                Color.RED
+            );
+            var id = UUID.fromString("b7cfa15e-1fe5-44b1-913b-98a7a0018d6c");
+            when(medicationManager.findByIdForCurrentUser(medication.id())).thenReturn(medication);
+            when(userManager.findCurrentUser()).thenReturn(user);
+            manager.updateForCurrentUser(id, request);
+            assertThat(manager.calculateTotalRemainingDosesByMedicationId(medication.id())).isEqualByComparingTo("10");
+        }
+
         @Test
         void failsIfUserNotAuthenticated() {
             var request = new UpdateCabinetEntryRequestDTO(
@@ -715,6 +806,35 @@ class CabinetEntryManagerImplTest {
             assertThat(repository.existsById(id)).isFalse();
         }
 
+        @Test
+        void publishesStockChangedEvent() {
+            var user = new UserDTO(
+                "auth|ed9e7a22ebe14627929d",
+                "Harry Potter",
+                ZoneId.of("Europe/Brussels")
+            );
+            var id = UUID.fromString("b7cfa15e-1fe5-44b1-913b-98a7a0018d6c");
+            when(userManager.findCurrentUser()).thenReturn(user);
+            manager.deleteForCurrentUser(id);
+            assertThat(events.stream(MedicationStockChangedEvent.class)).containsExactly(new MedicationStockChangedEvent(
+                user.id(),
+                UUID.fromString("ec544543-9aff-4172-989d-ebd5d08a0dea")));
+        }
+
+        @Test
+        void updatesStock() {
+            var user = new UserDTO(
+                "auth|ed9e7a22ebe14627929d",
+                "Harry Potter",
+                ZoneId.of("Europe/Brussels")
+            );
+            var id = UUID.fromString("b7cfa15e-1fe5-44b1-913b-98a7a0018d6c");
+            when(userManager.findCurrentUser()).thenReturn(user);
+            manager.deleteForCurrentUser(id);
+            var medicationId = UUID.fromString("ec544543-9aff-4172-989d-ebd5d08a0dea");
+            assertThat(manager.calculateTotalRemainingDosesByMedicationId(medicationId)).isEqualByComparingTo("0");
+        }
+
         @Test
         void failsIfUserNotAuthenticated() {
             var id = UUID.fromString("b7cfa15e-1fe5-44b1-913b-98a7a0018d6c");
@@ -766,6 +886,32 @@ class CabinetEntryManagerImplTest {
         }
     }
 
+    @Nested
+    class calculateTotalRemainingDosesByMedicationIds {
+        @Test
+        void returnsResults() {
+            var medicationId1 = UUID.fromString("bdeb432c-c1d7-4482-ae55-19c2750b7796");
+            var medicationId2 = UUID.fromString("65729ae5-a7b9-40a0-8299-ba26a6f05745");
+            var medicationId3 = UUID.fromString("00000000-0000-0000-0000-000000000000");
+            Map<UUID, BigDecimal> results = manager.calculateTotalRemainingDosesByMedicationIds(List.of(medicationId1, medicationId2, medicationId3));
+            assertThat(results).containsOnlyKeys(medicationId1, medicationId2);
+            assertThat(results.get(medicationId1)).isEqualByComparingTo("10");
+            assertThat(results.get(medicationId2)).isEqualByComparingTo("60");
+        }
+
+        @Test
+        void returnsNothingIfNoIdsGiven() {
+            Map<UUID, BigDecimal> results = manager.calculateTotalRemainingDosesByMedicationIds(List.of());
+            assertThat(results).isEmpty();
+        }
+
+        @Test
+        void failsIfIdsNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.calculateTotalRemainingDosesByMedicationIds(null));
+        }
+    }
+
     @Nested
     class deleteAllByMedicationId {
         @ParameterizedTest
@@ -780,6 +926,13 @@ class CabinetEntryManagerImplTest {
             assertThat(repository.findAllByUserId(userId, pageRequest)).hasSize(expectedSize);
         }
 
+        @Test
+        void deletesStock() {
+            var medicationId = UUID.fromString("bdeb432c-c1d7-4482-ae55-19c2750b7796");
+            manager.deleteAllByMedicationId(medicationId);
+            assertThat(manager.calculateTotalRemainingDosesByMedicationIds(List.of(medicationId))).isEmpty();
+        }
+
         @Test
         void failsIfIdNotGiven() {
             assertThatExceptionOfType(ConstraintViolationException.class)
@@ -823,6 +976,24 @@ class CabinetEntryManagerImplTest {
             assertThat(results).isEmpty();
         }
 
+        @Test
+        void publishesStockChangedEvent() {
+            var medicationId = UUID.fromString("65729ae5-a7b9-40a0-8299-ba26a6f05745");
+            manager.subtractDosesByMedicationId(medicationId, new BigDecimal("5"));
+            assertThat(events.stream(MedicationStockChangedEvent.class)).containsExactly(new MedicationStockChangedEvent("auth|eaf1d029d07245548734", medicationId));
+        }
+
+        @ParameterizedTest
+        @CsvSource({
+            "5,55",
+            "100,0"
+        })
+        void updatesStock(BigDecimal doses, BigDecimal expectedStock) {
+            var medicationId = UUID.fromString("65729ae5-a7b9-40a0-8299-ba26a6f05745");
+            manager.subtractDosesByMedicationId(medicationId, doses);
+            assertThat(manager.calculateTotalRemainingDosesByMedicationId(medicationId)).isEqualByComparingTo(expectedStock);
+        }
+
         @Test
         void failsIfIdNotGiven() {
             assertThatExceptionOfType(ConstraintViolationException.class)
@@ -866,6 +1037,27 @@ class CabinetEntryManagerImplTest {
             assertThat(results).isEmpty();
         }
 
+        @Test
+        void publishesStockChangedEvent() {
+            var medicationId = UUID.fromString("65729ae5-a7b9-40a0-8299-ba26a6f05745");
+            manager.addDosesByMedicationId(medicationId, new BigDecimal("5"));
+            assertThat(events.stream(MedicationStockChangedEvent.class)).containsExactly(new MedicationStockChangedEvent("auth|eaf1d029d07245548734", medicationId));
+        }
+
+        @Test
+        void updatesStock() {
+            var medicationId = UUID.fromString("65729ae5-a7b9-40a0-8299-ba26a6f05745");
+            manager.addDosesByMedicationId(medicationId, new BigDecimal("5"));
+            assertThat(manager.calculateTotalRemainingDosesByMedicationId(medicationId)).isEqualByComparingTo("65");
+        }
+
+        @Test
+        void doesNotPublishEventIfNoEntriesExist() {
+            var medicationId = UUID.fromString("00000000-0000-0000-0000-000000000000");
+            manager.addDosesByMedicationId(medicationId, new BigDecimal("5"));
+            assertThat(events.stream(MedicationStockChangedEvent.class)).isEmpty();
+        }
+
         @Test
         void failsIfMedicationIdNotGiven() {
             assertThatExceptionOfType(ConstraintViolationException.class)
@@ -912,4 +1104,45 @@ class CabinetEntryManagerImplTest {
                 .isThrownBy(() -> manager.findAllNonEmptyWithExpiryDateBefore(LocalDate.now(), null));
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class findAllNonEmptyWithExpiryDateBeforeAfterKey {
+        @Test
+        void returnsFirstSlice() {
+            var targetDate = LocalDate.of(2024, 6, 30);
+            Slice<CabinetEntryDTO> results = manager.findAllNonEmptyWithExpiryDateBefore(targetDate, null, null, Limit.of(2));
+            assertThat(results.hasNext()).isTrue();
+            assertThat(results)
+                .extracting(CabinetEntryDTO::id)
+                .containsExactly(
+                    UUID.fromString("dc99854f-8417-47af-81a5-15f22a3bd64c"),
+                    UUID.fromString("1571fd59-d40d-4db1-8739-8830bc67516f"));
+        }
+
+        @Test
+        void returnsSliceAfterKey() {
+            var targetDate = LocalDate.of(2024, 6, 30);
+            var afterExpiryDate = LocalDate.of(2024, 6, 29);
+            var afterId = UUID.fromString("1571fd59-d40d-4db1-8739-8830bc67516f");
+            Slice<CabinetEntryDTO> results = manager.findAllNonEmptyWithExpiryDateBefore(targetDate, afterExpiryDate, afterId, Limit.of(2));
+            assertThat(results.hasNext()).isFalse();
+            assertThat(results)
+                .extracting(CabinetEntryDTO::id)
+                .containsExactly(
+                    UUID.fromString("b993e814-394b-438c-b42e-4b97fa4d8739"),
+                    UUID.fromString("b7cfa15e-1fe5-44b1-913b-98a7a0018d6c"));
+        }
+
+        @Test
+        void failsIfTargetDateNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAllNonEmptyWithExpiryDateBefore(null, null, null, Limit.of(2)));
+        }
+
+        @Test
+        void failsIfLimitNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAllNonEmptyWithExpiryDateBefore(LocalDate.now(), null, null, null));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package codes.dimitri.mediminder.api.cabinet.implementation;
+
+import codes.dimitri.mediminder.api.medication.MedicationManager;
+import codes.dimitri.mediminder.api.shared.AbstractQueryPlanTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.math.BigDecimal;
+import java.util.Set;
+import java.util.UUID;
+
+@ApplicationModuleTest
+class CabinetEntryQueryPlanTest extends AbstractQueryPlanTest {
+    private static final String USER_ID = "auth|user1";
+    private static final UUID ID = UUID.fromString("6ab2e9a8-3b27-4b3c-8e51-8a9cf5b5c2f0");
+    private static final UUID MEDICATION_ID = UUID.fromString("dd4b21e9-ef71-e1ca-f03d-4a2a0b6c3e45");
+    @Autowired
+    private CabinetEntryEntityRepository repository;
+    @Autowired
+    private MedicationStockEntityRepository stockRepository;
+    @MockitoBean
+    private MedicationManager medicationManager;
+
+    CabinetEntryQueryPlanTest() {
+        super(Set.of("cabinet_entry"));
+    }
+
+    @Test
+    void findAllByUserId() {
+        repository.findAllByUserId(USER_ID, PageRequest.of(0, 10));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllByMedicationIdAndUserId() {
+        repository.findAllByMedicationIdAndUserId(MEDICATION_ID, USER_ID, PageRequest.of(0, 10));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findByIdAndUserId() {
+        repository.findByIdAndUserId(ID, USER_ID);
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void deleteAllByMedicationId() {
+        repository.deleteAllByMedicationId(MEDICATION_ID);
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void subtractDosesInExpiryOrder() {
+        repository.subtractDosesInExpiryOrder(MEDICATION_ID, new BigDecimal("5"));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void addDosesToFirstExpiring() {
+        repository.addDosesToFirstExpiring(MEDICATION_ID, new BigDecimal("5"));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllByMedicationId() {
+        repository.findAllByMedicationId(MEDICATION_ID, PageRequest.of(0, 1, Sort.Direction.ASC, "expiryDate"));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void recalculate() {
+        stockRepository.recalculate(MEDICATION_ID);
+        assertNoSequentialScans();
+    }
+}
@@ -0,0 +1,76 @@
+package codes.dimitri.mediminder.api.cabinet.implementation;
+
+import codes.dimitri.mediminder.api.medication.MedicationManager;
+import codes.dimitri.mediminder.api.user.UserManager;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ApplicationModuleTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:tc:postgresql:latest:///mediminder",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.minimum-idle=2",
+    "cabinet.stock.reconciliation-cron=-"
+})
+@Sql("classpath:test-data/cabinet-entries.sql")
+@Sql(value = "classpath:test-data/cleanup-cabinet-entries.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class MedicationStockReconcilerTest {
+    private static final UUID MEDICATION_ID = UUID.fromString("65729ae5-a7b9-40a0-8299-ba26a6f05745");
+    @Autowired
+    private MedicationStockReconciler reconciler;
+    @Autowired
+    private MedicationStockEntityRepository repository;
+    @MockitoBean
+    private UserManager userManager;
+    @MockitoBean
+    private MedicationManager medicationManager;
+
+    @Nested
+    class reconcileAll {
+        @Test
+        void doesNothingIfStockIsInSync() {
+            assertThat(reconciler.reconcileAll()).isZero();
+        }
+
+        @Test
+        void correctsStock() {
+            repository.save(new MedicationStockEntity(MEDICATION_ID, new BigDecimal("12")));
+            assertThat(reconciler.reconcileAll()).isEqualTo(1);
+            assertThat(repository.findById(MEDICATION_ID))
+                .get()
+                .extracting(MedicationStockEntity::getRemainingDoses)
+                .isEqualTo(new BigDecimal("60"));
+        }
+
+        @Test
+        void createsMissingStock() {
+            repository.deleteById(MEDICATION_ID);
+            assertThat(reconciler.reconcileAll()).isEqualTo(1);
+            assertThat(repository.findById(MEDICATION_ID))
+                .get()
+                .extracting(MedicationStockEntity::getRemainingDoses)
+                .isEqualTo(new BigDecimal("60"));
+        }
+
+        @Test
+        void clearsStockWithoutEntries() {
+            UUID medicationId = UUID.randomUUID();
+            repository.save(new MedicationStockEntity(medicationId, new BigDecimal("12")));
+            assertThat(reconciler.reconcileAll()).isEqualTo(1);
+            assertThat(repository.findById(medicationId))
+                .get()
+                .extracting(MedicationStockEntity::getRemainingDoses)
+                .isEqualTo(new BigDecimal("0"));
+        }
+    }
+}
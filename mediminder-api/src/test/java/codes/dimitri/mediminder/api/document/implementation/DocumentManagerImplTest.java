@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.modulith.test.ApplicationModuleTest;
@@ -28,6 +29,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -435,7 +438,7 @@ class DocumentManagerImplTest {
                 Color.RED
             );
             when(userManager.findCurrentUser()).thenReturn(user);
-            when(medicationManager.findByIdAndUserId(medication.id(), user.id())).thenReturn(medication);
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of(medication.id(), medication));
             var result = manager.findAllForCurrentUser(null, null, pageRequest);
             assertThat(result).containsOnly(new DocumentDTO(
                 UUID.fromString("af3edd34-a8e2-4356-9877-2481eae06dfb"),
@@ -465,7 +468,7 @@ class DocumentManagerImplTest {
                 Color.RED
             );
             when(userManager.findCurrentUser()).thenReturn(user);
-            when(medicationManager.findByIdAndUserId(medication.id(), user.id())).thenReturn(medication);
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of(medication.id(), medication));
             var result = manager.findAllForCurrentUser(null, medication.id(), pageRequest);
             assertThat(result).containsOnly(new DocumentDTO(
                 UUID.fromString("af3edd34-a8e2-4356-9877-2481eae06dfb"),
@@ -519,7 +522,7 @@ class DocumentManagerImplTest {
             var pageRequest = PageRequest.of(0, 10);
             UUID medicationId = UUID.fromString("dcb33d3c-5e8e-4f54-b965-64dc17e0a285");
             when(userManager.findCurrentUser()).thenReturn(user);
-            when(medicationManager.findByIdAndUserId(medicationId, user.id())).thenThrow(new MedicationNotFoundException(medicationId));
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medicationId), user.id())).thenReturn(Map.of());
             var result = manager.findAllForCurrentUser(null, null, pageRequest);
             assertThat(result).containsOnly(new DocumentDTO(
                 UUID.fromString("af3edd34-a8e2-4356-9877-2481eae06dfb"),
@@ -718,6 +721,37 @@ class DocumentManagerImplTest {
         }
     }
 
+    @Nested
+    class findAllWithExpiryDateBeforeAfterKey {
+        @Test
+        void returnsFirstSlice() {
+            var result = manager.findAllWithExpiryDateBefore(LocalDate.of(2026, 1, 31), null, null, Limit.of(1));
+            assertThat(result.hasNext()).isFalse();
+            assertThat(result)
+                .extracting(DocumentDTO::id)
+                .containsExactly(UUID.fromString("af3edd34-a8e2-4356-9877-2481eae06dfb"));
+        }
+
+        @Test
+        void returnsSliceAfterKey() {
+            var afterId = UUID.fromString("af3edd34-a8e2-4356-9877-2481eae06dfb");
+            var result = manager.findAllWithExpiryDateBefore(LocalDate.of(2026, 1, 31), LocalDate.of(2026, 1, 31), afterId, Limit.of(1));
+            assertThat(result).isEmpty();
+        }
+
+        @Test
+        void failsIfLimitNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAllWithExpiryDateBefore(LocalDate.now(), null, null, null));
+        }
+
+        @Test
+        void failsIfExpiryDateNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAllWithExpiryDateBefore(null, null, null, Limit.of(1)));
+        }
+    }
+
     private static void deleteStorageDirectory() throws IOException {
         try (Stream<Path> walk = Files.walk(Paths.get("./target/test-storage"))) {
             walk
@@ -0,0 +1,55 @@
+package codes.dimitri.mediminder.api.document.implementation;
+
+import codes.dimitri.mediminder.api.medication.MedicationManager;
+import codes.dimitri.mediminder.api.shared.AbstractQueryPlanTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Set;
+import java.util.UUID;
+
+@ApplicationModuleTest
+@TestPropertySource(properties = {
+    "document.storage-location=./target/test-storage"
+})
+class DocumentQueryPlanTest extends AbstractQueryPlanTest {
+    private static final String USER_ID = "auth|user1";
+    private static final UUID ID = UUID.fromString("6ab2e9a8-3b27-4b3c-8e51-8a9cf5b5c2f0");
+    private static final UUID MEDICATION_ID = UUID.fromString("dd4b21e9-ef71-e1ca-f03d-4a2a0b6c3e45");
+    @Autowired
+    private DocumentEntityRepository repository;
+    @MockitoBean
+    private MedicationManager medicationManager;
+
+    DocumentQueryPlanTest() {
+        super(Set.of("document"));
+    }
+
+    @Test
+    void findByIdAndUserId() {
+        repository.findByIdAndUserId(ID, USER_ID);
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllByUserId() {
+        Specification<DocumentEntity> specification = DocumentSpecifications.userId(USER_ID);
+        repository.findAll(specification, PageRequest.of(0, 10));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllByUserIdAndRelatedMedicationId() {
+        Specification<DocumentEntity> specification = Specification.allOf(
+            DocumentSpecifications.userId(USER_ID),
+            DocumentSpecifications.relatedMedicationId(MEDICATION_ID)
+        );
+        repository.findAll(specification, PageRequest.of(0, 10));
+        assertNoSequentialScans();
+    }
+}
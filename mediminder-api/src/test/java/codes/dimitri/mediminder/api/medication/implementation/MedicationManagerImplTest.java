@@ -19,6 +19,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -445,6 +447,50 @@ class MedicationManagerImplTest {
         }
     }
 
+    @Nested
+    class findAllByIdsAndUserId {
+        @Test
+        void returnsMedication() {
+            var id1 = UUID.fromString("3257ee2d-b6c6-4a12-990e-826a80c43f17");
+            var id2 = UUID.fromString("3c071cf0-b371-44fe-91a5-97e2e1347594");
+            var userId = "auth|2e4aadf46d7e4bd1ad9f";
+            Map<UUID, MedicationDTO> results = manager.findAllByIdsAndUserId(List.of(id1, id2), userId);
+            assertThat(results).containsOnlyKeys(id1, id2);
+            assertThat(results.get(id1).name()).isEqualTo("Dafalgan 1g (100)");
+            assertThat(results.get(id2).name()).isEqualTo("Ibuprofen 400mg");
+        }
+
+        @Test
+        void skipsMedicationOfOtherUsers() {
+            var id1 = UUID.fromString("3257ee2d-b6c6-4a12-990e-826a80c43f17");
+            var id2 = UUID.fromString("4579fa76-1edc-4113-b521-2167713a3636");
+            var userId = "auth|2e4aadf46d7e4bd1ad9f";
+            Map<UUID, MedicationDTO> results = manager.findAllByIdsAndUserId(List.of(id1, id2), userId);
+            assertThat(results).containsOnlyKeys(id1);
+        }
+
+        @Test
+        void returnsNothingIfNoIdsGiven() {
+            var userId = "auth|2e4aadf46d7e4bd1ad9f";
+            Map<UUID, MedicationDTO> results = manager.findAllByIdsAndUserId(List.of(), userId);
+            assertThat(results).isEmpty();
+        }
+
+        @Test
+        void failsIfNoIdsGiven() {
+            var userId = "auth|2e4aadf46d7e4bd1ad9f";
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAllByIdsAndUserId(null, userId));
+        }
+
+        @Test
+        void failsIfNoUserIdGiven() {
+            var id = UUID.fromString("3257ee2d-b6c6-4a12-990e-826a80c43f17");
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAllByIdsAndUserId(List.of(id), null));
+        }
+    }
+
     @Nested
     class deleteByIdForCurrentUser {
         @Test
@@ -0,0 +1,53 @@
+package codes.dimitri.mediminder.api.medication.implementation;
+
+import codes.dimitri.mediminder.api.shared.AbstractQueryPlanTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.modulith.test.ApplicationModuleTest;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@ApplicationModuleTest
+class MedicationQueryPlanTest extends AbstractQueryPlanTest {
+    private static final String USER_ID = "auth|user1";
+    private static final UUID ID = UUID.fromString("dd4b21e9-ef71-e1ca-f03d-4a2a0b6c3e45");
+    @Autowired
+    private MedicationEntityRepository repository;
+
+    MedicationQueryPlanTest() {
+        super(Set.of("medication"));
+    }
+
+    @Test
+    void findByIdAndUserId() {
+        repository.findByIdAndUserId(ID, USER_ID);
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllByUserIdPaged() {
+        repository.findAllByUserId(USER_ID, PageRequest.of(0, 10));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllByUserIdAndNameContainingIgnoreCase() {
+        repository.findAllByUserIdAndNameContainingIgnoreCase(USER_ID, "medication", PageRequest.of(0, 10));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllByUserId() {
+        repository.findAllByUserId(USER_ID);
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllByIdInAndUserId() {
+        repository.findAllByIdInAndUserId(List.of(ID), USER_ID);
+        assertNoSequentialScans();
+    }
+}
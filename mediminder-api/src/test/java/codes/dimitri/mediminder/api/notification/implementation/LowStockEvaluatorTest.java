@@ -0,0 +1,184 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import codes.dimitri.mediminder.api.cabinet.CabinetEntryManager;
+import codes.dimitri.mediminder.api.document.DocumentManager;
+import codes.dimitri.mediminder.api.medication.*;
+import codes.dimitri.mediminder.api.notification.NotificationType;
+import codes.dimitri.mediminder.api.schedule.EventManager;
+import codes.dimitri.mediminder.api.schedule.ScheduleManager;
+import codes.dimitri.mediminder.api.schedule.SchedulePeriodDTO;
+import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
+import codes.dimitri.mediminder.api.user.UserManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.Mockito.when;
+
+@ApplicationModuleTest
+@Transactional
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:tc:postgresql:latest:///mediminder",
+    "notification.public-key=BIyq6YYFYOCttqL-N22xS84_EfO2CFYhn86ZW4gkzIK_uTht7rofUlIrXpu_r4-BT-qmf2TZFAq92jKhcBFIF-w",
+    "notification.private-key=CX5aOzJFXYQszpj__Trqa9GOIupZMLRrubTxsc3zNg0",
+    "notification.scheduler.intake-cron=-",
+    "notification.scheduler.notification-cron=-",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.minimum-idle=2"
+})
+@Import({
+    TestClockConfiguration.class
+})
+@Sql(value = "classpath:test-data/cleanup-notification.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class LowStockEvaluatorTest {
+    private static final String USER_ID = "auth|ff9d85fcc3c505949092c";
+    private static final LocalDate TODAY = LocalDate.of(2025, 2, 26);
+    private static final SchedulePeriodDTO WARN_PERIOD = new SchedulePeriodDTO(TODAY, LocalDate.of(2025, 3, 5));
+    @Autowired
+    private LowStockEvaluator evaluator;
+    @Autowired
+    private NotificationEntityRepository repository;
+    @MockitoBean
+    private UserManager userManager;
+    @MockitoBean
+    private ScheduleManager scheduleManager;
+    @MockitoBean
+    private MedicationManager medicationManager;
+    @MockitoBean
+    private CabinetEntryManager cabinetEntryManager;
+    @MockitoBean
+    private DocumentManager documentManager;
+    @MockitoBean
+    private EventManager eventManager;
+    private MedicationDTO medication;
+
+    @BeforeEach
+    void setUp() {
+        medication = new MedicationDTO(
+            UUID.randomUUID(),
+            "Hydrocortisone 8mg",
+            new MedicationTypeDTO("TABLET", "Tablet"),
+            new AdministrationTypeDTO("ORAL", "Oral"),
+            new DoseTypeDTO("TABLET", "tablet(s)"),
+            new BigDecimal("30"),
+            Color.RED
+        );
+        when(userManager.calculateTodayForUser(USER_ID)).thenReturn(TODAY.atTime(10, 0));
+        when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), USER_ID)).thenReturn(Map.of(medication.id(), medication));
+    }
+
+    @Nested
+    class evaluateMedication {
+        @Test
+        void createsAlmostOutOfDoseNotification() {
+            setUpDoses("5", "7");
+            evaluator.evaluate(USER_ID, medication.id());
+            assertThat(repository.findAll())
+                .singleElement()
+                .usingRecursiveComparison()
+                .ignoringFields("id", "isNew")
+                .isEqualTo(new NotificationEntity(
+                    USER_ID,
+                    NotificationType.SCHEDULE_ALMOST_OUT_OF_DOSES,
+                    medication.id(),
+                    "Almost out of medication",
+                    "You will soon run out of Hydrocortisone 8mg",
+                    Instant.parse("2025-03-05T10:00:00Z")
+                ));
+        }
+
+        @Test
+        void replacesAlmostOutOfDoseNotificationIfOutOfDoses() {
+            repository.saveAndFlush(createNotification(NotificationType.SCHEDULE_ALMOST_OUT_OF_DOSES));
+            setUpDoses("0", "7");
+            evaluator.evaluate(USER_ID, medication.id());
+            assertThat(repository.findAll())
+                .extracting(NotificationEntity::getType, NotificationEntity::getMessage, NotificationEntity::isActive)
+                .containsExactlyInAnyOrder(
+                    tuple(NotificationType.SCHEDULE_ALMOST_OUT_OF_DOSES, "You will soon run out of Hydrocortisone 8mg", false),
+                    tuple(NotificationType.SCHEDULE_OUT_OF_DOSES, "You ran out of Hydrocortisone 8mg", true));
+        }
+
+        @Test
+        void withdrawsNotificationIfRestocked() {
+            NotificationEntity notification = repository.saveAndFlush(createNotification(NotificationType.SCHEDULE_ALMOST_OUT_OF_DOSES));
+            setUpDoses("30", "7");
+            evaluator.evaluate(USER_ID, medication.id());
+            assertThat(repository.findAll())
+                .extracting(NotificationEntity::getId, NotificationEntity::isActive)
+                .containsExactly(tuple(notification.getId(), false));
+        }
+
+        @Test
+        void doesNotRecreateDismissedNotification() {
+            NotificationEntity notification = createNotification(NotificationType.SCHEDULE_ALMOST_OUT_OF_DOSES);
+            notification.setActive(false);
+            repository.saveAndFlush(notification);
+            setUpDoses("5", "7");
+            evaluator.evaluate(USER_ID, medication.id());
+            assertThat(repository.findAll())
+                .extracting(NotificationEntity::getId, NotificationEntity::isActive)
+                .containsExactly(tuple(notification.getId(), false));
+        }
+
+        @Test
+        void doesNotCreateNotificationIfMedicationIsNotRequired() {
+            setUpDoses("0", "0");
+            evaluator.evaluate(USER_ID, medication.id());
+            assertThat(repository.findAll()).isEmpty();
+        }
+    }
+
+    @Nested
+    class evaluateItems {
+        @Test
+        void createsOutOfDoseNotificationEvenIfNotRequired() {
+            setUpDoses("0", "0");
+            evaluator.evaluate(List.of(new UserScheduledMedication(USER_ID, medication.id(), TODAY)));
+            assertThat(repository.findAll())
+                .extracting(NotificationEntity::getType)
+                .containsExactly(NotificationType.SCHEDULE_OUT_OF_DOSES);
+        }
+
+        @Test
+        void doesNotCreateNotificationIfMedicationNotFound() {
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), USER_ID)).thenReturn(Map.of());
+            setUpDoses("0", "7");
+            evaluator.evaluate(List.of(new UserScheduledMedication(USER_ID, medication.id(), TODAY)));
+            assertThat(repository.findAll()).isEmpty();
+        }
+    }
+
+    private void setUpDoses(String remainingDoses, String requiredDoses) {
+        when(cabinetEntryManager.calculateTotalRemainingDosesByMedicationIds(Set.of(medication.id()))).thenReturn(Map.of(medication.id(), new BigDecimal(remainingDoses)));
+        when(scheduleManager.calculateRequiredDosesByMedicationIds(Set.of(medication.id()), WARN_PERIOD)).thenReturn(Map.of(medication.id(), new BigDecimal(requiredDoses)));
+    }
+
+    private NotificationEntity createNotification(NotificationType type) {
+        return new NotificationEntity(
+            USER_ID,
+            type,
+            medication.id(),
+            "Almost out of medication",
+            "You will soon run out of Hydrocortisone 8mg",
+            Instant.parse("2025-03-05T10:00:00Z")
+        );
+    }
+}
@@ -1,7 +1,7 @@
 package codes.dimitri.mediminder.api.notification.implementation;
 
 import codes.dimitri.mediminder.api.notification.*;
-import codes.dimitri.mediminder.api.notification.implementation.batch.NotificationBatchTask;
+import codes.dimitri.mediminder.api.notification.implementation.batch.NotificationJobScheduler;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -14,6 +14,7 @@ import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.UUID;
@@ -23,6 +24,7 @@ import static org.springframework.security.test.web.servlet.request.SecurityMock
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @EnableConfigurationProperties(NotificationProperties.class)
@@ -35,7 +37,9 @@ class NotificationControllerTest {
     @MockitoBean
     private NotificationManager manager;
     @MockitoBean
-    private NotificationBatchTask task;
+    private NotificationJobScheduler scheduler;
+    @MockitoBean
+    private NotificationStreamRegistry streamRegistry;
 
     @Nested
     class findAll {
@@ -64,6 +68,19 @@ class NotificationControllerTest {
         }
     }
 
+    @Nested
+    class stream {
+        @Test
+        void startsStream() throws Exception {
+            when(streamRegistry.connectCurrentUser()).thenReturn(new SseEmitter());
+            mvc
+                .perform(get("/api/notification/stream")
+                    .with(user("me@example.org")))
+                .andExpect(request().asyncStarted());
+            verify(streamRegistry).connectCurrentUser();
+        }
+    }
+
     @Nested
     class delete {
         @Test
@@ -237,7 +254,7 @@ class NotificationControllerTest {
                     .with(user("me@example.org"))
                     .with(csrf()))
                 .andExpect(status().isAccepted());
-            verify(task).run();
+            verify(scheduler).scheduleAll();
         }
 
         @Test
@@ -248,7 +265,7 @@ class NotificationControllerTest {
                     .with(user("me@example.org"))
                     .with(csrf()))
                 .andExpect(status().isBadRequest());
-            verifyNoInteractions(task);
+            verifyNoInteractions(scheduler);
         }
     }
 }
\ No newline at end of file
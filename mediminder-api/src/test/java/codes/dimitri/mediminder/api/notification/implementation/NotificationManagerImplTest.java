@@ -36,6 +36,8 @@ import static org.mockito.Mockito.when;
     "spring.datasource.url=jdbc:tc:postgresql:latest:///mediminder",
     "notification.public-key=BIyq6YYFYOCttqL-N22xS84_EfO2CFYhn86ZW4gkzIK_uTht7rofUlIrXpu_r4-BT-qmf2TZFAq92jKhcBFIF-w",
     "notification.private-key=CX5aOzJFXYQszpj__Trqa9GOIupZMLRrubTxsc3zNg0",
+    "notification.scheduler.intake-cron=-",
+    "notification.scheduler.notification-cron=-",
     "spring.datasource.hikari.maximum-pool-size=2",
     "spring.datasource.hikari.minimum-idle=2"
 })
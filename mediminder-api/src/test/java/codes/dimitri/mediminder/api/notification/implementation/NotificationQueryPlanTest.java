@@ -0,0 +1,95 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import codes.dimitri.mediminder.api.cabinet.CabinetEntryManager;
+import codes.dimitri.mediminder.api.document.DocumentManager;
+import codes.dimitri.mediminder.api.medication.MedicationManager;
+import codes.dimitri.mediminder.api.notification.NotificationType;
+import codes.dimitri.mediminder.api.schedule.EventManager;
+import codes.dimitri.mediminder.api.schedule.ScheduleManager;
+import codes.dimitri.mediminder.api.shared.AbstractQueryPlanTest;
+import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@ApplicationModuleTest
+@TestPropertySource(properties = {
+    "notification.public-key=BIyq6YYFYOCttqL-N22xS84_EfO2CFYhn86ZW4gkzIK_uTht7rofUlIrXpu_r4-BT-qmf2TZFAq92jKhcBFIF-w",
+    "notification.private-key=CX5aOzJFXYQszpj__Trqa9GOIupZMLRrubTxsc3zNg0",
+    "notification.scheduler.intake-cron=-",
+    "notification.scheduler.notification-cron=-"
+})
+@Import({
+    TestClockConfiguration.class
+})
+class NotificationQueryPlanTest extends AbstractQueryPlanTest {
+    private static final String USER_ID = "auth|user1";
+    private static final UUID ID = UUID.fromString("6ab2e9a8-3b27-4b3c-8e51-8a9cf5b5c2f0");
+    @Autowired
+    private NotificationEntityRepository repository;
+    @MockitoBean
+    private ScheduleManager scheduleManager;
+    @MockitoBean
+    private MedicationManager medicationManager;
+    @MockitoBean
+    private CabinetEntryManager cabinetEntryManager;
+    @MockitoBean
+    private DocumentManager documentManager;
+    @MockitoBean
+    private EventManager eventManager;
+
+    NotificationQueryPlanTest() {
+        super(Set.of("notification"));
+    }
+
+    @Test
+    void findAllKeysByUserIdsAndInitiatorIds() {
+        repository.findAllKeysByUserIdsAndInitiatorIds(List.of(USER_ID), List.of(ID));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllActiveByUserId() {
+        repository.findAllActiveByUserId(USER_ID, PageRequest.of(0, 10));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findByIdAndUserId() {
+        repository.findByIdAndUserId(ID, USER_ID);
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void deactivateAllByUserIdTypeAndInitiatorId() {
+        repository.deactivateAllByUserIdTypeAndInitiatorId(USER_ID, NotificationType.INTAKE_EVENT, ID);
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllActiveIdsByUserIdTypeAndInitiatorIds() {
+        repository.findAllActiveIdsByUserIdTypeAndInitiatorIds(USER_ID, NotificationType.SCHEDULE_OUT_OF_DOSES, List.of(ID));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void deactivateAllActiveByUserIdTypeAndInitiatorIds() {
+        repository.deactivateAllActiveByUserIdTypeAndInitiatorIds(USER_ID, NotificationType.SCHEDULE_OUT_OF_DOSES, List.of(ID));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void deleteExpiredBatch() {
+        repository.deleteExpiredBatch(Instant.parse("2025-02-26T10:00:00Z"), 100);
+        assertNoSequentialScans();
+    }
+}
@@ -0,0 +1,140 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import codes.dimitri.mediminder.api.notification.NotificationManager;
+import codes.dimitri.mediminder.api.notification.NotificationType;
+import codes.dimitri.mediminder.api.notification.implementation.batch.NotificationJobScheduler;
+import codes.dimitri.mediminder.api.user.CurrentUserNotFoundException;
+import codes.dimitri.mediminder.api.user.UserDTO;
+import codes.dimitri.mediminder.api.user.UserManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@EnableConfigurationProperties(NotificationProperties.class)
+@WebMvcTest(value = NotificationController.class, properties = {
+    "notification.batch-api-key=test",
+    "notification.stream.heartbeat-interval=1h"
+})
+@Import({
+    NotificationStreamRegistry.class,
+    NotificationMapperImpl.class
+})
+class NotificationStreamRegistryTest {
+    private static final String USER_ID = "auth|ff9d85fcc3c505949092c";
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private NotificationStreamRegistry registry;
+    @MockitoBean
+    private NotificationManager manager;
+    @MockitoBean
+    private NotificationJobScheduler scheduler;
+    @MockitoBean
+    private UserManager userManager;
+
+    @BeforeEach
+    void setUp() {
+        when(userManager.findCurrentUser()).thenReturn(new UserDTO(USER_ID, "Harry Potter", ZoneId.of("UTC")));
+    }
+
+    @Nested
+    class connectCurrentUser {
+        @Test
+        void registersStream() throws Exception {
+            connect();
+            assertThat(registry.isConnected(USER_ID)).isTrue();
+        }
+
+        @Test
+        void failsIfNotAuthenticated() throws Exception {
+            when(userManager.findCurrentUser()).thenThrow(new CurrentUserNotFoundException());
+            mvc
+                .perform(get("/api/notification/stream").with(user("me@example.org")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.detail").value("User is not authenticated"));
+        }
+    }
+
+    @Nested
+    class publishCreated {
+        @Test
+        void sendsNotification() throws Exception {
+            MvcResult result = connect();
+            NotificationEntity notification = createNotification(USER_ID);
+            registry.publishCreated(List.of(notification));
+            await().untilAsserted(() -> assertThat(result.getResponse().getContentAsString())
+                .contains("event:created")
+                .contains("\"id\":\"" + notification.getId() + "\"")
+                .contains("\"title\":\"Out of medication\""));
+        }
+
+        @Test
+        void doesNotSendNotificationOfOtherUser() throws Exception {
+            MvcResult result = connect();
+            registry.publishCreated(List.of(createNotification("auth|other")));
+            registry.sendHeartbeats();
+            await().untilAsserted(() -> assertThat(result.getResponse().getContentAsString()).contains(":heartbeat"));
+            assertThat(result.getResponse().getContentAsString()).doesNotContain("event:created");
+        }
+    }
+
+    @Nested
+    class publishDeactivated {
+        @Test
+        void sendsIds() throws Exception {
+            MvcResult result = connect();
+            UUID id = UUID.randomUUID();
+            registry.publishDeactivated(USER_ID, List.of(id));
+            await().untilAsserted(() -> assertThat(result.getResponse().getContentAsString())
+                .contains("event:deactivated")
+                .contains("data:\"" + id + "\""));
+        }
+    }
+
+    @Nested
+    class sendHeartbeats {
+        @Test
+        void sendsComment() throws Exception {
+            MvcResult result = connect();
+            registry.sendHeartbeats();
+            await().untilAsserted(() -> assertThat(result.getResponse().getContentAsString()).contains(":heartbeat"));
+        }
+    }
+
+    private MvcResult connect() throws Exception {
+        return mvc
+            .perform(get("/api/notification/stream").with(user("me@example.org")))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+    }
+
+    private static NotificationEntity createNotification(String userId) {
+        return new NotificationEntity(
+            userId,
+            NotificationType.SCHEDULE_OUT_OF_DOSES,
+            UUID.randomUUID(),
+            "Out of medication",
+            "You ran out of Dafalgan",
+            Instant.parse("2025-03-05T10:00:00Z")
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.martijndwars.webpush.Notification;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.security.Security;
+import java.time.Duration;
+import java.util.List;
+
+import static codes.dimitri.mediminder.api.notification.implementation.PushNotificationDispatcherTest.createNotifications;
+import static codes.dimitri.mediminder.api.notification.implementation.PushNotificationDispatcherTest.createPushService;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares serial push delivery with concurrent delivery against a stub push endpoint.
+ * Run with {@code -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PushNotificationDispatcherBenchmarkTest {
+    private static final int NOTIFICATIONS = 1000;
+    private static final Duration LATENCY = Duration.ofMillis(20);
+
+    @BeforeAll
+    static void setUpProvider() {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @Test
+    void comparesSerialAndConcurrentDelivery() throws Exception {
+        try (var endpoint = new StubPushEndpoint(LATENCY, 201);
+             var pushService = createPushService()) {
+            List<Notification> notifications = createNotifications(endpoint, NOTIFICATIONS);
+            Duration serial = measure(new PushNotificationDispatcher(pushService, 1), notifications);
+            Duration concurrent = measure(new PushNotificationDispatcher(pushService, 64), notifications);
+            log.info("Push delivery of {} notifications: serial {} msg/s, concurrent {} msg/s",
+                NOTIFICATIONS,
+                NOTIFICATIONS * 1000 / Math.max(1, serial.toMillis()),
+                NOTIFICATIONS * 1000 / Math.max(1, concurrent.toMillis()));
+            assertThat(endpoint.received()).isEqualTo(2 * NOTIFICATIONS);
+            assertThat(endpoint.maxInFlight()).isLessThanOrEqualTo(64);
+        }
+    }
+
+    private static Duration measure(PushNotificationDispatcher dispatcher, List<Notification> notifications) {
+        long start = System.nanoTime();
+        dispatcher.dispatch(notifications).join();
+        return Duration.ofNanos(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,87 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import nl.martijndwars.webpush.Notification;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.security.Security;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PushNotificationDispatcherTest {
+    static final String PUBLIC_KEY = "BIyq6YYFYOCttqL-N22xS84_EfO2CFYhn86ZW4gkzIK_uTht7rofUlIrXpu_r4-BT-qmf2TZFAq92jKhcBFIF-w";
+    static final String PRIVATE_KEY = "CX5aOzJFXYQszpj__Trqa9GOIupZMLRrubTxsc3zNg0";
+    static final String SUBSCRIPTION_KEY = "BCMUqHuGnVEcZ0N4Uo+348R8mY5SNgr0EOCPFqZuquJkRbHn8239IqxaV7z5mEcQAOLRTIDAAqw8DqnleojoUBg=";
+    static final String SUBSCRIPTION_AUTH = "test";
+    private HttpClientPushService pushService;
+    private StubPushEndpoint endpoint;
+
+    @BeforeAll
+    static void setUpProvider() {
+        Security.addProvider(new BouncyCastleProvider());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (pushService != null) pushService.close();
+        if (endpoint != null) endpoint.close();
+    }
+
+    @Test
+    void sendsAllNotifications() throws Exception {
+        endpoint = new StubPushEndpoint(Duration.ZERO, 201);
+        pushService = createPushService();
+        var dispatcher = new PushNotificationDispatcher(pushService, 8);
+        dispatcher.dispatch(createNotifications(endpoint, 20)).get(10, TimeUnit.SECONDS);
+        assertThat(endpoint.received()).isEqualTo(20);
+    }
+
+    @Test
+    void limitsRequestsInFlight() throws Exception {
+        endpoint = new StubPushEndpoint(Duration.ofMillis(50), 201);
+        pushService = createPushService();
+        var dispatcher = new PushNotificationDispatcher(pushService, 4);
+        dispatcher.dispatch(createNotifications(endpoint, 20)).get(10, TimeUnit.SECONDS);
+        assertThat(endpoint.received()).isEqualTo(20);
+        assertThat(endpoint.maxInFlight()).isBetween(2, 4);
+    }
+
+    @Test
+    void completesIfEndpointRejectsNotifications() throws Exception {
+        endpoint = new StubPushEndpoint(Duration.ZERO, 410);
+        pushService = createPushService();
+        var dispatcher = new PushNotificationDispatcher(pushService, 4);
+        dispatcher.dispatch(createNotifications(endpoint, 5)).get(10, TimeUnit.SECONDS);
+        assertThat(endpoint.received()).isEqualTo(5);
+    }
+
+    static HttpClientPushService createPushService() throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .build();
+        return new HttpClientPushService(httpClient, Duration.ofSeconds(10), PUBLIC_KEY, PRIVATE_KEY);
+    }
+
+    static List<Notification> createNotifications(StubPushEndpoint endpoint, int count) {
+        byte[] payload = "{\"notification\":{\"title\":\"Time to take your medicine\"}}".getBytes(StandardCharsets.UTF_8);
+        return IntStream.range(0, count)
+            .mapToObj(index -> createNotification(endpoint, payload))
+            .toList();
+    }
+
+    private static Notification createNotification(StubPushEndpoint endpoint, byte[] payload) {
+        try {
+            return new Notification(endpoint.endpoint(), SUBSCRIPTION_KEY, SUBSCRIPTION_AUTH, payload);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
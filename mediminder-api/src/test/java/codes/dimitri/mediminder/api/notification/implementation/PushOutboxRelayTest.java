@@ -0,0 +1,194 @@
+package codes.dimitri.mediminder.api.notification.implementation;
+
+import codes.dimitri.mediminder.api.cabinet.CabinetEntryManager;
+import codes.dimitri.mediminder.api.document.DocumentManager;
+import codes.dimitri.mediminder.api.medication.MedicationManager;
+import codes.dimitri.mediminder.api.schedule.EventManager;
+import codes.dimitri.mediminder.api.schedule.ScheduleManager;
+import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
+import codes.dimitri.mediminder.api.user.UserManager;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static codes.dimitri.mediminder.api.notification.implementation.PushNotificationDispatcherTest.SUBSCRIPTION_AUTH;
+import static codes.dimitri.mediminder.api.notification.implementation.PushNotificationDispatcherTest.SUBSCRIPTION_KEY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ApplicationModuleTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:tc:postgresql:latest:///mediminder",
+    "notification.public-key=BIyq6YYFYOCttqL-N22xS84_EfO2CFYhn86ZW4gkzIK_uTht7rofUlIrXpu_r4-BT-qmf2TZFAq92jKhcBFIF-w",
+    "notification.private-key=CX5aOzJFXYQszpj__Trqa9GOIupZMLRrubTxsc3zNg0",
+    "notification.scheduler.intake-cron=-",
+    "notification.scheduler.notification-cron=-",
+    "notification.outbox.poll-interval=1h",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.minimum-idle=2"
+})
+@Import({
+    TestClockConfiguration.class
+})
+@Sql(value = {
+    "classpath:test-data/cleanup-notification.sql",
+    "classpath:test-data/cleanup-subscriptions.sql"
+}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class PushOutboxRelayTest {
+    private static final String USER_ID = "auth|ff9d85fcc3c505949092c";
+    private static final Instant NOW = Instant.parse("2025-02-26T10:00:00Z");
+    @Autowired
+    private PushOutboxRelay relay;
+    @Autowired
+    private PushOutboxEntityRepository repository;
+    @Autowired
+    private SubscriptionEntityRepository subscriptionRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @MockitoBean
+    private UserManager userManager;
+    @MockitoBean
+    private ScheduleManager scheduleManager;
+    @MockitoBean
+    private MedicationManager medicationManager;
+    @MockitoBean
+    private CabinetEntryManager cabinetEntryManager;
+    @MockitoBean
+    private DocumentManager documentManager;
+    @MockitoBean
+    private EventManager eventManager;
+    private StubPushEndpoint endpoint;
+
+    @AfterEach
+    void tearDown() {
+        if (endpoint != null) endpoint.close();
+    }
+
+    @Nested
+    class drain {
+        @Test
+        void deliversNotifications() throws Exception {
+            setUpEndpoint(201);
+            PushOutboxEntity entity = repository.save(createOutboxEntity());
+            relay.drain();
+            assertThat(endpoint.received()).isEqualTo(1);
+            assertThat(repository.existsById(entity.getId())).isFalse();
+        }
+
+        @Test
+        void recordsMetrics() throws Exception {
+            setUpEndpoint(201);
+            double delivered = meterRegistry.counter("notification.push.deliveries", "outcome", "delivered").count();
+            repository.save(createOutboxEntity());
+            relay.drain();
+            assertThat(meterRegistry.counter("notification.push.deliveries", "outcome", "delivered").count()).isEqualTo(delivered + 1);
+            assertThat(meterRegistry.summary("notification.push.attempts").count()).isPositive();
+        }
+
+        @Test
+        void removesGoneSubscription() throws Exception {
+            setUpEndpoint(410);
+            PushOutboxEntity entity = repository.save(createOutboxEntity());
+            PushOutboxEntity otherEntity = repository.save(new PushOutboxEntity(UUID.randomUUID(), USER_ID, "{}", NOW.plusSeconds(60)));
+            relay.drain();
+            assertThat(subscriptionRepository.existsById(USER_ID)).isFalse();
+            assertThat(repository.existsById(entity.getId())).isFalse();
+            assertThat(repository.existsById(otherEntity.getId())).isFalse();
+        }
+
+        @Test
+        void retriesWithBackoff() throws Exception {
+            setUpEndpoint(500);
+            PushOutboxEntity entity = repository.save(createOutboxEntity());
+            relay.drain();
+            assertThat(repository.findById(entity.getId()))
+                .get()
+                .extracting(PushOutboxEntity::getAttempts, PushOutboxEntity::getNextAttemptAt)
+                .containsExactly(1, NOW.plusSeconds(30));
+            assertThat(subscriptionRepository.existsById(USER_ID)).isTrue();
+        }
+
+        @Test
+        void dropsNotificationAfterMaxAttempts() throws Exception {
+            setUpEndpoint(500);
+            PushOutboxEntity entity = createOutboxEntity();
+            entity.setAttempts(7);
+            repository.save(entity);
+            relay.drain();
+            assertThat(repository.existsById(entity.getId())).isFalse();
+        }
+
+        @Test
+        void skipsNotificationsThatAreNotDue() throws Exception {
+            setUpEndpoint(201);
+            PushOutboxEntity entity = repository.save(new PushOutboxEntity(UUID.randomUUID(), USER_ID, "{}", NOW.plusSeconds(60)));
+            relay.drain();
+            assertThat(endpoint.received()).isZero();
+            assertThat(repository.existsById(entity.getId())).isTrue();
+        }
+
+        @Test
+        void dropsNotificationsWithoutSubscription() throws Exception {
+            setUpEndpoint(201);
+            subscriptionRepository.deleteAll();
+            PushOutboxEntity entity = repository.save(createOutboxEntity());
+            relay.drain();
+            assertThat(endpoint.received()).isZero();
+            assertThat(repository.existsById(entity.getId())).isFalse();
+        }
+
+        @Test
+        void continuesAfterBatchWithoutDeliveries() throws Exception {
+            setUpEndpoint(201);
+            repository.saveAll(IntStream
+                .range(0, 100)
+                .mapToObj(index -> new PushOutboxEntity(UUID.randomUUID(), "auth|unsubscribed", "{}", NOW.minusSeconds(60)))
+                .toList());
+            repository.save(createOutboxEntity());
+            relay.drain();
+            assertThat(endpoint.received()).isEqualTo(1);
+            assertThat(repository.count()).isZero();
+        }
+    }
+
+    @Nested
+    class calculateBackoff {
+        @Test
+        void doublesEveryAttempt() {
+            assertThat(relay.calculateBackoff(1)).isEqualTo(Duration.ofSeconds(30));
+            assertThat(relay.calculateBackoff(2)).isEqualTo(Duration.ofMinutes(1));
+            assertThat(relay.calculateBackoff(3)).isEqualTo(Duration.ofMinutes(2));
+        }
+
+        @Test
+        void isLimited() {
+            assertThat(relay.calculateBackoff(8)).isEqualTo(Duration.ofHours(1));
+            assertThat(relay.calculateBackoff(100)).isEqualTo(Duration.ofHours(1));
+        }
+    }
+
+    private void setUpEndpoint(int status) throws Exception {
+        endpoint = new StubPushEndpoint(Duration.ZERO, status);
+        subscriptionRepository.save(new SubscriptionEntity(USER_ID, endpoint.endpoint(), SUBSCRIPTION_KEY, SUBSCRIPTION_AUTH));
+    }
+
+    private static PushOutboxEntity createOutboxEntity() {
+        return new PushOutboxEntity(
+            UUID.randomUUID(),
+            USER_ID,
+            "{\"notification\":{\"title\":\"Time to take your medicine\"}}",
+            NOW
+        );
+    }
+}
@@ -0,0 +1,54 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class KeyRangePartitionerTest {
+    @Test
+    void splitsItemsIntoContiguousRanges() {
+        Map<String, ExecutionContext> partitions = partitionerOf("key3", "key6", "key9").partition(3);
+        assertThat(partitions.values())
+            .extracting(
+                context -> context.get(KeyRangePartitioner.AFTER_KEY),
+                context -> context.get(KeyRangePartitioner.UNTIL_KEY))
+            .containsExactlyInAnyOrder(
+                tuple(null, "key3"),
+                tuple("key3", "key6"),
+                tuple("key6", null));
+    }
+
+    @Test
+    void createsSinglePartitionIfOneRange() {
+        Map<String, ExecutionContext> partitions = partitionerOf("key1").partition(4);
+        assertThat(partitions.values())
+            .extracting(
+                context -> context.get(KeyRangePartitioner.AFTER_KEY),
+                context -> context.get(KeyRangePartitioner.UNTIL_KEY))
+            .containsExactly(tuple(null, null));
+    }
+
+    @Test
+    void createsUnboundedPartitionIfNoItems() {
+        Map<String, ExecutionContext> partitions = partitionerOf().partition(4);
+        assertThat(partitions.values())
+            .extracting(
+                context -> context.get(KeyRangePartitioner.AFTER_KEY),
+                context -> context.get(KeyRangePartitioner.UNTIL_KEY))
+            .containsExactly(tuple(null, null));
+    }
+
+    private static KeyRangePartitioner<String> partitionerOf(String... lastKeys) {
+        return new KeyRangePartitioner<>() {
+            @Override
+            protected List<String> findLastKeys(int gridSize) {
+                return List.of(lastKeys);
+            }
+        };
+    }
+}
@@ -0,0 +1,117 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.notification.implementation.NotificationEntityRepository;
+import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.test.JobRepositoryTestUtils;
+import org.springframework.batch.test.context.SpringBatchTest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the partitioned notification steps outperform their single-threaded worker steps.
+ * The partitioned step runs first so that it absorbs the warm-up cost.
+ * Run with {@code -Dbenchmark=true}.
+ */
+@Slf4j
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBatchTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.MOCK)
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:tc:postgresql:latest:///mediminder",
+    "spring.datasource.hikari.maximum-pool-size=10",
+    "spring.datasource.hikari.minimum-idle=10",
+    "notification.public-key=BIyq6YYFYOCttqL-N22xS84_EfO2CFYhn86ZW4gkzIK_uTht7rofUlIrXpu_r4-BT-qmf2TZFAq92jKhcBFIF-w",
+    "notification.private-key=CX5aOzJFXYQszpj__Trqa9GOIupZMLRrubTxsc3zNg0",
+    "notification.scheduler.intake-cron=-",
+    "notification.scheduler.notification-cron=-",
+    "notification.partition.grid-size=8",
+    "notification.partition.concurrency-limit=8",
+    "spring.batch.job.enabled=false",
+    "spring.ai.model.chat=openai",
+    "spring.ai.openai.api-key=dummy"
+})
+@Import({
+    TestClockConfiguration.class
+})
+@Sql("classpath:test-data/notification-benchmark.sql")
+@Sql(value = {
+    "classpath:test-data/cleanup-notification.sql",
+    "classpath:test-data/cleanup-cabinet-entries.sql",
+    "classpath:test-data/cleanup-schedules.sql",
+    "classpath:test-data/cleanup-users.sql",
+    "classpath:test-data/cleanup-medication.sql"
+}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class NotificationBatchBenchmarkTest {
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private JobLauncher jobLauncher;
+    @Autowired
+    private JobRepositoryTestUtils jobRepositoryTestUtils;
+    @Autowired
+    private NotificationEntityRepository repository;
+
+    @AfterEach
+    void tearDown() {
+        jobRepositoryTestUtils.removeJobExecutions();
+    }
+
+    @Test
+    void comparesOutOfDoseSteps(
+        @Autowired @Qualifier("outOfDoseWorkerStep") Step sequentialStep,
+        @Autowired @Qualifier("outOfDoseStep") Step partitionedStep) throws Exception {
+        compare(sequentialStep, partitionedStep, LocalDateTime.of(2025, 2, 26, 0, 0));
+    }
+
+    private void compare(Step sequentialStep, Step partitionedStep, LocalDateTime date) throws Exception {
+        JobParameters parameters = new JobParametersBuilder()
+            .addLocalDateTime("date", date)
+            .toJobParameters();
+        JobExecution partitionedExecution = run(partitionedStep, parameters);
+        long partitionedCount = repository.count();
+        repository.deleteAllInBatch();
+        JobExecution sequentialExecution = run(sequentialStep, parameters);
+        long sequentialCount = repository.count();
+        Duration partitioned = durationOf(partitionedExecution);
+        Duration sequential = durationOf(sequentialExecution);
+        log.info("{}: sequential {} ms, partitioned {} ms", partitionedStep.getName(), sequential.toMillis(), partitioned.toMillis());
+        assertThat(partitionedCount).isEqualTo(sequentialCount);
+        assertThat(partitionedExecution.getStepExecutions()).hasSizeGreaterThan(2);
+        assertThat(partitioned).isLessThan(sequential);
+    }
+
+    private JobExecution run(Step step, JobParameters parameters) throws Exception {
+        Job job = new JobBuilder(step.getName() + "BenchmarkJob", jobRepository).start(step).build();
+        JobExecution execution = jobLauncher.run(job, parameters);
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        return execution;
+    }
+
+    private static Duration durationOf(JobExecution execution) {
+        return Duration.between(execution.getStartTime(), execution.getEndTime());
+    }
+}
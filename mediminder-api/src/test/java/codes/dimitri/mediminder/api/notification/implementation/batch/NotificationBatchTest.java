@@ -1,20 +1,24 @@
 package codes.dimitri.mediminder.api.notification.implementation.batch;
 
 import codes.dimitri.mediminder.api.notification.NotificationType;
+import codes.dimitri.mediminder.api.notification.implementation.HttpClientPushService;
 import codes.dimitri.mediminder.api.notification.implementation.NotificationEntity;
 import codes.dimitri.mediminder.api.notification.implementation.NotificationEntityRepository;
+import codes.dimitri.mediminder.api.notification.implementation.PushOutboxEntityRepository;
 import codes.dimitri.mediminder.api.notification.implementation.SubscriptionEntityRepository;
 import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
 import nl.martijndwars.webpush.Notification;
-import nl.martijndwars.webpush.PushService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.springframework.batch.core.BatchStatus;
 import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.test.JobLauncherTestUtils;
@@ -26,16 +30,23 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.json.JsonContentAssert;
 import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.simple.JdbcClient;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.jdbc.Sql;
 
+import java.net.http.HttpResponse;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.Mockito.*;
 
 @SpringBatchTest
@@ -47,6 +58,9 @@ import static org.mockito.Mockito.*;
     "spring.datasource.hikari.minimum-idle=2",
     "notification.public-key=BIyq6YYFYOCttqL-N22xS84_EfO2CFYhn86ZW4gkzIK_uTht7rofUlIrXpu_r4-BT-qmf2TZFAq92jKhcBFIF-w",
     "notification.private-key=CX5aOzJFXYQszpj__Trqa9GOIupZMLRrubTxsc3zNg0",
+    "notification.scheduler.intake-cron=-",
+    "notification.scheduler.notification-cron=-",
+    "notification.cleanup.batch-size=2",
     "spring.batch.job.enabled=false",
     "spring.ai.model.chat=openai",
     "spring.ai.openai.api-key=dummy"
@@ -71,24 +85,40 @@ class NotificationBatchTest {
     @Autowired
     private JobLauncher jobLauncher;
     @Autowired
+    @Qualifier("intakeJobLauncher")
+    private JobLauncher intakeJobLauncher;
+    @Autowired
     @Qualifier("notificationJob")
     private Job job;
     @Autowired
+    @Qualifier("intakeJob")
+    private Job intakeJob;
+    @Autowired
     private JobLauncherTestUtils jobLauncherTestUtils;
     @Autowired
     private JobRepositoryTestUtils jobRepositoryTestUtils;
     @Autowired
+    private BatchMetadataPurger metadataPurger;
+    @Autowired
+    private JdbcClient jdbcClient;
+    @Autowired
     private NotificationEntityRepository repository;
     @Autowired
     private SubscriptionEntityRepository subscriptionRepository;
+    @Autowired
+    private PushOutboxEntityRepository outboxRepository;
     @MockitoSpyBean
-    private PushService pushService;
+    private HttpClientPushService pushService;
     @Captor
     private ArgumentCaptor<Notification> anyNotificiation;
 
     @BeforeEach
-    void setUp() {
+    void setUp() throws Exception {
         jobLauncherTestUtils.setJob(job);
+        jobLauncherTestUtils.setJobLauncher(jobLauncher);
+        HttpResponse<Void> response = mock();
+        when(response.statusCode()).thenReturn(201);
+        doReturn(CompletableFuture.completedFuture(response)).when(pushService).sendAsync(any());
     }
 
     @AfterEach
@@ -104,7 +134,98 @@ class NotificationBatchTest {
             .toJobParameters();
         var jobExecution = jobLauncherTestUtils.launchJob(parameters);
         assertThat(jobExecution.getExitStatus()).isEqualTo(ExitStatus.COMPLETED);
-        assertThat(repository.count()).isEqualTo(7);
+        assertThat(repository.count()).isEqualTo(6);
+    }
+
+    @Test
+    void completesAllSteps() throws Exception {
+        var date = LocalDateTime.of(2025, 2, 26, 0, 0);
+        var parameters = new JobParametersBuilder()
+            .addLocalDateTime("date", date)
+            .toJobParameters();
+        var jobExecution = jobLauncherTestUtils.launchJob(parameters);
+        assertThat(jobExecution.getStepExecutions())
+            .filteredOn(stepExecution -> !stepExecution.getStepName().contains(":"))
+            .extracting(StepExecution::getStepName, StepExecution::getStatus)
+            .containsExactlyInAnyOrder(
+                tuple("notificationCleanupStep", BatchStatus.COMPLETED),
+                tuple("outOfDoseStep", BatchStatus.COMPLETED),
+                tuple("expiryStep", BatchStatus.COMPLETED),
+                tuple("documentExpiryStep", BatchStatus.COMPLETED));
+    }
+
+    @Test
+    void doesNotCreateDuplicateNotifications() throws Exception {
+        var date = LocalDateTime.of(2025, 2, 26, 0, 0);
+        jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+            .addLocalDateTime("date", date)
+            .toJobParameters());
+        jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+            .addLocalDateTime("date", date.plusMinutes(1))
+            .toJobParameters());
+        assertThat(repository.count()).isEqualTo(6);
+    }
+
+    @Test
+    void completesAllIntakeSteps() throws Exception {
+        useIntakeJob();
+        var date = LocalDateTime.of(2025, 2, 26, 10, 0);
+        var parameters = new JobParametersBuilder()
+            .addLocalDateTime("date", date)
+            .toJobParameters();
+        var jobExecution = jobLauncherTestUtils.launchJob(parameters);
+        assertThat(jobExecution.getStepExecutions())
+            .extracting(StepExecution::getStepName, StepExecution::getStatus)
+            .containsExactly(
+                tuple("notificationCleanupStep", BatchStatus.COMPLETED),
+                tuple("intakeStep", BatchStatus.COMPLETED));
+    }
+
+    @Test
+    void doesNotCreateDuplicateIntakeNotifications() throws Exception {
+        useIntakeJob();
+        var date = LocalDateTime.of(2025, 2, 26, 10, 0);
+        jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+            .addLocalDateTime("date", date)
+            .toJobParameters());
+        jobLauncherTestUtils.launchJob(new JobParametersBuilder()
+            .addLocalDateTime("date", date.plusMinutes(1))
+            .toJobParameters());
+        assertThat(repository.findAll())
+            .filteredOn(entity -> entity.getType() == NotificationType.INTAKE_EVENT)
+            .hasSize(1);
+    }
+
+    @Test
+    void doesNotStoreIntakeJobMetadata() throws Exception {
+        useIntakeJob();
+        var date = LocalDateTime.of(2025, 2, 26, 10, 0);
+        var parameters = new JobParametersBuilder()
+            .addLocalDateTime("date", date)
+            .toJobParameters();
+        var jobExecution = jobLauncherTestUtils.launchJob(parameters);
+        assertThat(jobExecution.getExitStatus()).isEqualTo(ExitStatus.COMPLETED);
+        assertThat(jobRepository.getLastJobExecution("intakeJob", parameters)).isNull();
+    }
+
+    @Test
+    void purgesOldJobMetadata() throws Exception {
+        var date = LocalDateTime.of(2025, 2, 26, 0, 0);
+        var oldParameters = new JobParametersBuilder()
+            .addLocalDateTime("date", date.minusDays(31))
+            .toJobParameters();
+        var recentParameters = new JobParametersBuilder()
+            .addLocalDateTime("date", date)
+            .toJobParameters();
+        var oldExecution = jobLauncherTestUtils.launchJob(oldParameters);
+        jobLauncherTestUtils.launchJob(recentParameters);
+        jdbcClient
+            .sql("update batch_job_execution set end_time = ? where job_execution_id = ?")
+            .params(date.minusDays(31), oldExecution.getId())
+            .update();
+        assertThat(metadataPurger.purge()).isEqualTo(1);
+        assertThat(jobRepository.getLastJobExecution("notificationJob", oldParameters)).isNull();
+        assertThat(jobRepository.getLastJobExecution("notificationJob", recentParameters)).isNotNull();
     }
 
     @Test
@@ -130,7 +251,7 @@ class NotificationBatchTest {
             .filteredOn(entity -> medicationId.equals(entity.getInitiatorId()))
             .singleElement()
             .usingRecursiveComparison()
-            .ignoringFields("id")
+            .ignoringFields("id", "isNew")
             .isEqualTo(new NotificationEntity(
                 USER_ID,
                 NotificationType.SCHEDULE_OUT_OF_DOSES,
@@ -148,7 +269,8 @@ class NotificationBatchTest {
             .addLocalDateTime("date", date)
             .toJobParameters();
         jobLauncherTestUtils.launchJob(parameters);
-        verify(pushService, atLeastOnce()).send(anyNotificiation.capture());
+        awaitOutboxDrained();
+        verify(pushService, atLeastOnce()).sendAsync(anyNotificiation.capture());
         assertThat(anyNotificiation.getAllValues())
             .extracting(Notification::getPayload)
             .map(String::new)
@@ -171,7 +293,7 @@ class NotificationBatchTest {
             .filteredOn(entity -> medicationId.equals(entity.getInitiatorId()))
             .singleElement()
             .usingRecursiveComparison()
-            .ignoringFields("id")
+            .ignoringFields("id", "isNew")
             .isEqualTo(new NotificationEntity(
                 USER_ID,
                 NotificationType.SCHEDULE_ALMOST_OUT_OF_DOSES,
@@ -189,7 +311,8 @@ class NotificationBatchTest {
             .addLocalDateTime("date", date)
             .toJobParameters();
         jobLauncherTestUtils.launchJob(parameters);
-        verify(pushService, atLeastOnce()).send(anyNotificiation.capture());
+        awaitOutboxDrained();
+        verify(pushService, atLeastOnce()).sendAsync(anyNotificiation.capture());
         assertThat(anyNotificiation.getAllValues())
             .extracting(Notification::getPayload)
             .map(String::new)
@@ -212,7 +335,7 @@ class NotificationBatchTest {
             .filteredOn(entity -> cabinetEntryId.equals(entity.getInitiatorId()))
             .singleElement()
             .usingRecursiveComparison()
-            .ignoringFields("id")
+            .ignoringFields("id", "isNew")
             .isEqualTo(new NotificationEntity(
                 USER_ID,
                 NotificationType.CABINET_ENTRY_EXPIRED,
@@ -230,7 +353,8 @@ class NotificationBatchTest {
             .addLocalDateTime("date", date)
             .toJobParameters();
         jobLauncherTestUtils.launchJob(parameters);
-        verify(pushService, atLeastOnce()).send(anyNotificiation.capture());
+        awaitOutboxDrained();
+        verify(pushService, atLeastOnce()).sendAsync(anyNotificiation.capture());
         assertThat(anyNotificiation.getAllValues())
             .extracting(Notification::getPayload)
             .map(String::new)
@@ -253,7 +377,7 @@ class NotificationBatchTest {
             .filteredOn(entity -> cabinetEntryId.equals(entity.getInitiatorId()))
             .singleElement()
             .usingRecursiveComparison()
-            .ignoringFields("id")
+            .ignoringFields("id", "isNew")
             .isEqualTo(new NotificationEntity(
                 USER_ID,
                 NotificationType.CABINET_ENTRY_ALMOST_EXPIRED,
@@ -271,7 +395,8 @@ class NotificationBatchTest {
             .addLocalDateTime("date", date)
             .toJobParameters();
         jobLauncherTestUtils.launchJob(parameters);
-        verify(pushService, atLeastOnce()).send(anyNotificiation.capture());
+        awaitOutboxDrained();
+        verify(pushService, atLeastOnce()).sendAsync(anyNotificiation.capture());
         assertThat(anyNotificiation.getAllValues())
             .extracting(Notification::getPayload)
             .map(String::new)
@@ -294,7 +419,7 @@ class NotificationBatchTest {
             .filteredOn(entity -> documentId.equals(entity.getInitiatorId()))
             .singleElement()
             .usingRecursiveComparison()
-            .ignoringFields("id")
+            .ignoringFields("id", "isNew")
             .isEqualTo(new NotificationEntity(
                 USER_ID,
                 NotificationType.DOCUMENT_EXPIRED,
@@ -312,7 +437,8 @@ class NotificationBatchTest {
             .addLocalDateTime("date", date)
             .toJobParameters();
         jobLauncherTestUtils.launchJob(parameters);
-        verify(pushService, atLeastOnce()).send(anyNotificiation.capture());
+        awaitOutboxDrained();
+        verify(pushService, atLeastOnce()).sendAsync(anyNotificiation.capture());
         assertThat(anyNotificiation.getAllValues())
             .extracting(Notification::getPayload)
             .map(String::new)
@@ -335,7 +461,7 @@ class NotificationBatchTest {
             .filteredOn(entity -> documentId.equals(entity.getInitiatorId()))
             .singleElement()
             .usingRecursiveComparison()
-            .ignoringFields("id")
+            .ignoringFields("id", "isNew")
             .isEqualTo(new NotificationEntity(
                 USER_ID,
                 NotificationType.DOCUMENT_ALMOST_EXPIRED,
@@ -353,7 +479,8 @@ class NotificationBatchTest {
             .addLocalDateTime("date", date)
             .toJobParameters();
         jobLauncherTestUtils.launchJob(parameters);
-        verify(pushService, atLeastOnce()).send(anyNotificiation.capture());
+        awaitOutboxDrained();
+        verify(pushService, atLeastOnce()).sendAsync(anyNotificiation.capture());
         assertThat(anyNotificiation.getAllValues())
             .extracting(Notification::getPayload)
             .map(String::new)
@@ -367,6 +494,7 @@ class NotificationBatchTest {
     @Test
     void createsIntakeNotification() throws Exception {
         UUID scheduleId = UUID.fromString("61b1056e-66b2-4665-9d65-3469cb7b8ffe");
+        useIntakeJob();
         var date = LocalDateTime.of(2025, 2, 26, 10, 0);
         var parameters = new JobParametersBuilder()
             .addLocalDateTime("date", date)
@@ -376,7 +504,7 @@ class NotificationBatchTest {
             .filteredOn(entity -> scheduleId.equals(entity.getInitiatorId()))
             .singleElement()
             .usingRecursiveComparison()
-            .ignoringFields("id")
+            .ignoringFields("id", "isNew")
             .isEqualTo(new NotificationEntity(
                 USER_ID,
                 NotificationType.INTAKE_EVENT,
@@ -389,12 +517,14 @@ class NotificationBatchTest {
 
     @Test
     void sendsIntakePushNotification() throws Exception {
+        useIntakeJob();
         var date = LocalDateTime.of(2025, 2, 26, 0, 0);
         var parameters = new JobParametersBuilder()
             .addLocalDateTime("date", date)
             .toJobParameters();
         jobLauncherTestUtils.launchJob(parameters);
-        verify(pushService, atLeastOnce()).send(anyNotificiation.capture());
+        awaitOutboxDrained();
+        verify(pushService, atLeastOnce()).sendAsync(anyNotificiation.capture());
         assertThat(anyNotificiation.getAllValues())
             .extracting(Notification::getPayload)
             .map(String::new)
@@ -416,4 +546,35 @@ class NotificationBatchTest {
         jobLauncherTestUtils.launchJob(parameters);
         assertThat(repository.existsById(id)).isFalse();
     }
-}
\ No newline at end of file
+
+    @Test
+    void cleansUpOldNotificationsInBatches() throws Exception {
+        IntStream.range(0, 4).forEach(index -> repository.save(new NotificationEntity(
+            USER_ID,
+            NotificationType.INTAKE_EVENT,
+            UUID.randomUUID(),
+            "Time to take your medicine",
+            "You have to take 'Dafalgan' at 10:00",
+            Instant.parse("2025-02-26T09:00:00Z")
+        )));
+        var date = LocalDateTime.of(2025, 2, 26, 0, 0);
+        var parameters = new JobParametersBuilder()
+            .addLocalDateTime("date", date)
+            .toJobParameters();
+        JobExecution execution = jobLauncherTestUtils.launchStep("notificationCleanupStep", parameters);
+        StepExecution stepExecution = execution.getStepExecutions().iterator().next();
+        assertThat(stepExecution.getWriteCount()).isEqualTo(5);
+        assertThat(stepExecution.getCommitCount()).isEqualTo(3);
+        assertThat(stepExecution.getExecutionContext().getLong("deletedCount")).isEqualTo(5);
+        assertThat(repository.findAll()).noneMatch(notification -> notification.getDeleteAt().isBefore(Instant.parse("2025-02-26T10:00:00Z")));
+    }
+
+    private void awaitOutboxDrained() {
+        await().untilAsserted(() -> assertThat(outboxRepository.count()).isZero());
+    }
+
+    private void useIntakeJob() {
+        jobLauncherTestUtils.setJob(intakeJob);
+        jobLauncherTestUtils.setJobLauncher(intakeJobLauncher);
+    }
+}
@@ -0,0 +1,127 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.cabinet.CabinetEntryManager;
+import codes.dimitri.mediminder.api.document.DocumentManager;
+import codes.dimitri.mediminder.api.medication.MedicationManager;
+import codes.dimitri.mediminder.api.notification.NotificationType;
+import codes.dimitri.mediminder.api.notification.implementation.NotificationEntity;
+import codes.dimitri.mediminder.api.notification.implementation.NotificationEntityRepository;
+import codes.dimitri.mediminder.api.schedule.EventManager;
+import codes.dimitri.mediminder.api.schedule.ScheduleManager;
+import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
+import codes.dimitri.mediminder.api.user.UserManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ApplicationModuleTest
+@Transactional
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:tc:postgresql:latest:///mediminder",
+    "notification.public-key=BIyq6YYFYOCttqL-N22xS84_EfO2CFYhn86ZW4gkzIK_uTht7rofUlIrXpu_r4-BT-qmf2TZFAq92jKhcBFIF-w",
+    "notification.private-key=CX5aOzJFXYQszpj__Trqa9GOIupZMLRrubTxsc3zNg0",
+    "notification.scheduler.intake-cron=-",
+    "notification.scheduler.notification-cron=-",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.minimum-idle=2",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({
+    TestClockConfiguration.class
+})
+@Sql(value = "classpath:test-data/cleanup-notification.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class NotificationDeduplicatingItemWriterTest {
+    private static final String USER_ID = "auth|ff9d85fcc3c505949092c";
+    @Autowired
+    private NotificationEntityRepository repository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockitoBean
+    private UserManager userManager;
+    @MockitoBean
+    private ScheduleManager scheduleManager;
+    @MockitoBean
+    private MedicationManager medicationManager;
+    @MockitoBean
+    private CabinetEntryManager cabinetEntryManager;
+    @MockitoBean
+    private DocumentManager documentManager;
+    @MockitoBean
+    private EventManager eventManager;
+    @SuppressWarnings("unchecked")
+    private final ItemWriter<NotificationEntity> delegate = mock(ItemWriter.class);
+    private NotificationDeduplicatingItemWriter writer;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        writer = new NotificationDeduplicatingItemWriter(repository, delegate);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void skipsExistingNotificationsWithSingleQuery() throws Exception {
+        List<NotificationEntity> notifications = IntStream
+            .range(0, 50)
+            .mapToObj(index -> createNotification(UUID.randomUUID()))
+            .toList();
+        repository.saveAllAndFlush(notifications.subList(0, 25));
+        statistics.clear();
+        writer.write(new Chunk<>(notifications));
+        ArgumentCaptor<Chunk<NotificationEntity>> anyChunk = ArgumentCaptor.forClass(Chunk.class);
+        verify(delegate).write(anyChunk.capture());
+        assertThat(anyChunk.getValue().getItems()).containsExactlyElementsOf(notifications.subList(25, 50));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void skipsDuplicatesWithinChunk() throws Exception {
+        UUID initiatorId = UUID.randomUUID();
+        NotificationEntity notification = createNotification(initiatorId);
+        writer.write(new Chunk<>(notification, createNotification(initiatorId)));
+        ArgumentCaptor<Chunk<NotificationEntity>> anyChunk = ArgumentCaptor.forClass(Chunk.class);
+        verify(delegate).write(anyChunk.capture());
+        assertThat(anyChunk.getValue().getItems()).containsExactly(notification);
+    }
+
+    @Test
+    void doesNotWriteIfAllNotificationsExist() throws Exception {
+        NotificationEntity notification = createNotification(UUID.randomUUID());
+        repository.saveAndFlush(notification);
+        writer.write(new Chunk<>(createNotification(notification.getInitiatorId())));
+        verifyNoInteractions(delegate);
+    }
+
+    private static NotificationEntity createNotification(UUID initiatorId) {
+        return new NotificationEntity(
+            USER_ID,
+            NotificationType.INTAKE_EVENT,
+            initiatorId,
+            "Time to take your medicine",
+            "You have to take 'Dafalgan' at 10:00",
+            Instant.parse("2025-03-01T10:00:00Z")
+        );
+    }
+}
@@ -0,0 +1,105 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.cabinet.CabinetEntryManager;
+import codes.dimitri.mediminder.api.document.DocumentManager;
+import codes.dimitri.mediminder.api.medication.MedicationManager;
+import codes.dimitri.mediminder.api.notification.NotificationType;
+import codes.dimitri.mediminder.api.notification.implementation.NotificationEntity;
+import codes.dimitri.mediminder.api.notification.implementation.NotificationEntityRepository;
+import codes.dimitri.mediminder.api.schedule.EventManager;
+import codes.dimitri.mediminder.api.schedule.ScheduleManager;
+import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
+import codes.dimitri.mediminder.api.user.UserManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ApplicationModuleTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:tc:postgresql:latest:///mediminder",
+    "notification.public-key=BIyq6YYFYOCttqL-N22xS84_EfO2CFYhn86ZW4gkzIK_uTht7rofUlIrXpu_r4-BT-qmf2TZFAq92jKhcBFIF-w",
+    "notification.private-key=CX5aOzJFXYQszpj__Trqa9GOIupZMLRrubTxsc3zNg0",
+    "notification.scheduler.intake-cron=-",
+    "notification.scheduler.notification-cron=-",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.minimum-idle=2",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({
+    TestClockConfiguration.class
+})
+@Sql(value = "classpath:test-data/cleanup-notification.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class NotificationItemWriterTest {
+    @Autowired
+    private NotificationItemWriter writer;
+    @Autowired
+    private NotificationEntityRepository repository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @MockitoBean
+    private UserManager userManager;
+    @MockitoBean
+    private ScheduleManager scheduleManager;
+    @MockitoBean
+    private MedicationManager medicationManager;
+    @MockitoBean
+    private CabinetEntryManager cabinetEntryManager;
+    @MockitoBean
+    private DocumentManager documentManager;
+    @MockitoBean
+    private EventManager eventManager;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void insertsChunkInSingleBatch() {
+        List<NotificationEntity> notifications = IntStream
+            .range(0, 50)
+            .mapToObj(index -> new NotificationEntity(
+                "auth|ff9d85fcc3c505949092c",
+                NotificationType.INTAKE_EVENT,
+                UUID.randomUUID(),
+                "Notification " + index,
+                "Message " + index,
+                Instant.parse("2025-03-01T10:00:00Z")
+            ))
+            .toList();
+        transactionTemplate.executeWithoutResult(status -> writeChunk(notifications));
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(50);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(repository.count()).isEqualTo(50);
+    }
+
+    private void writeChunk(List<NotificationEntity> notifications) {
+        try {
+            writer.write(new Chunk<>(notifications));
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
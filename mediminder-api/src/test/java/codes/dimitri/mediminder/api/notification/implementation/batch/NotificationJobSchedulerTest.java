@@ -0,0 +1,99 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.notification.implementation.NotificationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class NotificationJobSchedulerTest {
+    private static final Instant NOW = Instant.parse("2025-02-26T10:00:00Z");
+    private final SchedulerLock lock = mock();
+    private final JobLauncher jobLauncher = mock();
+    private final JobLauncher intakeJobLauncher = mock();
+    private final BatchMetadataPurger metadataPurger = mock();
+    private final Job intakeJob = mock();
+    private final Job notificationJob = mock();
+    private NotificationJobScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        NotificationProperties properties = new Binder(new MapConfigurationPropertySource(Map.of(
+            "notification.scheduler.lease-renewal-interval", "50ms"
+        )))
+            .bindOrCreate("notification", NotificationProperties.class);
+        Clock clock = Clock.fixed(NOW, ZoneId.of("UTC"));
+        scheduler = new NotificationJobScheduler(clock, intakeJob, notificationJob, jobLauncher, intakeJobLauncher, metadataPurger, lock, properties);
+        when(intakeJob.getName()).thenReturn("intakeJob");
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.close();
+    }
+
+    @Test
+    void runsJobIfLockIsAcquired() throws Exception {
+        when(lock.tryAcquire("intakeJob", NOW)).thenReturn(true);
+        scheduler.runExclusively(intakeJob, jobLauncher);
+        verify(jobLauncher).run(eq(intakeJob), any(JobParameters.class));
+        verify(lock).release("intakeJob", NOW);
+    }
+
+    @Test
+    void renewsLockWhileJobRuns() throws Exception {
+        when(lock.tryAcquire("intakeJob", NOW)).thenReturn(true);
+        when(lock.renew("intakeJob")).thenReturn(true);
+        when(jobLauncher.run(eq(intakeJob), any(JobParameters.class))).thenAnswer(invocation -> {
+            verify(lock, timeout(1000).atLeast(2)).renew("intakeJob");
+            return null;
+        });
+        scheduler.runExclusively(intakeJob, jobLauncher);
+        verify(lock).release("intakeJob", NOW);
+    }
+
+    @Test
+    void skipsJobIfLockIsHeld() {
+        when(lock.tryAcquire("intakeJob", NOW)).thenReturn(false);
+        scheduler.runExclusively(intakeJob, jobLauncher);
+        verifyNoInteractions(jobLauncher);
+        verify(lock, never()).release(any(), any());
+    }
+
+    @Test
+    void releasesLockIfJobFails() throws Exception {
+        when(lock.tryAcquire("intakeJob", NOW)).thenReturn(true);
+        when(jobLauncher.run(eq(intakeJob), any(JobParameters.class))).thenThrow(new IllegalStateException("Failed"));
+        scheduler.runExclusively(intakeJob, jobLauncher);
+        verify(lock).release("intakeJob", NOW);
+    }
+
+    @Test
+    void runsIntakeJobWithItsOwnLauncher() throws Exception {
+        when(lock.tryAcquire("intakeJob", NOW)).thenReturn(true);
+        scheduler.scheduleIntakeJob();
+        verify(intakeJobLauncher, timeout(1000)).run(eq(intakeJob), any(JobParameters.class));
+        verifyNoInteractions(jobLauncher);
+    }
+
+    @Test
+    void purgesMetadataIfLockIsAcquired() {
+        when(lock.tryAcquire("metadataPurge", NOW)).thenReturn(true);
+        scheduler.scheduleMetadataPurge();
+        verify(metadataPurger, timeout(1000)).purge();
+        verify(lock, timeout(1000)).release("metadataPurge", NOW);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,142 @@
+package codes.dimitri.mediminder.api.notification.implementation.batch;
+
+import codes.dimitri.mediminder.api.cabinet.CabinetEntryManager;
+import codes.dimitri.mediminder.api.document.DocumentManager;
+import codes.dimitri.mediminder.api.medication.MedicationManager;
+import codes.dimitri.mediminder.api.schedule.EventManager;
+import codes.dimitri.mediminder.api.schedule.ScheduleManager;
+import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
+import codes.dimitri.mediminder.api.user.UserManager;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ApplicationModuleTest
+@Transactional
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:tc:postgresql:latest:///mediminder",
+    "notification.public-key=BIyq6YYFYOCttqL-N22xS84_EfO2CFYhn86ZW4gkzIK_uTht7rofUlIrXpu_r4-BT-qmf2TZFAq92jKhcBFIF-w",
+    "notification.private-key=CX5aOzJFXYQszpj__Trqa9GOIupZMLRrubTxsc3zNg0",
+    "notification.scheduler.intake-cron=-",
+    "notification.scheduler.notification-cron=-",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.minimum-idle=2"
+})
+@Import({
+    TestClockConfiguration.class
+})
+class SchedulerLockTest {
+    private static final Instant NOW = Instant.parse("2025-02-26T10:00:00Z");
+    @Autowired
+    private SchedulerLock lock;
+    @Autowired
+    private SchedulerLockEntityRepository repository;
+    @MockitoBean
+    private UserManager userManager;
+    @MockitoBean
+    private ScheduleManager scheduleManager;
+    @MockitoBean
+    private MedicationManager medicationManager;
+    @MockitoBean
+    private CabinetEntryManager cabinetEntryManager;
+    @MockitoBean
+    private DocumentManager documentManager;
+    @MockitoBean
+    private EventManager eventManager;
+
+    @Nested
+    class tryAcquire {
+        @Test
+        void acquiresNewLock() {
+            assertThat(lock.tryAcquire("intakeJob", NOW)).isTrue();
+            assertThat(repository.findById("intakeJob"))
+                .get()
+                .extracting(SchedulerLockEntity::getLockedAt, SchedulerLockEntity::getLockedUntil)
+                .containsExactly(NOW, NOW.plusSeconds(1800));
+        }
+
+        @Test
+        void doesNotAcquireLockHeldByOtherInstance() {
+            repository.saveAndFlush(new SchedulerLockEntity("intakeJob", NOW.plusSeconds(60), NOW.minusSeconds(60), "other"));
+            assertThat(lock.tryAcquire("intakeJob", NOW)).isFalse();
+        }
+
+        @Test
+        void acquiresExpiredLock() {
+            repository.saveAndFlush(new SchedulerLockEntity("intakeJob", NOW, NOW.minusSeconds(1800), "other"));
+            assertThat(lock.tryAcquire("intakeJob", NOW)).isTrue();
+        }
+
+        @Test
+        void doesNotAcquireLockHeldBySameInstance() {
+            assertThat(lock.tryAcquire("intakeJob", NOW)).isTrue();
+            assertThat(lock.tryAcquire("intakeJob", NOW.plusSeconds(60))).isFalse();
+        }
+
+        @Test
+        void locksEachJobSeparately() {
+            assertThat(lock.tryAcquire("intakeJob", NOW)).isTrue();
+            assertThat(lock.tryAcquire("notificationJob", NOW)).isTrue();
+        }
+    }
+
+    @Nested
+    class renew {
+        @Test
+        void extendsLease() {
+            lock.tryAcquire("intakeJob", NOW.minusSeconds(1200));
+            assertThat(lock.renew("intakeJob")).isTrue();
+            assertThat(repository.findById("intakeJob"))
+                .get()
+                .extracting(SchedulerLockEntity::getLockedUntil)
+                .isEqualTo(NOW.plusSeconds(1800));
+        }
+
+        @Test
+        void doesNotRenewReleasedLock() {
+            lock.tryAcquire("intakeJob", NOW.minusSeconds(60));
+            lock.release("intakeJob", NOW.minusSeconds(60));
+            assertThat(lock.renew("intakeJob")).isFalse();
+        }
+
+        @Test
+        void doesNotRenewLockOfOtherInstance() {
+            repository.saveAndFlush(new SchedulerLockEntity("intakeJob", NOW.plusSeconds(60), NOW.minusSeconds(60), "other"));
+            assertThat(lock.renew("intakeJob")).isFalse();
+        }
+    }
+
+    @Nested
+    class release {
+        @Test
+        void keepsMinimumLease() {
+            lock.tryAcquire("intakeJob", NOW);
+            lock.release("intakeJob", NOW);
+            assertThat(lock.tryAcquire("intakeJob", NOW.plusSeconds(29))).isFalse();
+            assertThat(lock.tryAcquire("intakeJob", NOW.plusSeconds(30))).isTrue();
+        }
+
+        @Test
+        void releasesLockAfterMinimumLease() {
+            lock.tryAcquire("intakeJob", NOW.minusSeconds(60));
+            lock.release("intakeJob", NOW.minusSeconds(60));
+            assertThat(lock.tryAcquire("intakeJob", NOW)).isTrue();
+        }
+
+        @Test
+        void doesNotReleaseLockOfOtherInstance() {
+            repository.saveAndFlush(new SchedulerLockEntity("intakeJob", NOW.plusSeconds(60), NOW.minusSeconds(60), "other"));
+            lock.release("intakeJob", NOW.minusSeconds(60));
+            assertThat(lock.tryAcquire("intakeJob", NOW)).isFalse();
+        }
+    }
+}
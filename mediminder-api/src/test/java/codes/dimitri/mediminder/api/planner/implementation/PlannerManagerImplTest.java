@@ -26,6 +26,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -86,16 +87,49 @@ class PlannerManagerImplTest {
             when(userManager.findCurrentUser()).thenReturn(user);
             when(userManager.calculateTodayForUser(user.id())).thenReturn(today);
             when(medicationManager.findAllForCurrentUser(null, pageRequest)).thenReturn(medicationPage);
-            when(cabinetEntryManager.calculateTotalRemainingDosesByMedicationId(medication1.id())).thenReturn(new BigDecimal("30"));
-            when(cabinetEntryManager.calculateTotalRemainingDosesByMedicationId(medication2.id())).thenReturn(new BigDecimal("5"));
-            when(scheduleManager.calculateRequiredDoses(medication1.id(), expectedPeriod)).thenReturn(new BigDecimal("20"));
-            when(scheduleManager.calculateRequiredDoses(medication2.id(), expectedPeriod)).thenReturn(new BigDecimal("10"));
+            var medicationIds = List.of(medication1.id(), medication2.id());
+            when(cabinetEntryManager.calculateTotalRemainingDosesByMedicationIds(medicationIds)).thenReturn(Map.of(
+                medication1.id(), new BigDecimal("30"),
+                medication2.id(), new BigDecimal("5")));
+            when(scheduleManager.calculateRequiredDosesByMedicationIds(medicationIds, expectedPeriod)).thenReturn(Map.of(
+                medication1.id(), new BigDecimal("20"),
+                medication2.id(), new BigDecimal("10")));
             Page<MedicationPlannerDTO> results = plannerManager.findAll(targetDate, pageRequest);
             assertThat(results).containsExactly(
                 new MedicationPlannerDTO(medication1, new BigDecimal("30"), new BigDecimal("20")),
                 new MedicationPlannerDTO(medication2, new BigDecimal("5"), new BigDecimal("10")));
         }
 
+        @Test
+        void returnsZeroIfNoDosesOrSchedules() {
+            var user = new UserDTO(
+                "auth|ff9d85fcc3c505949092c",
+                "Harry Potter",
+                ZoneId.of("Europe/Brussels")
+            );
+            var today = LocalDateTime.of(2024, 6, 30, 10, 0);
+            var targetDate = LocalDate.of(2024, 7, 10);
+            var expectedPeriod = new SchedulePeriodDTO(today.toLocalDate(), targetDate);
+            var pageRequest = PageRequest.of(0, 10);
+            var medication = new MedicationDTO(
+                UUID.randomUUID(),
+                "Dafalgan 1g",
+                new MedicationTypeDTO("TABLET", "Tablet"),
+                new AdministrationTypeDTO("ORAL", "Oral"),
+                new DoseTypeDTO("TABLET", "tablet(s)"),
+                new BigDecimal("50"),
+                Color.RED
+            );
+            var medicationPage = new PageImpl<>(List.of(medication));
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(today);
+            when(medicationManager.findAllForCurrentUser(null, pageRequest)).thenReturn(medicationPage);
+            when(cabinetEntryManager.calculateTotalRemainingDosesByMedicationIds(List.of(medication.id()))).thenReturn(Map.of());
+            when(scheduleManager.calculateRequiredDosesByMedicationIds(List.of(medication.id()), expectedPeriod)).thenReturn(Map.of());
+            Page<MedicationPlannerDTO> results = plannerManager.findAll(targetDate, pageRequest);
+            assertThat(results).containsExactly(new MedicationPlannerDTO(medication, BigDecimal.ZERO, BigDecimal.ZERO));
+        }
+
         @Test
         void failsIfUserNotAuthenticated() {
             when(userManager.findCurrentUser()).thenThrow(new CurrentUserNotFoundException());
@@ -7,6 +7,7 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -61,6 +62,57 @@ class EventControllerTest {
         }
     }
 
+    @Nested
+    class findAllInRange {
+        @Test
+        void returnsResults() throws Exception {
+            var event = new EventDTO(
+                UUID.randomUUID(),
+                UUID.randomUUID(),
+                new MedicationDTO(
+                    UUID.randomUUID(),
+                    "Dafalgan",
+                    new MedicationTypeDTO("TABLET", "Tablet"),
+                    new AdministrationTypeDTO("ORAL", "Oral"),
+                    new DoseTypeDTO("TABLET", "tablet(s)"),
+                    new BigDecimal("100"),
+                    Color.RED
+                ),
+                LocalDateTime.of(2025, 6, 3, 10, 0),
+                LocalDateTime.of(2025, 6, 3, 10, 1),
+                BigDecimal.ONE,
+                "Taken before lunch"
+            );
+            var from = LocalDate.of(2025, 6, 1);
+            var to = LocalDate.of(2025, 6, 7);
+            when(manager.findAllInRange(from, to)).thenReturn(List.of(event));
+            mvc
+                .perform(get("/api/event")
+                    .param("from", from.toString())
+                    .param("to", to.toString())
+                    .with(user("me@example.org")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(event.id().toString()));
+        }
+
+        @Test
+        void returnsInvalid() throws Exception {
+            var from = LocalDate.of(2025, 6, 7);
+            var to = LocalDate.of(2025, 6, 1);
+            var exception = new InvalidEventException("The start of the range cannot be after the end");
+            when(manager.findAllInRange(from, to)).thenThrow(exception);
+            mvc
+                .perform(get("/api/event")
+                    .param("from", from.toString())
+                    .param("to", to.toString())
+                    .with(user("me@example.org")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Invalid event"))
+                .andExpect(jsonPath("$.type").value("https://mediminder/event/invalid"))
+                .andExpect(jsonPath("$.detail").value(exception.getMessage()));
+        }
+    }
+
     @Nested
     class complete {
         @Test
@@ -141,6 +193,71 @@ class EventControllerTest {
         }
     }
 
+    @Nested
+    class completeAll {
+        @Test
+        void returnsResult() throws Exception {
+            var event = new EventDTO(
+                UUID.randomUUID(),
+                UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701"),
+                new MedicationDTO(
+                    UUID.randomUUID(),
+                    "Dafalgan",
+                    new MedicationTypeDTO("TABLET", "Tablet"),
+                    new AdministrationTypeDTO("ORAL", "Oral"),
+                    new DoseTypeDTO("TABLET", "tablet(s)"),
+                    new BigDecimal("100"),
+                    Color.RED
+                ),
+                LocalDateTime.of(2025, 6, 1, 10, 0),
+                LocalDateTime.of(2025, 6, 3, 10, 1),
+                BigDecimal.ONE,
+                "Taken before lunch"
+            );
+            var conflict = new EventConflictDTO(
+                UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701"),
+                LocalDate.of(2025, 6, 2),
+                "Event is already completed"
+            );
+            var requests = List.of(
+                new CompleteEventRequestDTO(UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701"), LocalDate.of(2025, 6, 1)),
+                new CompleteEventRequestDTO(UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701"), LocalDate.of(2025, 6, 2))
+            );
+            var json = """
+            [
+                {"scheduleId": "6ba61df2-ab46-4909-b9e6-233ea47dd701", "targetDate": "2025-06-01"},
+                {"scheduleId": "6ba61df2-ab46-4909-b9e6-233ea47dd701", "targetDate": "2025-06-02"}
+            ]
+            """;
+            when(manager.completeAll(requests)).thenReturn(new CompleteEventsResultDTO(List.of(event), List.of(conflict)));
+            mvc
+                .perform(post("/api/event/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(json)
+                    .with(user("me@example.org"))
+                    .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.completed[0].id").value(event.id().toString()))
+                .andExpect(jsonPath("$.conflicts[0].targetDate").value("2025-06-02"))
+                .andExpect(jsonPath("$.conflicts[0].reason").value("Event is already completed"));
+        }
+
+        @Test
+        void returnsConstraintViolation() throws Exception {
+            var exception = new ConstraintViolationException("Constraint violation", null);
+            when(manager.completeAll(List.of())).thenThrow(exception);
+            mvc
+                .perform(post("/api/event/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]")
+                    .with(user("me@example.org"))
+                    .with(csrf()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Invalid event"))
+                .andExpect(jsonPath("$.detail").value("Validation failed"));
+        }
+    }
+
     @Nested
     class delete {
         @Test
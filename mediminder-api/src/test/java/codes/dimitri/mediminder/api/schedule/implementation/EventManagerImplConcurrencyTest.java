@@ -0,0 +1,118 @@
+package codes.dimitri.mediminder.api.schedule.implementation;
+
+import codes.dimitri.mediminder.api.medication.*;
+import codes.dimitri.mediminder.api.schedule.CompleteEventRequestDTO;
+import codes.dimitri.mediminder.api.schedule.CompleteEventsResultDTO;
+import codes.dimitri.mediminder.api.schedule.EventConflictDTO;
+import codes.dimitri.mediminder.api.schedule.EventManager;
+import codes.dimitri.mediminder.api.schedule.InvalidEventException;
+import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
+import codes.dimitri.mediminder.api.user.UserDTO;
+import codes.dimitri.mediminder.api.user.UserManager;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static codes.dimitri.mediminder.api.shared.ConcurrencyUtilities.runConcurrently;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.when;
+
+@ApplicationModuleTest
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:tc:postgresql:latest:///mediminder",
+    "spring.datasource.hikari.maximum-pool-size=8",
+    "spring.datasource.hikari.minimum-idle=2"
+})
+@Import({
+    TestClockConfiguration.class
+})
+@Sql({"classpath:test-data/schedules.sql", "classpath:test-data/completed-events.sql"})
+@Sql(value = {"classpath:test-data/cleanup-completed-events.sql", "classpath:test-data/cleanup-schedules.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
+class EventManagerImplConcurrencyTest {
+    private static final UUID SCHEDULE_ID = UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701");
+    @Autowired
+    private EventManager eventManager;
+    @Autowired
+    private CompletedEventEntityRepository repository;
+    @MockitoBean
+    private UserManager userManager;
+    @MockitoBean
+    private MedicationManager medicationManager;
+
+    private final UserDTO user = new UserDTO(
+        "auth|9133c9d20b6c49159752",
+        "Harry Potter",
+        ZoneId.of("UTC")
+    );
+    private final MedicationDTO medication = new MedicationDTO(
+        UUID.fromString("0b845403-3b16-436f-b84a-925b01421ad9"),
+        "Dafalgan 1g",
+        new MedicationTypeDTO("TABLET", "Tablet"),
+        new AdministrationTypeDTO("ORAL", "Oral"),
+        new DoseTypeDTO("TABLET", "tablet(s)"),
+        new BigDecimal("1"),
+        Color.RED
+    );
+
+    @Nested
+    class complete {
+        @Test
+        void completesEventOnce() {
+            when(medicationManager.findByIdForCurrentUser(medication.id())).thenReturn(medication);
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 3, 10, 1));
+            List<Boolean> results = runConcurrently(10, () -> completeQuietly(LocalDate.of(2024, 7, 3)));
+            assertThat(results).containsOnlyOnce(true);
+            assertThat(repository.findByUserIdAndTargetDate(user.id(), LocalDateTime.of(2024, 7, 3, 0, 0), LocalDateTime.of(2024, 7, 4, 0, 0))).hasSize(1);
+        }
+    }
+
+    @Nested
+    class completeAll {
+        @Test
+        void reportsConflictsInRequestOrder() {
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of(medication.id(), medication));
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 4, 10, 1));
+            List<CompleteEventRequestDTO> requests = List.of(
+                new CompleteEventRequestDTO(SCHEDULE_ID, LocalDate.of(2024, 7, 3)),
+                new CompleteEventRequestDTO(SCHEDULE_ID, LocalDate.of(2024, 8, 1)),
+                new CompleteEventRequestDTO(SCHEDULE_ID, LocalDate.of(2024, 7, 4))
+            );
+            List<CompleteEventsResultDTO> results = runConcurrently(10, () -> eventManager.completeAll(requests));
+            assertThat(results)
+                .filteredOn(result -> result.completed().isEmpty())
+                .hasSize(9)
+                .allSatisfy(result -> assertThat(result.conflicts())
+                    .extracting(EventConflictDTO::targetDate, EventConflictDTO::reason)
+                    .containsExactly(
+                        tuple(LocalDate.of(2024, 7, 3), "Event is already completed"),
+                        tuple(LocalDate.of(2024, 8, 1), "Schedule '6ba61df2-ab46-4909-b9e6-233ea47dd701' is not expected to be taken at '2024-08-01'"),
+                        tuple(LocalDate.of(2024, 7, 4), "Event is already completed")));
+        }
+    }
+
+    private boolean completeQuietly(LocalDate targetDate) {
+        try {
+            eventManager.complete(SCHEDULE_ID, targetDate);
+            return true;
+        } catch (InvalidEventException ex) {
+            return false;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package codes.dimitri.mediminder.api.schedule.implementation;
 
 import codes.dimitri.mediminder.api.medication.*;
 import codes.dimitri.mediminder.api.schedule.*;
+import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
 import codes.dimitri.mediminder.api.user.CurrentUserNotFoundException;
 import codes.dimitri.mediminder.api.user.UserDTO;
 import codes.dimitri.mediminder.api.user.UserManager;
@@ -9,6 +10,7 @@ import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
 import org.springframework.modulith.test.ApplicationModuleTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -18,14 +20,19 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.Mockito.when;
 
 @ApplicationModuleTest
@@ -34,6 +41,9 @@ import static org.mockito.Mockito.when;
     "spring.datasource.hikari.maximum-pool-size=2",
     "spring.datasource.hikari.minimum-idle=2"
 })
+@Import({
+    TestClockConfiguration.class
+})
 @Transactional
 @Sql({"classpath:test-data/schedules.sql", "classpath:test-data/completed-events.sql"})
 @Sql(value = {"classpath:test-data/cleanup-completed-events.sql", "classpath:test-data/cleanup-schedules.sql"}, executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -79,8 +89,7 @@ class EventManagerImplTest {
                 new BigDecimal("1"),
                 Color.YELLOW
             );
-            when(medicationManager.findByIdAndUserId(medication1.id(), user.id())).thenReturn(medication1);
-            when(medicationManager.findByIdAndUserId(medication2.id(), user.id())).thenReturn(medication2);
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication1.id(), medication2.id()), user.id())).thenReturn(Map.of(medication1.id(), medication1, medication2.id(), medication2));
             when(userManager.findCurrentUser()).thenReturn(user);
             var events = eventManager.findAll(LocalDate.of(2024, 6, 30));
             assertThat(events).containsExactly(
@@ -130,7 +139,7 @@ class EventManagerImplTest {
                 new BigDecimal("1"),
                 Color.RED
             );
-            when(medicationManager.findByIdAndUserId(medication1.id(), user.id())).thenReturn(medication1);
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication1.id()), user.id())).thenReturn(Map.of(medication1.id(), medication1));
             when(userManager.findCurrentUser()).thenReturn(user);
             var events = eventManager.findAll(LocalDate.of(2024, 6, 30));
             assertThat(events).containsExactly(
@@ -179,6 +188,132 @@ class EventManagerImplTest {
         }
     }
 
+    @Nested
+    class findAllInRange {
+        @Test
+        void returnsResults() {
+            var user = new UserDTO(
+                "auth|9133c9d20b6c49159752",
+                "Harry Potter",
+                ZoneId.of("UTC")
+            );
+            var medication1 = new MedicationDTO(
+                UUID.fromString("0b845403-3b16-436f-b84a-925b01421ad9"),
+                "Dafalgan 1g",
+                new MedicationTypeDTO("TABLET", "Tablet"),
+                new AdministrationTypeDTO("ORAL", "Oral"),
+                new DoseTypeDTO("TABLET", "tablet(s)"),
+                new BigDecimal("1"),
+                Color.RED
+            );
+            var medication2 = new MedicationDTO(
+                UUID.fromString("a9356fca-da82-48ab-af04-a7169b91ea4f"),
+                "Hydrocortisone 8mg",
+                new MedicationTypeDTO("CAPSULE", "Capsule"),
+                new AdministrationTypeDTO("ORAL", "Oral"),
+                new DoseTypeDTO("CAPSULE", "capsule(s)"),
+                new BigDecimal("1"),
+                Color.YELLOW
+            );
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication1.id(), medication2.id()), user.id())).thenReturn(Map.of(medication1.id(), medication1, medication2.id(), medication2));
+            when(userManager.findCurrentUser()).thenReturn(user);
+            var events = eventManager.findAllInRange(LocalDate.of(2024, 6, 29), LocalDate.of(2024, 7, 1));
+            assertThat(events).containsExactly(
+                new EventDTO(
+                    null,
+                    UUID.fromString("f2f2de45-3000-45fc-af12-fa8cfce5c2ff"),
+                    medication1,
+                    LocalDateTime.of(2024, 6, 29, 18, 0),
+                    null,
+                    new BigDecimal("1"),
+                    "After dinner"
+                ),
+                new EventDTO(
+                    UUID.fromString("ebb5c232-2f2c-4c08-a2b6-d5ccc81ac08d"),
+                    UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701"),
+                    medication1,
+                    LocalDateTime.of(2024, 6, 30, 10, 0),
+                    LocalDateTime.of(2024, 6, 30, 10, 1),
+                    new BigDecimal("1"),
+                    "Before breakfast"
+                ),
+                new EventDTO(
+                    UUID.fromString("23366793-fe7d-4ea7-af3b-5c8b1352c5f2"),
+                    UUID.fromString("08a6aa16-8449-418e-93ff-c7975731066d"),
+                    medication2,
+                    LocalDateTime.of(2024, 6, 30, 10, 0),
+                    LocalDateTime.of(2024, 6, 30, 10, 2),
+                    new BigDecimal("1"),
+                    "Before breakfast"
+                ),
+                new EventDTO(
+                    null,
+                    UUID.fromString("f2f2de45-3000-45fc-af12-fa8cfce5c2ff"),
+                    medication1,
+                    LocalDateTime.of(2024, 6, 30, 18, 0),
+                    null,
+                    new BigDecimal("1"),
+                    "After dinner"
+                ),
+                new EventDTO(
+                    UUID.fromString("c003fa96-1afa-4924-b40e-0c93a3821908"),
+                    UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701"),
+                    medication1,
+                    LocalDateTime.of(2024, 7, 1, 10, 0),
+                    LocalDateTime.of(2024, 7, 1, 10, 2),
+                    new BigDecimal("1"),
+                    "Before breakfast"
+                ),
+                new EventDTO(
+                    null,
+                    UUID.fromString("08a6aa16-8449-418e-93ff-c7975731066d"),
+                    medication2,
+                    LocalDateTime.of(2024, 7, 1, 10, 0),
+                    null,
+                    new BigDecimal("1"),
+                    "Before breakfast"
+                ),
+                new EventDTO(
+                    null,
+                    UUID.fromString("f2f2de45-3000-45fc-af12-fa8cfce5c2ff"),
+                    medication1,
+                    LocalDateTime.of(2024, 7, 1, 18, 0),
+                    null,
+                    new BigDecimal("1"),
+                    "After dinner"
+                )
+            );
+        }
+
+        @Test
+        void failsIfStartIsAfterEnd() {
+            assertThatExceptionOfType(InvalidEventException.class)
+                .isThrownBy(() -> eventManager.findAllInRange(LocalDate.of(2024, 7, 1), LocalDate.of(2024, 6, 30)))
+                .withMessage("The start of the range cannot be after the end");
+        }
+
+        @Test
+        void failsIfRangeIsTooLarge() {
+            assertThatExceptionOfType(InvalidEventException.class)
+                .isThrownBy(() -> eventManager.findAllInRange(LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1)))
+                .withMessage("The range cannot contain more than 366 days");
+        }
+
+        @Test
+        void failsIfUserNotAuthenticated() {
+            when(userManager.findCurrentUser()).thenThrow(new CurrentUserNotFoundException());
+            assertThatExceptionOfType(InvalidEventException.class)
+                .isThrownBy(() -> eventManager.findAllInRange(LocalDate.of(2024, 6, 29), LocalDate.of(2024, 7, 1)))
+                .withMessage("User is not authenticated");
+        }
+
+        @Test
+        void failsIfNoDatesGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> eventManager.findAllInRange(null, null));
+        }
+    }
+
     @Nested
     class complete {
         @Test
@@ -251,6 +386,34 @@ class EventManagerImplTest {
                 ));
         }
 
+        @Test
+        void updatesNextReminder() {
+            var user = new UserDTO(
+                "auth|9133c9d20b6c49159752",
+                "Harry Potter",
+                ZoneId.of("UTC")
+            );
+            var medication = new MedicationDTO(
+                UUID.fromString("0b845403-3b16-436f-b84a-925b01421ad9"),
+                "Dafalgan 1g",
+                new MedicationTypeDTO("TABLET", "Tablet"),
+                new AdministrationTypeDTO("ORAL", "Oral"),
+                new DoseTypeDTO("TABLET", "tablet(s)"),
+                new BigDecimal("1"),
+                Color.RED
+            );
+            var currentTimeForUser = LocalDateTime.of(2024, 7, 1, 10, 1);
+            UUID scheduleId = UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701");
+            when(medicationManager.findByIdForCurrentUser(medication.id())).thenReturn(medication);
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(currentTimeForUser);
+            eventManager.complete(scheduleId, LocalDate.of(2024, 7, 3));
+            assertThat(scheduleRepository.findById(scheduleId))
+                .get()
+                .extracting(ScheduleEntity::getNextReminderAt)
+                .isEqualTo(Instant.parse("2024-07-04T10:00:00Z"));
+        }
+
         @Test
         void failsIfAlreadyCompleted() {
             var user = new UserDTO(
@@ -278,6 +441,133 @@ class EventManagerImplTest {
         }
     }
 
+    @Nested
+    class completeAll {
+        private final UserDTO user = new UserDTO(
+            "auth|9133c9d20b6c49159752",
+            "Harry Potter",
+            ZoneId.of("UTC")
+        );
+        private final MedicationDTO medication = new MedicationDTO(
+            UUID.fromString("0b845403-3b16-436f-b84a-925b01421ad9"),
+            "Dafalgan 1g",
+            new MedicationTypeDTO("TABLET", "Tablet"),
+            new AdministrationTypeDTO("ORAL", "Oral"),
+            new DoseTypeDTO("TABLET", "tablet(s)"),
+            new BigDecimal("1"),
+            Color.RED
+        );
+
+        @Test
+        void returnsCompletedEventsAndConflicts() {
+            UUID scheduleId = UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701");
+            UUID otherUserScheduleId = UUID.fromString("945b1bea-b447-4701-a137-3e447c35ffa3");
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 5, 10, 1));
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of(medication.id(), medication));
+            var result = eventManager.completeAll(List.of(
+                new CompleteEventRequestDTO(scheduleId, LocalDate.of(2024, 7, 3)),
+                new CompleteEventRequestDTO(scheduleId, LocalDate.of(2024, 7, 3)),
+                new CompleteEventRequestDTO(scheduleId, LocalDate.of(2024, 6, 30)),
+                new CompleteEventRequestDTO(scheduleId, LocalDate.of(2024, 8, 1)),
+                new CompleteEventRequestDTO(otherUserScheduleId, LocalDate.of(2024, 7, 3))
+            ));
+            assertThat(result.completed()).containsExactly(new EventDTO(
+                result.completed().getFirst().id(),
+                scheduleId,
+                medication,
+                LocalDateTime.of(2024, 7, 3, 10, 0),
+                LocalDateTime.of(2024, 7, 5, 10, 1),
+                new BigDecimal("1"),
+                "Before breakfast"
+            ));
+            assertThat(result.conflicts()).containsExactly(
+                new EventConflictDTO(scheduleId, LocalDate.of(2024, 7, 3), "Event is already completed"),
+                new EventConflictDTO(scheduleId, LocalDate.of(2024, 6, 30), "Event is already completed"),
+                new EventConflictDTO(scheduleId, LocalDate.of(2024, 8, 1), "Schedule '6ba61df2-ab46-4909-b9e6-233ea47dd701' is not expected to be taken at '2024-08-01'"),
+                new EventConflictDTO(otherUserScheduleId, LocalDate.of(2024, 7, 3), "Schedule with ID '945b1bea-b447-4701-a137-3e447c35ffa3' does not exist")
+            );
+        }
+
+        @Test
+        void savesEntities() {
+            UUID scheduleId = UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701");
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 5, 10, 1));
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of(medication.id(), medication));
+            var result = eventManager.completeAll(List.of(
+                new CompleteEventRequestDTO(scheduleId, LocalDate.of(2024, 7, 3)),
+                new CompleteEventRequestDTO(scheduleId, LocalDate.of(2024, 7, 4))
+            ));
+            assertThat(repository.findAllById(result.completed().stream().map(EventDTO::id).toList()))
+                .extracting(CompletedEventEntity::getUserId, CompletedEventEntity::getTargetDate, CompletedEventEntity::getCompletedDate)
+                .containsExactlyInAnyOrder(
+                    tuple(user.id(), LocalDateTime.of(2024, 7, 3, 10, 0), LocalDateTime.of(2024, 7, 5, 10, 1)),
+                    tuple(user.id(), LocalDateTime.of(2024, 7, 4, 10, 0), LocalDateTime.of(2024, 7, 5, 10, 1))
+                );
+        }
+
+        @Test
+        void updatesNextReminder() {
+            UUID scheduleId = UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701");
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 3, 9, 0));
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of(medication.id(), medication));
+            eventManager.completeAll(List.of(
+                new CompleteEventRequestDTO(scheduleId, LocalDate.of(2024, 7, 3)),
+                new CompleteEventRequestDTO(scheduleId, LocalDate.of(2024, 7, 4))
+            ));
+            assertThat(scheduleRepository.findById(scheduleId))
+                .get()
+                .extracting(ScheduleEntity::getNextReminderAt)
+                .isEqualTo(Instant.parse("2024-07-05T10:00:00Z"));
+        }
+
+        @Test
+        void emitsAggregatedEvent() {
+            UUID scheduleId1 = UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701");
+            UUID scheduleId2 = UUID.fromString("f2f2de45-3000-45fc-af12-fa8cfce5c2ff");
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 5, 10, 1));
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of(medication.id(), medication));
+            eventManager.completeAll(List.of(
+                new CompleteEventRequestDTO(scheduleId1, LocalDate.of(2024, 7, 3)),
+                new CompleteEventRequestDTO(scheduleId1, LocalDate.of(2024, 7, 4)),
+                new CompleteEventRequestDTO(scheduleId2, LocalDate.of(2024, 7, 3))
+            ));
+            assertThat(events.stream(EventsCompletedEvent.class)).containsExactly(new EventsCompletedEvent(
+                user.id(),
+                Set.of(scheduleId1, scheduleId2),
+                Map.of(medication.id(), new BigDecimal("3"))
+            ));
+            assertThat(events.stream(EventCompletedEvent.class)).isEmpty();
+        }
+
+        @Test
+        void reportsMissingMedication() {
+            UUID scheduleId = UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701");
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 5, 10, 1));
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of());
+            var result = eventManager.completeAll(List.of(new CompleteEventRequestDTO(scheduleId, LocalDate.of(2024, 7, 3))));
+            assertThat(result.completed()).isEmpty();
+            assertThat(result.conflicts()).containsExactly(new EventConflictDTO(scheduleId, LocalDate.of(2024, 7, 3), "Medication is not found"));
+            assertThat(events.stream(EventsCompletedEvent.class)).isEmpty();
+        }
+
+        @Test
+        void failsIfTooManyEvents() {
+            UUID scheduleId = UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701");
+            List<CompleteEventRequestDTO> requests = LocalDate.of(2024, 1, 1)
+                .datesUntil(LocalDate.of(2024, 1, 1).plusDays(501))
+                .map(date -> new CompleteEventRequestDTO(scheduleId, date))
+                .toList();
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> eventManager.completeAll(requests))
+                .withMessageContaining("Cannot complete more than 500 events at once");
+        }
+    }
+
     @Nested
     class uncomplete {
         @Test
@@ -289,6 +579,7 @@ class EventManagerImplTest {
             );
             UUID eventId = UUID.fromString("ebb5c232-2f2c-4c08-a2b6-d5ccc81ac08d");
             when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 6, 30, 10, 1));
             assertThat(repository.existsById(eventId)).isTrue();
             eventManager.uncomplete(eventId);
             assertThat(repository.existsById(eventId)).isFalse();
@@ -303,6 +594,7 @@ class EventManagerImplTest {
             );
             UUID eventId = UUID.fromString("ebb5c232-2f2c-4c08-a2b6-d5ccc81ac08d");
             when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 6, 30, 10, 1));
             eventManager.uncomplete(eventId);
             Optional<EventUncompletedEvent> event = events.stream(EventUncompletedEvent.class).findAny();
             assertThat(event).contains(new EventUncompletedEvent(
@@ -316,6 +608,23 @@ class EventManagerImplTest {
             ));
         }
 
+        @Test
+        void updatesNextReminder() {
+            var user = new UserDTO(
+                "auth|9133c9d20b6c49159752",
+                "Harry Potter",
+                ZoneId.of("UTC")
+            );
+            UUID eventId = UUID.fromString("ebb5c232-2f2c-4c08-a2b6-d5ccc81ac08d");
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 6, 30, 10, 1));
+            eventManager.uncomplete(eventId);
+            assertThat(scheduleRepository.findById(UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701")))
+                .get()
+                .extracting(ScheduleEntity::getNextReminderAt)
+                .isEqualTo(Instant.parse("2024-06-30T10:00:00Z"));
+        }
+
         @Test
         void failsIfUserNotAuthenticated() {
             UUID eventId = UUID.fromString("ebb5c232-2f2c-4c08-a2b6-d5ccc81ac08d");
@@ -9,7 +9,12 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Period;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,4 +45,79 @@ class ScheduleEntityTest {
             assertThat(result).isEqualByComparingTo(expected);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class calculateNextOccurrence {
+        @ParameterizedTest
+        @CsvSource({
+            "2025-06-01,'',2025-06-24",
+            "2025-06-24,'',2025-06-24",
+            "2025-06-25,'',2025-08-05",
+            "2025-06-24,2025-06-24,2025-08-05",
+            "2025-06-01,2025-06-24;2025-08-05,2025-09-16",
+            "2025-06-01,2025-06-24;2025-08-05;2025-09-16,''",
+            "2025-09-17,'',''",
+        })
+        void returnsResult(LocalDate from, String excluded, String expected) {
+            ScheduleEntity entity = new ScheduleEntity(
+                "auth|123",
+                UUID.randomUUID(),
+                SchedulePeriodEntity.of(LocalDate.of(2025, 6, 24), LocalDate.of(2025, 10, 1)),
+                Period.ofWeeks(6),
+                LocalTime.of(20, 0),
+                null,
+                BigDecimal.ONE
+            );
+            Set<LocalDate> excludedDates = excluded.isEmpty() ? Set.of() : Arrays.stream(excluded.split(";")).map(LocalDate::parse).collect(Collectors.toSet());
+            Optional<LocalDate> result = entity.calculateNextOccurrence(from, excludedDates);
+            assertThat(result).isEqualTo(expected.isEmpty() ? Optional.empty() : Optional.of(LocalDate.parse(expected)));
+        }
+    }
+
+    @Nested
+    class calculateOccurrencesInPeriod {
+        @ParameterizedTest
+        @CsvSource({
+            "2025-06-01,2025-06-23,''",
+            "2025-06-01,2025-06-24,2025-06-24",
+            "2025-06-25,2025-08-04,''",
+            "2025-06-25,2025-08-05,2025-08-05",
+            "2025-06-24,2025-09-16,2025-06-24;2025-08-05;2025-09-16",
+            "2025-07-01,2025-10-31,2025-08-05;2025-09-16",
+        })
+        void returnsResult(LocalDate start, LocalDate endInclusive, String expected) {
+            ScheduleEntity entity = new ScheduleEntity(
+                "auth|123",
+                UUID.randomUUID(),
+                SchedulePeriodEntity.of(LocalDate.of(2025, 6, 24), LocalDate.of(2025, 10, 1)),
+                Period.ofWeeks(6),
+                LocalTime.of(20, 0),
+                null,
+                BigDecimal.ONE
+            );
+            List<LocalDate> result = entity.calculateOccurrencesInPeriod(start, endInclusive);
+            List<LocalDate> expectedDates = expected.isEmpty() ? List.of() : Arrays.stream(expected.split(";")).map(LocalDate::parse).toList();
+            assertThat(result).containsExactlyElementsOf(expectedDates);
+        }
+
+        @Test
+        void matchesIsHappeningAt() {
+            ScheduleEntity entity = new ScheduleEntity(
+                "auth|123",
+                UUID.randomUUID(),
+                SchedulePeriodEntity.of(LocalDate.of(2025, 1, 3), null),
+                Period.ofDays(3),
+                LocalTime.of(20, 0),
+                null,
+                BigDecimal.ONE
+            );
+            LocalDate start = LocalDate.of(2025, 1, 1);
+            LocalDate end = LocalDate.of(2025, 3, 31);
+            List<LocalDate> expected = start
+                .datesUntil(end.plusDays(1))
+                .filter(entity::isHappeningAt)
+                .toList();
+            assertThat(entity.calculateOccurrencesInPeriod(start, end)).containsExactlyElementsOf(expected);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package codes.dimitri.mediminder.api.schedule.implementation;
 
 import codes.dimitri.mediminder.api.medication.*;
 import codes.dimitri.mediminder.api.schedule.*;
+import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
 import codes.dimitri.mediminder.api.user.CurrentUserNotFoundException;
 import codes.dimitri.mediminder.api.user.UserDTO;
 import codes.dimitri.mediminder.api.user.UserManager;
@@ -11,8 +12,11 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.modulith.test.ApplicationModuleTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
@@ -21,11 +25,14 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.*;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
-import static org.mockito.ArgumentMatchers.any;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,6 +42,9 @@ import static org.mockito.Mockito.when;
     "spring.datasource.hikari.maximum-pool-size=2",
     "spring.datasource.hikari.minimum-idle=2"
 })
+@Import({
+    TestClockConfiguration.class
+})
 @Transactional
 @Sql("classpath:test-data/schedules.sql")
 @Sql(value = "classpath:test-data/cleanup-schedules.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_METHOD)
@@ -70,7 +80,7 @@ class ScheduleManagerImplTest {
             var todayForUser = LocalDateTime.of(2024, 7, 1, 10, 0);
             when(userManager.findCurrentUser()).thenReturn(user);
             when(userManager.calculateTodayForUser(user.id())).thenReturn(todayForUser);
-            when(medicationManager.findByIdAndUserId(any(), any())).thenReturn(medication);
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of(medication.id(), medication));
             var schedules = manager.findAllForCurrentUser(null, false, pageRequest);
             assertThat(schedules).containsExactly(new ScheduleDTO(
                 UUID.fromString("945b1bea-b447-4701-a137-3e447c35ffa3"),
@@ -85,7 +95,7 @@ class ScheduleManagerImplTest {
                 new BigDecimal("1"),
                 LocalTime.of(10, 0)
             ));
-            verify(medicationManager).findByIdAndUserId(medication.id(), user.id());
+            verify(medicationManager).findAllByIdsAndUserId(Set.of(medication.id()), user.id());
         }
 
         @Test
@@ -108,7 +118,7 @@ class ScheduleManagerImplTest {
             var todayForUser = LocalDateTime.of(2024, 7, 1, 10, 0);
             when(userManager.findCurrentUser()).thenReturn(user);
             when(userManager.calculateTodayForUser(user.id())).thenReturn(todayForUser);
-            when(medicationManager.findByIdAndUserId(any(), any())).thenReturn(medication);
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of(medication.id(), medication));
             var schedules = manager.findAllForCurrentUser(null, true, pageRequest);
             assertThat(schedules).containsExactly(new ScheduleDTO(
                 UUID.fromString("945b1bea-b447-4701-a137-3e447c35ffa3"),
@@ -123,7 +133,7 @@ class ScheduleManagerImplTest {
                 new BigDecimal("1"),
                 LocalTime.of(10, 0)
             ));
-            verify(medicationManager).findByIdAndUserId(medication.id(), user.id());
+            verify(medicationManager).findAllByIdsAndUserId(Set.of(medication.id()), user.id());
         }
 
         @Test
@@ -146,7 +156,7 @@ class ScheduleManagerImplTest {
             var todayForUser = LocalDateTime.of(2024, 7, 1, 10, 0);
             when(userManager.findCurrentUser()).thenReturn(user);
             when(userManager.calculateTodayForUser(user.id())).thenReturn(todayForUser);
-            when(medicationManager.findByIdAndUserId(any(), any())).thenReturn(medication);
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), user.id())).thenReturn(Map.of(medication.id(), medication));
             var schedules = manager.findAllForCurrentUser(medication.id(), false, pageRequest);
             assertThat(schedules).containsExactly(new ScheduleDTO(
                 UUID.fromString("945b1bea-b447-4701-a137-3e447c35ffa3"),
@@ -161,7 +171,7 @@ class ScheduleManagerImplTest {
                 new BigDecimal("1"),
                 LocalTime.of(10, 0)
             ));
-            verify(medicationManager).findByIdAndUserId(medication.id(), user.id());
+            verify(medicationManager).findAllByIdsAndUserId(Set.of(medication.id()), user.id());
         }
 
         @Test
@@ -237,6 +247,7 @@ class ScheduleManagerImplTest {
                 ZoneId.of("UTC")
             );
             when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 1, 10, 0));
             when(medicationManager.findByIdAndUserId(medication.id(), user.id())).thenReturn(medication);
             var schedule = manager.createForCurrentUser(request);
             assertThat(schedule).isEqualTo(new ScheduleDTO(
@@ -282,11 +293,13 @@ class ScheduleManagerImplTest {
                 ZoneId.of("UTC")
             );
             when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 1, 10, 0));
             when(medicationManager.findByIdAndUserId(medication.id(), user.id())).thenReturn(medication);
             var schedule = manager.createForCurrentUser(request);
             ScheduleEntity entity = repository.findById(schedule.id()).orElseThrow();
             assertThat(entity)
                 .usingRecursiveComparison()
+                .ignoringFields("nextReminderAt")
                 .isEqualTo(new ScheduleEntity(
                     schedule.id(),
                     user.id(),
@@ -299,6 +312,43 @@ class ScheduleManagerImplTest {
                 ));
         }
 
+        @Test
+        void calculatesNextReminder() {
+            var medication = new MedicationDTO(
+                UUID.randomUUID(),
+                "Dafalgan 1g",
+                new MedicationTypeDTO("TABLET", "Tablet"),
+                new AdministrationTypeDTO("ORAL", "Oral"),
+                new DoseTypeDTO("TABLET", "tablet(s)"),
+                new BigDecimal("50"),
+                Color.RED
+            );
+            var request = new CreateScheduleRequestDTO(
+                medication.id(),
+                Period.ofDays(1),
+                new SchedulePeriodDTO(
+                    LocalDate.of(2024, 6, 30),
+                    null
+                ),
+                LocalTime.of(10, 0),
+                "Before breakfast",
+                new BigDecimal("1")
+            );
+            var user = new UserDTO(
+                "auth|ff9d85fcc3c505949092c",
+                "Harry Potter",
+                ZoneId.of("Europe/Brussels")
+            );
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 1, 10, 0));
+            when(medicationManager.findByIdAndUserId(medication.id(), user.id())).thenReturn(medication);
+            var schedule = manager.createForCurrentUser(request);
+            assertThat(repository.findById(schedule.id()))
+                .get()
+                .extracting(ScheduleEntity::getNextReminderAt)
+                .isEqualTo(Instant.parse("2024-07-01T08:00:00Z"));
+        }
+
         @Test
         void failsIfMedicationNotFound() {
             var request = new CreateScheduleRequestDTO(
@@ -557,6 +607,7 @@ class ScheduleManagerImplTest {
                 new BigDecimal("2")
             );
             when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 1, 10, 0));
             when(medicationManager.findByIdAndUserId(medication.id(), user.id())).thenReturn(medication);
             ScheduleDTO result = manager.updateForCurrentUser(id, request);
             assertThat(result).isEqualTo(new ScheduleDTO(
@@ -602,11 +653,13 @@ class ScheduleManagerImplTest {
                 new BigDecimal("2")
             );
             when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 1, 10, 0));
             when(medicationManager.findByIdAndUserId(medication.id(), user.id())).thenReturn(medication);
             manager.updateForCurrentUser(id, request);
             ScheduleEntity entity = repository.findById(id).orElseThrow();
             assertThat(entity)
                 .usingRecursiveComparison()
+                .ignoringFields("nextReminderAt")
                 .isEqualTo(new ScheduleEntity(
                     id,
                     user.id(),
@@ -619,6 +672,43 @@ class ScheduleManagerImplTest {
                 ));
         }
 
+        @Test
+        void calculatesNextReminder() {
+            UUID id = UUID.fromString("945b1bea-b447-4701-a137-3e447c35ffa3");
+            var medication = new MedicationDTO(
+                UUID.fromString("fb384363-0446-4fdc-a62d-098c20ddf286"),
+                "Dafalgan 1g",
+                new MedicationTypeDTO("TABLET", "Tablet"),
+                new AdministrationTypeDTO("ORAL", "Oral"),
+                new DoseTypeDTO("TABLET", "tablet(s)"),
+                new BigDecimal("50"),
+                Color.RED
+            );
+            var user = new UserDTO(
+                "auth|b47e0b6fbe524e388301",
+                "Harry Potter",
+                ZoneId.of("UTC")
+            );
+            var request = new UpdateScheduleRequestDTO(
+                Period.ofDays(2),
+                new SchedulePeriodDTO(
+                    LocalDate.of(2024, 6, 2),
+                    null
+                ),
+                LocalTime.of(9, 0),
+                "After breakfast",
+                new BigDecimal("2")
+            );
+            when(userManager.findCurrentUser()).thenReturn(user);
+            when(userManager.calculateTodayForUser(user.id())).thenReturn(LocalDateTime.of(2024, 7, 1, 10, 0));
+            when(medicationManager.findByIdAndUserId(medication.id(), user.id())).thenReturn(medication);
+            manager.updateForCurrentUser(id, request);
+            assertThat(repository.findById(id))
+                .get()
+                .extracting(ScheduleEntity::getNextReminderAt)
+                .isEqualTo(Instant.parse("2024-07-02T09:00:00Z"));
+        }
+
         @Test
         void failsIfUserNotAuthenticated() {
             UUID id = UUID.fromString("945b1bea-b447-4701-a137-3e447c35ffa3");
@@ -951,6 +1041,50 @@ class ScheduleManagerImplTest {
         }
     }
 
+    @Nested
+    class calculateRequiredDosesByMedicationIds {
+        @Test
+        void returnsResults() {
+            var medicationId1 = UUID.fromString("0b845403-3b16-436f-b84a-925b01421ad9");
+            var medicationId2 = UUID.fromString("a9356fca-da82-48ab-af04-a7169b91ea4f");
+            var medicationId3 = UUID.fromString("00000000-0000-0000-0000-000000000000");
+            var period = new SchedulePeriodDTO(
+                LocalDate.of(2024, 6, 1),
+                LocalDate.of(2024, 6, 30)
+            );
+            Map<UUID, BigDecimal> results = manager.calculateRequiredDosesByMedicationIds(List.of(medicationId1, medicationId2, medicationId3), period);
+            assertThat(results).containsOnlyKeys(medicationId1, medicationId2);
+            assertThat(results.get(medicationId1)).isEqualByComparingTo("31");
+            assertThat(results.get(medicationId2)).isEqualByComparingTo("1");
+        }
+
+        @Test
+        void returnsNothingIfNoIdsGiven() {
+            var period = new SchedulePeriodDTO(
+                LocalDate.of(2024, 6, 1),
+                LocalDate.of(2024, 6, 30)
+            );
+            Map<UUID, BigDecimal> results = manager.calculateRequiredDosesByMedicationIds(List.of(), period);
+            assertThat(results).isEmpty();
+        }
+
+        @Test
+        void failsIfMedicationIdsNotGiven() {
+            var period = new SchedulePeriodDTO(
+                LocalDate.of(2024, 6, 1),
+                LocalDate.of(2024, 6, 30)
+            );
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.calculateRequiredDosesByMedicationIds(null, period));
+        }
+
+        @Test
+        void failsIfPeriodNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.calculateRequiredDosesByMedicationIds(List.of(UUID.randomUUID()), null));
+        }
+    }
+
     @Nested
     class deleteAllByMedicationId {
         @Test
@@ -1108,6 +1242,114 @@ class ScheduleManagerImplTest {
         }
     }
 
+    @Nested
+    class findAllUserScheduledMedicationOnDateAfterKey {
+        @Test
+        void returnsFirstSlice() {
+            var targetDate = LocalDate.of(2024, 6, 30);
+            Slice<UserScheduledMedicationDTO> results = manager.findAllUserScheduledMedicationOnDate(targetDate, null, null, null, null, Limit.of(2));
+            assertThat(results.hasNext()).isTrue();
+            assertThat(results).containsExactly(
+                new UserScheduledMedicationDTO(
+                    "auth|9133c9d20b6c49159752",
+                    UUID.fromString("0b845403-3b16-436f-b84a-925b01421ad9")),
+                new UserScheduledMedicationDTO(
+                    "auth|9133c9d20b6c49159752",
+                    UUID.fromString("a9356fca-da82-48ab-af04-a7169b91ea4f"))
+            );
+        }
+
+        @Test
+        void returnsSliceAfterKey() {
+            var targetDate = LocalDate.of(2024, 6, 30);
+            var afterMedicationId = UUID.fromString("a9356fca-da82-48ab-af04-a7169b91ea4f");
+            Slice<UserScheduledMedicationDTO> results = manager.findAllUserScheduledMedicationOnDate(targetDate, "auth|9133c9d20b6c49159752", afterMedicationId, null, null, Limit.of(2));
+            assertThat(results.hasNext()).isFalse();
+            assertThat(results).containsExactly(
+                new UserScheduledMedicationDTO(
+                    "auth|b47e0b6fbe524e388301",
+                    UUID.fromString("fb384363-0446-4fdc-a62d-098c20ddf286"))
+            );
+        }
+
+        @Test
+        void returnsSliceUntilKey() {
+            var targetDate = LocalDate.of(2024, 6, 30);
+            var untilMedicationId = UUID.fromString("0b845403-3b16-436f-b84a-925b01421ad9");
+            Slice<UserScheduledMedicationDTO> results = manager.findAllUserScheduledMedicationOnDate(targetDate, null, null, "auth|9133c9d20b6c49159752", untilMedicationId, Limit.of(2));
+            assertThat(results.hasNext()).isFalse();
+            assertThat(results).containsExactly(
+                new UserScheduledMedicationDTO(
+                    "auth|9133c9d20b6c49159752",
+                    UUID.fromString("0b845403-3b16-436f-b84a-925b01421ad9"))
+            );
+        }
+
+        @Test
+        void returnsSliceBetweenKeys() {
+            var targetDate = LocalDate.of(2024, 6, 30);
+            var afterMedicationId = UUID.fromString("0b845403-3b16-436f-b84a-925b01421ad9");
+            var untilMedicationId = UUID.fromString("a9356fca-da82-48ab-af04-a7169b91ea4f");
+            Slice<UserScheduledMedicationDTO> results = manager.findAllUserScheduledMedicationOnDate(targetDate, "auth|9133c9d20b6c49159752", afterMedicationId, "auth|9133c9d20b6c49159752", untilMedicationId, Limit.of(2));
+            assertThat(results.hasNext()).isFalse();
+            assertThat(results).containsExactly(
+                new UserScheduledMedicationDTO(
+                    "auth|9133c9d20b6c49159752",
+                    UUID.fromString("a9356fca-da82-48ab-af04-a7169b91ea4f"))
+            );
+        }
+
+        @Test
+        void failsIfTargetDateNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAllUserScheduledMedicationOnDate(null, null, null, null, null, Limit.of(2)));
+        }
+
+        @Test
+        void failsIfLimitNotGiven() {
+            var targetDate = LocalDate.of(2024, 6, 30);
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAllUserScheduledMedicationOnDate(targetDate, null, null, null, null, null));
+        }
+    }
+
+    @Nested
+    class findAllUserScheduledMedicationBoundariesOnDate {
+        @Test
+        void returnsLastItemOfEachRange() {
+            var targetDate = LocalDate.of(2024, 6, 30);
+            List<UserScheduledMedicationDTO> results = manager.findAllUserScheduledMedicationBoundariesOnDate(targetDate, 2);
+            assertThat(results).containsExactly(
+                new UserScheduledMedicationDTO(
+                    "auth|9133c9d20b6c49159752",
+                    UUID.fromString("a9356fca-da82-48ab-af04-a7169b91ea4f")),
+                new UserScheduledMedicationDTO(
+                    "auth|b47e0b6fbe524e388301",
+                    UUID.fromString("fb384363-0446-4fdc-a62d-098c20ddf286"))
+            );
+        }
+
+        @Test
+        void returnsFewerBoundariesIfNotEnoughItems() {
+            var targetDate = LocalDate.of(2024, 6, 1);
+            List<UserScheduledMedicationDTO> results = manager.findAllUserScheduledMedicationBoundariesOnDate(targetDate, 4);
+            assertThat(results).hasSize(1);
+        }
+
+        @Test
+        void failsIfTargetDateNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAllUserScheduledMedicationBoundariesOnDate(null, 2));
+        }
+
+        @Test
+        void failsIfCountNotPositive() {
+            var targetDate = LocalDate.of(2024, 6, 30);
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAllUserScheduledMedicationBoundariesOnDate(targetDate, 0));
+        }
+    }
+
     @Nested
     class findAllWithinPeriod {
         @Test
@@ -1127,7 +1369,7 @@ class ScheduleManagerImplTest {
             );
             var userId = "auth|9133c9d20b6c49159752";
             var pageRequest = PageRequest.of(0, 10);
-            when(medicationManager.findByIdAndUserId(medication.id(), userId)).thenReturn(medication);
+            when(medicationManager.findAllByIdsAndUserId(Set.of(medication.id()), userId)).thenReturn(Map.of(medication.id(), medication));
             Page<ScheduleDTO> results = manager.findAllWithinPeriod(period, pageRequest);
             assertThat(results).containsExactly(new ScheduleDTO(
                 UUID.fromString("f2f2de45-3000-45fc-af12-fa8cfce5c2ff"),
@@ -1175,4 +1417,135 @@ class ScheduleManagerImplTest {
                 .isThrownBy(() -> manager.findAllWithinPeriod(period, null));
         }
     }
+
+    @Nested
+    class findAllDueReminders {
+        @Test
+        void returnsFirstSlice() {
+            Slice<ScheduleReminderDTO> results = manager.findAllDueReminders(Instant.parse("2024-07-01T10:00:00Z"), null, null, Limit.of(2));
+            assertThat(results.hasNext()).isTrue();
+            assertThat(results)
+                .extracting(ScheduleReminderDTO::scheduleId, ScheduleReminderDTO::reminderAt)
+                .containsExactly(
+                    tuple(UUID.fromString("f2f2de45-3000-45fc-af12-fa8cfce5c2ff"), Instant.parse("2024-06-30T18:00:00Z")),
+                    tuple(UUID.fromString("08a6aa16-8449-418e-93ff-c7975731066d"), Instant.parse("2024-07-01T10:00:00Z")));
+        }
+
+        @Test
+        void returnsSliceAfterKey() {
+            var afterScheduleId = UUID.fromString("08a6aa16-8449-418e-93ff-c7975731066d");
+            Slice<ScheduleReminderDTO> results = manager.findAllDueReminders(Instant.parse("2024-07-01T10:00:00Z"), Instant.parse("2024-07-01T10:00:00Z"), afterScheduleId, Limit.of(2));
+            assertThat(results.hasNext()).isFalse();
+            assertThat(results)
+                .extracting(ScheduleReminderDTO::scheduleId)
+                .containsExactly(
+                    UUID.fromString("6ba61df2-ab46-4909-b9e6-233ea47dd701"),
+                    UUID.fromString("945b1bea-b447-4701-a137-3e447c35ffa3"));
+        }
+
+        @Test
+        void excludesRemindersAfterUntil() {
+            Slice<ScheduleReminderDTO> results = manager.findAllDueReminders(Instant.parse("2024-07-01T09:59:59Z"), null, null, Limit.of(10));
+            assertThat(results)
+                .extracting(ScheduleReminderDTO::scheduleId)
+                .containsExactly(UUID.fromString("f2f2de45-3000-45fc-af12-fa8cfce5c2ff"));
+        }
+
+        @Test
+        void failsIfUntilNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAllDueReminders(null, null, null, Limit.of(2)));
+        }
+
+        @Test
+        void failsIfLimitNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAllDueReminders(Instant.parse("2024-07-01T10:00:00Z"), null, null, null));
+        }
+    }
+
+    @Nested
+    class advanceReminders {
+        @Test
+        void movesReminderToNextOccurrence() {
+            var scheduleId = UUID.fromString("f2f2de45-3000-45fc-af12-fa8cfce5c2ff");
+            var reminder = new ScheduleReminderDTO(scheduleId, "auth|9133c9d20b6c49159752", null, LocalTime.of(18, 0), Instant.parse("2024-06-30T18:00:00Z"));
+            when(userManager.findTimezonesForUsers(Set.of(reminder.userId()))).thenReturn(Map.of(reminder.userId(), ZoneId.of("UTC")));
+            manager.advanceReminders(List.of(reminder));
+            assertThat(repository.findById(scheduleId))
+                .get()
+                .extracting(ScheduleEntity::getNextReminderAt)
+                .isEqualTo(Instant.parse("2024-07-01T18:00:00Z"));
+        }
+
+        @Test
+        void usesTimezoneOfUser() {
+            var scheduleId = UUID.fromString("f2f2de45-3000-45fc-af12-fa8cfce5c2ff");
+            var reminder = new ScheduleReminderDTO(scheduleId, "auth|9133c9d20b6c49159752", null, LocalTime.of(18, 0), Instant.parse("2024-06-30T18:00:00Z"));
+            when(userManager.findTimezonesForUsers(Set.of(reminder.userId()))).thenReturn(Map.of(reminder.userId(), ZoneId.of("Europe/Brussels")));
+            manager.advanceReminders(List.of(reminder));
+            assertThat(repository.findById(scheduleId))
+                .get()
+                .extracting(ScheduleEntity::getNextReminderAt)
+                .isEqualTo(Instant.parse("2024-07-01T16:00:00Z"));
+        }
+
+        @Test
+        void clearsReminderAfterLastOccurrence() {
+            var scheduleId = UUID.fromString("f2f2de45-3000-45fc-af12-fa8cfce5c2ff");
+            var entity = repository.findById(scheduleId).orElseThrow();
+            entity.setNextReminderAt(Instant.parse("2024-07-31T18:00:00Z"));
+            var reminder = new ScheduleReminderDTO(scheduleId, "auth|9133c9d20b6c49159752", null, LocalTime.of(18, 0), Instant.parse("2024-07-31T18:00:00Z"));
+            when(userManager.findTimezonesForUsers(Set.of(reminder.userId()))).thenReturn(Map.of(reminder.userId(), ZoneId.of("UTC")));
+            manager.advanceReminders(List.of(reminder));
+            assertThat(repository.findById(scheduleId))
+                .get()
+                .extracting(ScheduleEntity::getNextReminderAt)
+                .isNull();
+        }
+
+        @Test
+        void skipsRemindersThatChanged() {
+            var scheduleId = UUID.fromString("f2f2de45-3000-45fc-af12-fa8cfce5c2ff");
+            var reminder = new ScheduleReminderDTO(scheduleId, "auth|9133c9d20b6c49159752", null, LocalTime.of(18, 0), Instant.parse("2024-06-29T18:00:00Z"));
+            when(userManager.findTimezonesForUsers(Set.of(reminder.userId()))).thenReturn(Map.of(reminder.userId(), ZoneId.of("UTC")));
+            manager.advanceReminders(List.of(reminder));
+            assertThat(repository.findById(scheduleId))
+                .get()
+                .extracting(ScheduleEntity::getNextReminderAt)
+                .isEqualTo(Instant.parse("2024-06-30T18:00:00Z"));
+        }
+
+        @Test
+        void failsIfRemindersNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.advanceReminders(null));
+        }
+    }
+
+    @Nested
+    class recalculateRemindersForUser {
+        @Test
+        void usesTimezoneOfUser() {
+            var userId = "auth|b47e0b6fbe524e388301";
+            var scheduleId = UUID.fromString("945b1bea-b447-4701-a137-3e447c35ffa3");
+            manager.recalculateRemindersForUser(userId, ZoneId.of("America/New_York"));
+            assertThat(repository.findById(scheduleId))
+                .get()
+                .extracting(ScheduleEntity::getNextReminderAt)
+                .isEqualTo(Instant.parse("2025-02-26T15:00:00Z"));
+        }
+
+        @Test
+        void failsIfUserIdNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.recalculateRemindersForUser(null, ZoneId.of("UTC")));
+        }
+
+        @Test
+        void failsIfTimezoneNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.recalculateRemindersForUser("auth|b47e0b6fbe524e388301", null));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,102 @@
+package codes.dimitri.mediminder.api.schedule.implementation;
+
+import codes.dimitri.mediminder.api.medication.MedicationManager;
+import codes.dimitri.mediminder.api.shared.AbstractQueryPlanTest;
+import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.modulith.test.ApplicationModuleTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@ApplicationModuleTest
+@Import({
+    TestClockConfiguration.class
+})
+class ScheduleQueryPlanTest extends AbstractQueryPlanTest {
+    private static final String USER_ID = "auth|user1";
+    private static final UUID ID = UUID.fromString("6ab2e9a8-3b27-4b3c-8e51-8a9cf5b5c2f0");
+    private static final UUID MEDICATION_ID = UUID.fromString("dd4b21e9-ef71-e1ca-f03d-4a2a0b6c3e45");
+    private static final LocalDate TODAY = LocalDate.of(2024, 7, 1);
+    @Autowired
+    private ScheduleEntityRepository repository;
+    @Autowired
+    private CompletedEventEntityRepository completedEventRepository;
+    @MockitoBean
+    private MedicationManager medicationManager;
+
+    ScheduleQueryPlanTest() {
+        super(Set.of("schedule", "completed_event"));
+    }
+
+    @Test
+    void findByIdAndUserId() {
+        repository.findByIdAndUserId(ID, USER_ID);
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllByUserIdAndMedicationId() {
+        Specification<ScheduleEntity> specification = Specification.allOf(
+            ScheduleSpecifications.medicationId(MEDICATION_ID),
+            ScheduleSpecifications.userId(USER_ID),
+            ScheduleSpecifications.onlyActive(true, TODAY)
+        );
+        repository.findAll(specification, PageRequest.of(0, 10));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllByUserIdOverlapping() {
+        Specification<ScheduleEntity> specification = Specification.allOf(
+            ScheduleSpecifications.userId(USER_ID),
+            ScheduleSpecifications.overlapping(TODAY, TODAY.plusDays(7))
+        );
+        repository.findAll(specification);
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllByMedicationIdAndDateInPeriodGroup() {
+        repository.findAllByMedicationIdAndDateInPeriodGroup(TODAY, TODAY.plusDays(7), MEDICATION_ID);
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllByMedicationIdsAndDateInPeriodGroup() {
+        repository.findAllByMedicationIdsAndDateInPeriodGroup(TODAY, TODAY.plusDays(7), List.of(MEDICATION_ID));
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void deleteAllByMedicationId() {
+        repository.deleteAllByMedicationId(MEDICATION_ID);
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findCompletedEventsByUserIdAndTargetDate() {
+        completedEventRepository.findByUserIdAndTargetDate(USER_ID, TODAY.atStartOfDay(), TODAY.plusDays(1).atStartOfDay());
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findCompletedEventByIdAndUserId() {
+        completedEventRepository.findByIdAndUserId(ID, USER_ID);
+        assertNoSequentialScans();
+    }
+
+    @Test
+    void findAllCompletedEventsByScheduleIdsAndTargetDates() {
+        completedEventRepository.findAllByScheduleIdInAndTargetDateIn(List.of(ID), List.of(LocalDateTime.of(2024, 7, 1, 10, 0)));
+        assertNoSequentialScans();
+    }
+}
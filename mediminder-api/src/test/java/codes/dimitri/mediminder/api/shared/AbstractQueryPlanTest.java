@@ -0,0 +1,44 @@
+package codes.dimitri.mediminder.api.shared;
+
+import codes.dimitri.mediminder.api.user.UserManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:tc:postgresql:latest:///mediminder",
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.minimum-idle=2",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=codes.dimitri.mediminder.api.shared.QueryPlanInspector"
+})
+@Transactional
+@Sql(value = "classpath:test-data/query-plan.sql", executionPhase = Sql.ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(value = "classpath:test-data/cleanup-query-plan.sql", executionPhase = Sql.ExecutionPhase.AFTER_TEST_CLASS)
+public abstract class AbstractQueryPlanTest {
+    private final Set<String> largeTables;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoBean
+    private UserManager userManager;
+
+    protected AbstractQueryPlanTest(Set<String> largeTables) {
+        this.largeTables = largeTables;
+    }
+
+    @BeforeEach
+    void resetStatements() {
+        QueryPlanInspector.reset();
+    }
+
+    protected void assertNoSequentialScans() {
+        assertThat(QueryPlanInspector.findSequentialScans(jdbcTemplate, largeTables)).isEmpty();
+    }
+}
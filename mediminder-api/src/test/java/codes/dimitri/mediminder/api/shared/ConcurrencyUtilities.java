@@ -0,0 +1,43 @@
+package codes.dimitri.mediminder.api.shared;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+public class ConcurrencyUtilities {
+    private static final int THREADS = 8;
+
+    public static void runConcurrently(int times, Runnable task) {
+        runConcurrently(times, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public static <T> List<T> runConcurrently(int times, Supplier<T> task) {
+        CountDownLatch start = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<CompletableFuture<T>> futures = IntStream
+                .range(0, times)
+                .mapToObj(index -> CompletableFuture.supplyAsync(() -> {
+                    awaitQuietly(start);
+                    return task.get();
+                }, executor))
+                .toList();
+            start.countDown();
+            return futures.stream().map(CompletableFuture::join).toList();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
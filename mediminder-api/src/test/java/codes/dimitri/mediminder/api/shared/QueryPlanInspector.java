@@ -0,0 +1,56 @@
+package codes.dimitri.mediminder.api.shared;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Records the SQL statements generated by Hibernate so that their query plans can be verified.
+ * Enable it with {@code spring.jpa.properties.hibernate.session_factory.statement_inspector}.
+ */
+public class QueryPlanInspector implements StatementInspector {
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+    private static final Pattern SEQUENTIAL_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    public static List<String> findSequentialScans(JdbcTemplate jdbcTemplate, Set<String> tables) {
+        return STATEMENTS
+            .stream()
+            .flatMap(sql -> explain(jdbcTemplate, sql)
+                .stream()
+                .map(SEQUENTIAL_SCAN::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> matcher.group(1))
+                .filter(tables::contains)
+                .map(table -> table + ": " + sql))
+            .toList();
+    }
+
+    private static List<String> explain(JdbcTemplate jdbcTemplate, String sql) {
+        return jdbcTemplate.queryForList("explain (generic_plan) " + toPositionalParameters(sql), String.class);
+    }
+
+    private static String toPositionalParameters(String sql) {
+        StringBuilder result = new StringBuilder();
+        int index = 0;
+        for (char character : sql.toCharArray()) {
+            if (character == '?') result.append('$').append(++index);
+            else result.append(character);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package codes.dimitri.mediminder.api.user.implementation;
+
+import codes.dimitri.mediminder.api.user.UserManager;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CurrentUserProvisioningFilterTest {
+    private final UserManager userManager = mock();
+    private final CurrentUserProvisioningFilter filter = new CurrentUserProvisioningFilter(userManager);
+
+    @Test
+    void resolvesCurrentUserBeforeContinuing() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "none").subject("auth|ff9d85fcc3c505949092c").build();
+        request.setUserPrincipal(new JwtAuthenticationToken(jwt));
+        FilterChain chain = spy(new MockFilterChain());
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        var inOrder = inOrder(userManager, chain);
+        inOrder.verify(userManager).findCurrentUser();
+        inOrder.verify(chain).doFilter(any(), any());
+    }
+
+    @Test
+    void skipsAnonymousRequests() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+        verifyNoInteractions(userManager);
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    void skipsOtherAuthentications() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setUserPrincipal(new TestingAuthenticationToken("user", "password"));
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        verifyNoInteractions(userManager);
+    }
+}
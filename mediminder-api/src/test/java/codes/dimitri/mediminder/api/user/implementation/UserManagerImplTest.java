@@ -4,26 +4,38 @@ import codes.dimitri.mediminder.api.shared.TestClockConfiguration;
 import codes.dimitri.mediminder.api.user.*;
 import com.c4_soft.springaddons.security.oauth2.test.annotations.WithJwt;
 import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Slice;
 import org.springframework.modulith.test.ApplicationModuleTest;
 import org.springframework.security.test.context.support.WithAnonymousUser;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.context.event.ApplicationEvents;
 import org.springframework.test.context.event.RecordApplicationEvents;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 
 @ApplicationModuleTest(extraIncludes = "common")
 @TestPropertySource(properties = {
@@ -53,6 +65,18 @@ class UserManagerImplTest {
     private UserEntityRepository repository;
     @Autowired
     private ApplicationEvents events;
+    @Autowired
+    private CurrentUserCache currentUserCache;
+    @Autowired
+    private UserTimezoneCache timezoneCache;
+    @MockitoSpyBean
+    private UserEntityMapper mapper;
+
+    @AfterEach
+    void tearDown() {
+        currentUserCache.evictAll();
+        timezoneCache.evictAll();
+    }
 
     @Nested
     class findCurrentUser {
@@ -72,6 +96,62 @@ class UserManagerImplTest {
             ));
         }
 
+        @Test
+        @WithJwt(json = """
+        {
+            "sub": "auth|5e7e1b1e2f5b4d3c9a1d",
+            "iss": "https://example.org"
+        }
+        """)
+        void createsUserIfNotExists() {
+            UserDTO result = manager.findCurrentUser();
+            assertThat(result).isEqualTo(new UserDTO(
+                "auth|5e7e1b1e2f5b4d3c9a1d",
+                null,
+                ZoneId.of("UTC")
+            ));
+            assertThat(repository.existsById("auth|5e7e1b1e2f5b4d3c9a1d")).isTrue();
+        }
+
+        @Test
+        @WithJwt(json = """
+        {
+            "sub": "auth|03479cd37e9a4b798958",
+            "iss": "https://example.org"
+        }
+        """)
+        void returnsUpdatedUser() {
+            manager.findCurrentUser();
+            manager.update(new UpdateUserRequestDTO(
+                "New name",
+                ZoneId.of("Europe/Brussels")
+            ));
+            UserDTO result = manager.findCurrentUser();
+            assertThat(result).isEqualTo(new UserDTO(
+                "auth|03479cd37e9a4b798958",
+                "New name",
+                ZoneId.of("Europe/Brussels")
+            ));
+        }
+
+        @Test
+        @Transactional(propagation = Propagation.NOT_SUPPORTED)
+        @WithJwt(json = """
+        {
+            "sub": "auth|830257f699844bb69f2d",
+            "iss": "https://example.org"
+        }
+        """)
+        void usesReadOnlyTransaction() {
+            AtomicBoolean readOnly = new AtomicBoolean();
+            doAnswer(invocation -> {
+                readOnly.set(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+                return invocation.callRealMethod();
+            }).when(mapper).toDTO(any());
+            manager.findCurrentUser();
+            assertThat(readOnly).isTrue();
+        }
+
         @Test
         @WithAnonymousUser
         void failsIfNotAuthenticated() {
@@ -81,6 +161,39 @@ class UserManagerImplTest {
         }
     }
 
+    @Nested
+    class findAllAfterKey {
+        @Test
+        void returnsFirstSlice() {
+            Slice<UserDTO> results = manager.findAll(null, Limit.of(4));
+            assertThat(results.hasNext()).isTrue();
+            assertThat(results)
+                .extracting(UserDTO::id)
+                .containsExactly(
+                    "auth|03479cd37e9a4b798958",
+                    "auth|0f1f19c22d0943b9a7fc",
+                    "auth|44a9dc139549425298d1",
+                    "auth|830257f699844bb69f2d");
+        }
+
+        @Test
+        void returnsSliceAfterKey() {
+            Slice<UserDTO> results = manager.findAll("auth|830257f699844bb69f2d", Limit.of(4));
+            assertThat(results.hasNext()).isFalse();
+            assertThat(results)
+                .extracting(UserDTO::id)
+                .containsExactly(
+                    "auth|ae8861a82b6d417b93ae",
+                    "auth|bbca513f1a164233bbb5");
+        }
+
+        @Test
+        void failsIfLimitNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findAll(null, null));
+        }
+    }
+
     @Nested
     class findAvailableTimezones {
         @Test
@@ -116,6 +229,29 @@ class UserManagerImplTest {
         }
     }
 
+    @Nested
+    class findTimezonesForUsers {
+        @Test
+        void returnsTimezonePerUser() {
+            Map<String, ZoneId> results = manager.findTimezonesForUsers(List.of(
+                "auth|bbca513f1a164233bbb5",
+                "auth|0f1f19c22d0943b9a7fc",
+                "auth|44a9dc139549425298d1",
+                "auth|doesnotexist"));
+            assertThat(results).containsOnly(
+                entry("auth|bbca513f1a164233bbb5", ZoneId.of("Australia/Sydney")),
+                entry("auth|0f1f19c22d0943b9a7fc", ZoneId.of("UTC")),
+                entry("auth|44a9dc139549425298d1", ZoneId.of("UTC")),
+                entry("auth|doesnotexist", ZoneId.of("UTC")));
+        }
+
+        @Test
+        void failsIfIdsNotGiven() {
+            assertThatExceptionOfType(ConstraintViolationException.class)
+                .isThrownBy(() -> manager.findTimezonesForUsers(null));
+        }
+    }
+
     @Nested
     class update {
         @Test
@@ -163,6 +299,59 @@ class UserManagerImplTest {
                 ));
         }
 
+        @Test
+        @WithJwt(json = """
+        {
+            "sub": "auth|03479cd37e9a4b798958",
+            "iss": "https://example.org"
+        }
+        """)
+        void publishesTimezoneChangedEvent() {
+            var request = new UpdateUserRequestDTO(
+                "New name",
+                ZoneId.of("Europe/Brussels")
+            );
+            manager.update(request);
+            assertThat(events.stream(UserTimezoneChangedEvent.class)).containsExactly(new UserTimezoneChangedEvent(
+                "auth|03479cd37e9a4b798958",
+                ZoneId.of("Europe/Brussels")
+            ));
+        }
+
+        @Test
+        @WithJwt(json = """
+        {
+            "sub": "auth|03479cd37e9a4b798958",
+            "iss": "https://example.org"
+        }
+        """)
+        void doesNotPublishEventIfTimezoneUnchanged() {
+            var request = new UpdateUserRequestDTO(
+                "New name",
+                ZoneId.of("UTC")
+            );
+            manager.update(request);
+            assertThat(events.stream(UserTimezoneChangedEvent.class)).isEmpty();
+        }
+
+        @Test
+        @WithJwt(json = """
+        {
+            "sub": "auth|03479cd37e9a4b798958",
+            "iss": "https://example.org"
+        }
+        """)
+        void evictsCachedTimezone() {
+            String id = "auth|03479cd37e9a4b798958";
+            manager.calculateTodayForUser(id);
+            var request = new UpdateUserRequestDTO(
+                "New name",
+                ZoneId.of("Australia/Sydney")
+            );
+            manager.update(request);
+            assertThat(manager.calculateTodayForUser(id)).isEqualTo(LocalDateTime.of(2025, 2, 26, 21, 0));
+        }
+
         @Test
         @WithAnonymousUser
         void failsIfUserNotAuthenticated() {
@@ -0,0 +1,118 @@
+package codes.dimitri.mediminder.api.user.implementation;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.*;
+
+class UserTimezoneCacheTest {
+    private static final Instant NOW = Instant.parse("2025-02-26T10:00:00Z");
+    private static final ZoneId BRUSSELS = ZoneId.of("Europe/Brussels");
+    private final Clock clock = mock();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Function<String, ZoneId> loader = mock();
+    private UserTimezoneCache cache;
+
+    @BeforeEach
+    void setUp() {
+        UserProperties properties = new Binder(new MapConfigurationPropertySource(Map.of(
+            "user.timezone-cache.maximum-size", "2",
+            "user.timezone-cache.time-to-live", "5m"
+        ))).bindOrCreate("user", UserProperties.class);
+        cache = new UserTimezoneCache(properties, clock, meterRegistry);
+        when(clock.instant()).thenReturn(NOW);
+        when(loader.apply(anyString())).thenReturn(BRUSSELS);
+    }
+
+    @Nested
+    class get {
+        @Test
+        void loadsTimezoneOnce() {
+            assertThat(cache.get("auth|1", loader)).isEqualTo(BRUSSELS);
+            assertThat(cache.get("auth|1", loader)).isEqualTo(BRUSSELS);
+            verify(loader).apply("auth|1");
+        }
+
+        @Test
+        void reloadsExpiredTimezone() {
+            cache.get("auth|1", loader);
+            when(clock.instant()).thenReturn(NOW.plusSeconds(300));
+            cache.get("auth|1", loader);
+            verify(loader, times(2)).apply("auth|1");
+        }
+
+        @Test
+        void removesLeastRecentlyUsedTimezone() {
+            cache.get("auth|1", loader);
+            cache.get("auth|2", loader);
+            cache.get("auth|1", loader);
+            cache.get("auth|3", loader);
+            cache.get("auth|1", loader);
+            cache.get("auth|2", loader);
+            verify(loader).apply("auth|1");
+            verify(loader, times(2)).apply("auth|2");
+            assertThat(meterRegistry.get("cache.evictions").counter().count()).isEqualTo(2);
+        }
+
+        @Test
+        void recordsHitsAndMisses() {
+            cache.get("auth|1", loader);
+            cache.get("auth|1", loader);
+            cache.get("auth|1", loader);
+            assertThat(meterRegistry.get("cache.gets").tag("result", "hit").counter().count()).isEqualTo(2);
+            assertThat(meterRegistry.get("cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    class getAll {
+        @Test
+        void onlyLoadsMissingTimezones() {
+            cache.get("auth|1", loader);
+            Function<Set<String>, Map<String, ZoneId>> bulkLoader = mock();
+            when(bulkLoader.apply(Set.of("auth|2"))).thenReturn(Map.of("auth|2", ZoneId.of("UTC")));
+            Map<String, ZoneId> results = cache.getAll(List.of("auth|1", "auth|2"), bulkLoader);
+            assertThat(results).containsOnly(
+                entry("auth|1", BRUSSELS),
+                entry("auth|2", ZoneId.of("UTC")));
+        }
+    }
+
+    @Nested
+    class evict {
+        @Test
+        void reloadsEvictedTimezone() {
+            cache.get("auth|1", loader);
+            cache.evict("auth|1");
+            cache.get("auth|1", loader);
+            verify(loader, times(2)).apply("auth|1");
+        }
+
+        @Test
+        void reloadsAllTimezones() {
+            cache.get("auth|1", loader);
+            cache.get("auth|2", loader);
+            cache.evictAll();
+            cache.get("auth|1", loader);
+            cache.get("auth|2", loader);
+            verify(loader, times(2)).apply("auth|1");
+            verify(loader, times(2)).apply("auth|2");
+        }
+    }
+}
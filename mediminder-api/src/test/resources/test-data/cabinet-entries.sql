@@ -3,4 +3,7 @@ insert into cabinet_entry (id, user_id, medication_id, remaining_doses, expiry_d
      ('b993e814-394b-438c-b42e-4b97fa4d8739', 'auth|eaf1d029d07245548734', 'bdeb432c-c1d7-4482-ae55-19c2750b7796', 10, '2024-06-29'),
      ('dc99854f-8417-47af-81a5-15f22a3bd64c', 'auth|eaf1d029d07245548734', '65729ae5-a7b9-40a0-8299-ba26a6f05745', 20, '2024-06-28'),
      ('1571fd59-d40d-4db1-8739-8830bc67516f', 'auth|eaf1d029d07245548734', '65729ae5-a7b9-40a0-8299-ba26a6f05745', 40, '2024-06-29'),
-     ('b7cfa15e-1fe5-44b1-913b-98a7a0018d6c', 'auth|ed9e7a22ebe14627929d', 'ec544543-9aff-4172-989d-ebd5d08a0dea', 80, '2024-06-30');
\ No newline at end of file
+     ('b7cfa15e-1fe5-44b1-913b-98a7a0018d6c', 'auth|ed9e7a22ebe14627929d', 'ec544543-9aff-4172-989d-ebd5d08a0dea', 80, '2024-06-30');
+
+insert into medication_stock (medication_id, remaining_doses)
+select medication_id, sum(remaining_doses) from cabinet_entry group by medication_id;
\ No newline at end of file
@@ -1 +1,2 @@
-delete from cabinet_entry;
\ No newline at end of file
+delete from cabinet_entry;
+delete from medication_stock;
\ No newline at end of file
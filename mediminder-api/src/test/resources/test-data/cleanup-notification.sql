@@ -1 +1,2 @@
-delete from notification;
\ No newline at end of file
+delete from notification;
+delete from push_outbox;
\ No newline at end of file
@@ -0,0 +1,7 @@
+delete from completed_event;
+delete from schedule;
+delete from cabinet_entry;
+delete from medication_stock;
+delete from document;
+delete from notification;
+delete from medication;
\ No newline at end of file
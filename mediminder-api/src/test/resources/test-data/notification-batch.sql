@@ -13,10 +13,13 @@ values ('7e61721b-2d6d-49c4-b33f-c23ff74b1a70', 'auth|ff9d85fcc3c505949092c', 'd
        ('a7de7c65-eb68-4871-8f98-23d32bd1461f', 'auth|ff9d85fcc3c505949092c', 'd0582490-195a-42f4-96e5-202bc7e8e30b', 0, '2025-02-25'),
        ('922b8f73-cd63-4e59-ae89-6d8415e6ef0e', 'auth|ff9d85fcc3c505949092c', 'd0582490-195a-42f4-96e5-202bc7e8e30b', 20, '2025-02-27');
 
-insert into schedule (id, user_id, medication_id, starting_at, ending_at_inclusive, interval, time, description, dose)
-values ('61b1056e-66b2-4665-9d65-3469cb7b8ffe', 'auth|ff9d85fcc3c505949092c', 'd0582490-195a-42f4-96e5-202bc7e8e30b', '2025-01-01', null, 'P1D', '10:00', 'Before breakfast', 1),
-       ('56c1db4e-7427-4eba-b3de-b7ea5d118b1c', 'auth|ff9d85fcc3c505949092c', 'cd7637ae-fda8-413a-a5e4-c0e1f0f68325', '2025-01-01', null, 'P1D', '10:30', 'After breakfast', 1),
-       ('a5a85d19-7fc8-454a-883a-88ce836b9411', 'auth|ff9d85fcc3c505949092c', 'c266f875-0033-4cad-b96f-e17c37c81b66', '2025-01-01', null, 'P1D', '12:30', 'After lunch', 1);
+insert into medication_stock (medication_id, remaining_doses)
+select medication_id, sum(remaining_doses) from cabinet_entry group by medication_id;
+
+insert into schedule (id, user_id, medication_id, starting_at, ending_at_inclusive, interval, time, description, dose, next_reminder_at)
+values ('61b1056e-66b2-4665-9d65-3469cb7b8ffe', 'auth|ff9d85fcc3c505949092c', 'd0582490-195a-42f4-96e5-202bc7e8e30b', '2025-01-01', null, 'P1D', '10:00', 'Before breakfast', 1, '2025-02-26 10:00:00'),
+       ('56c1db4e-7427-4eba-b3de-b7ea5d118b1c', 'auth|ff9d85fcc3c505949092c', 'cd7637ae-fda8-413a-a5e4-c0e1f0f68325', '2025-01-01', null, 'P1D', '10:30', 'After breakfast', 1, '2025-02-26 10:30:00'),
+       ('a5a85d19-7fc8-454a-883a-88ce836b9411', 'auth|ff9d85fcc3c505949092c', 'c266f875-0033-4cad-b96f-e17c37c81b66', '2025-01-01', null, 'P1D', '12:30', 'After lunch', 1, '2025-02-26 12:30:00');
 
 insert into document (id, user_id, related_medication_id, content_type, expiry_date, filename, description)
 values ('d1ccc34f-7fc3-4f65-b4da-8ae8ff0accf0', 'auth|ff9d85fcc3c505949092c', null, 'application/pdf', '2025-02-26', 'file1.pdf', 'Medical attest for Dafalgan'),
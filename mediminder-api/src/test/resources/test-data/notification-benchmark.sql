@@ -0,0 +1,25 @@
+-- Seeds 100k users with a daily schedule each, used to benchmark the partitioned notification steps
+insert into "user" (id, name, timezone, last_modified_date)
+select 'auth|benchmark' || i, 'User ' || i, 'UTC', timestamp '2025-01-01 10:00:00'
+from generate_series(1, 100000) i;
+
+insert into medication (id, user_id, name, medication_type_id, administration_type_id, dose_type_id, doses_per_package, color)
+select md5('medication' || i)::uuid, 'auth|benchmark' || i, 'Medication ' || i, 'TABLET', 'ORAL', 'TABLET', 100, 'RED'::medication_color
+from generate_series(1, 100000) i;
+
+insert into cabinet_entry (id, user_id, medication_id, remaining_doses, expiry_date)
+select md5('cabinet_entry' || i)::uuid, 'auth|benchmark' || i, md5('medication' || i)::uuid, i % 10, date '2026-01-01'
+from generate_series(1, 100000) i;
+
+insert into medication_stock (medication_id, remaining_doses)
+select medication_id, sum(remaining_doses) from cabinet_entry group by medication_id;
+
+insert into schedule (id, user_id, medication_id, starting_at, ending_at_inclusive, interval, time, description, dose)
+select md5('schedule' || i)::uuid, 'auth|benchmark' || i, md5('medication' || i)::uuid, date '2025-01-01', null, 'P1D', time '10:00', 'Schedule ' || i, 1
+from generate_series(1, 100000) i;
+
+analyze "user";
+analyze medication;
+analyze cabinet_entry;
+analyze medication_stock;
+analyze schedule;
\ No newline at end of file
@@ -0,0 +1,35 @@
+-- Seeds a dataset large enough for the planner to prefer indexes over sequential scans
+insert into medication (id, user_id, name, medication_type_id, administration_type_id, dose_type_id, doses_per_package, color)
+select md5('medication' || i)::uuid, 'auth|user' || (i % 2000), 'Medication ' || i, 'TABLET', 'ORAL', 'TABLET', 100, 'RED'::medication_color
+from generate_series(1, 10000) i;
+
+insert into cabinet_entry (id, user_id, medication_id, remaining_doses, expiry_date)
+select md5('cabinet_entry' || i)::uuid, 'auth|user' || (i % 2000), md5('medication' || (i % 10000 + 1))::uuid, i % 100, date '2024-01-01' + (i % 1000)
+from generate_series(1, 20000) i;
+
+insert into medication_stock (medication_id, remaining_doses)
+select medication_id, sum(remaining_doses) from cabinet_entry group by medication_id;
+
+insert into schedule (id, user_id, medication_id, starting_at, ending_at_inclusive, interval, time, description, dose)
+select md5('schedule' || i)::uuid, 'auth|user' || (i % 2000), md5('medication' || (i % 10000 + 1))::uuid, date '2024-01-01' + (i % 365), null, 'P1D', time '10:00', 'Schedule ' || i, 1
+from generate_series(1, 10000) i;
+
+insert into completed_event (id, user_id, schedule_id, target_date, completed_date, dose)
+select md5('completed_event' || i)::uuid, 'auth|user' || (i % 2000), md5('schedule' || (i % 10000 + 1))::uuid, timestamp '2024-01-01 10:00:00' + (i / 10000) * interval '1 day', timestamp '2024-01-01 10:00:00' + (i / 10000) * interval '1 day', 1
+from generate_series(1, 100000) i;
+
+insert into notification (id, user_id, type, initiator_id, title, message, delete_at, active)
+select md5('notification' || i)::uuid, 'auth|user' || (i % 2000), 'INTAKE_EVENT'::notification_type, md5('schedule' || (i % 10000 + 1))::uuid, 'Notification ' || i, 'Message ' || i, timestamp '2024-01-01 10:00:00' + (i % 1000) * interval '1 day', i % 2 = 0
+from generate_series(1, 20000) i;
+
+insert into document (id, user_id, related_medication_id, content_type, expiry_date, filename, description)
+select md5('document' || i)::uuid, 'auth|user' || (i % 2000), md5('medication' || (i % 10000 + 1))::uuid, 'application/pdf', date '2024-01-01' + (i % 1000), 'file' || i || '.pdf', 'Document ' || i
+from generate_series(1, 10000) i;
+
+analyze medication;
+analyze cabinet_entry;
+analyze medication_stock;
+analyze schedule;
+analyze completed_event;
+analyze notification;
+analyze document;